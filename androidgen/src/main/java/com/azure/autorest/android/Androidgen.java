@@ -8,8 +8,10 @@ import com.azure.autorest.android.mapper.AndroidMapperFactory;
 import com.azure.autorest.android.template.AndroidTemplateFactory;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.mapper.Mappers;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
 import com.azure.autorest.model.clientmodel.Client;
@@ -35,21 +37,20 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.StringReader;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class Androidgen extends Javagen {
     private final Logger LOGGER = new PluginLogger(this, Androidgen.class);
-    private static Androidgen instance;
 
     public Androidgen(Connection connection, String plugin, String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
-        Javagen.instance = this;
     }
 
     public static Androidgen getPluginInstance() {
-        return instance;
+        // the plugin of the session processed on this thread, as the process may serve several sessions concurrently
+        return SessionContext.current().getPlugin(Androidgen.class);
     }
 
     @Override
@@ -57,6 +58,10 @@ public class Androidgen extends Javagen {
         this.clear();
 
         JavaSettings settings = JavaSettings.getInstance();
+        if (settings.isGenerateRestProxyImplementation()) {
+            LOGGER.warn("Option 'generate-rest-proxy-implementation' is not supported by Android, "
+                + "the REST API interfaces are implemented by RestProxy.");
+        }
 
         List<String> allFiles = listInputs();
         List<String> files = allFiles.stream().filter(s -> s.contains("no-tags")).collect(Collectors.toList());
@@ -86,7 +91,9 @@ public class Androidgen extends Javagen {
             loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
             loaderOptions.setNestingDepthLimit(Integer.MAX_VALUE);
             Yaml newYaml = new Yaml(new Constructor(loaderOptions), representer, new DumperOptions(), loaderOptions);
-            CodeModel codeModel = newYaml.loadAs(file, CodeModel.class);
+            CodeModel codeModel = CodeModelJsonMapper.isJson(file)
+                    ? CodeModelJsonMapper.read(new StringReader(file))
+                    : newYaml.loadAs(file, CodeModel.class);
 
             // Step 2: Map
             Mappers.setFactory(new AndroidMapperFactory());
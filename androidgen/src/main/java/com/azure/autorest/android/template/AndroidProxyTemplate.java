@@ -20,6 +20,12 @@ public class AndroidProxyTemplate extends ProxyTemplate {
         return _instance;
     }
 
+    @Override
+    public boolean isImplementationGenerationSupported() {
+        // the client is built on the Android RestProxy and HTTP types, which the generated implementation doesn't use
+        return false;
+    }
+
     @Override
     protected void writeUnexpectedExceptions(ProxyMethod restAPIMethod, JavaInterface interfaceBlock) {
         StringBuilder annotationBuilder = new StringBuilder();
@@ -27,6 +27,8 @@ import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -177,8 +179,6 @@ public class Main {
     }
 
     private static CodeModel loadCodeModel(String filename) throws IOException {
-        String file = readFile(filename);
-
         Representer representer = new Representer();
         representer.setPropertyUtils(new AnnotatedPropertyUtils());
         representer.getPropertyUtils().setSkipMissingProperties(true);
@@ -188,11 +188,9 @@ public class Main {
         loaderOptions.setNestingDepthLimit(Integer.MAX_VALUE);
         Constructor constructor = new CodeModelCustomConstructor(loaderOptions);
         Yaml yamlMapper = new Yaml(constructor, representer, new DumperOptions(), loaderOptions);
-        CodeModel codeModel = yamlMapper.loadAs(file, CodeModel.class);
-        return codeModel;
-    }
-
-    private static String readFile(String path) throws IOException {
-        return new String(Files.readAllBytes(Paths.get(path)));
+        // stream the file into the parser, instead of reading the whole code model into a String first
+        try (Reader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            return yamlMapper.loadAs(reader, CodeModel.class);
+        }
     }
 }
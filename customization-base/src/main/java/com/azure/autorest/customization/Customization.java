@@ -5,6 +5,8 @@ package com.azure.autorest.customization;
 
 import com.azure.autorest.customization.implementation.Utils;
 import com.azure.autorest.customization.implementation.ls.EclipseLanguageClient;
+import com.azure.autorest.customization.implementation.ls.EclipseLanguageServerPool;
+import com.azure.autorest.customization.implementation.ls.JavaParserLanguageClient;
 import org.slf4j.Logger;
 
 import java.io.IOException;
@@ -12,6 +14,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -26,17 +29,74 @@ public abstract class Customization {
      * @return the list of files after customization
      */
     public final Map<String, String> run(Map<String, String> files, Logger logger) {
-        return run(null, files, logger);
+        return run(null, files, logger, false, EclipseLanguageClient.DEFAULT_STARTUP_TIMEOUT, false);
+    }
+
+    /**
+     * Start the customization process. This is called by the post processor in AutoRest.
+     * <p>
+     * In process, the classes and members are looked up from JavaParser syntax trees of the files. The Eclipse JDT
+     * language server is then only started if the customization renames a symbol or needs the imports organized.
+     *
+     * @param files the list of files generated in the previous steps in AutoRest
+     * @param logger the logger
+     * @param inProcess whether to look up the classes and members in process, instead of by the language server
+     * @return the list of files after customization
+     */
+    public final Map<String, String> run(Map<String, String> files, Logger logger, boolean inProcess) {
+        return run(null, files, logger, inProcess, EclipseLanguageClient.DEFAULT_STARTUP_TIMEOUT, false);
+    }
+
+    /**
+     * Start the customization process. This is called by the post processor in AutoRest.
+     * <p>
+     * The startup of the Eclipse JDT language server waits for the server to connect, and to report that it has
+     * imported the workspace, up to the startup timeout.
+     *
+     * @param files the list of files generated in the previous steps in AutoRest
+     * @param logger the logger
+     * @param inProcess whether to look up the classes and members in process, instead of by the language server
+     * @param startupTimeout the time to wait for the language server to connect and to report that it is ready
+     * @return the list of files after customization
+     */
+    public final Map<String, String> run(Map<String, String> files, Logger logger, boolean inProcess,
+        Duration startupTimeout) {
+        return run(null, files, logger, inProcess, startupTimeout, false);
+    }
+
+    /**
+     * Start the customization process. This is called by the post processor in AutoRest.
+     * <p>
+     * If the language server is reused, it is taken from, and returned to, the {@link EclipseLanguageServerPool} of
+     * the JVM, so that the next run does not start a language server.
+     *
+     * @param files the list of files generated in the previous steps in AutoRest
+     * @param logger the logger
+     * @param inProcess whether to look up the classes and members in process, instead of by the language server
+     * @param startupTimeout the time to wait for the language server to connect and to report that it is ready
+     * @param reuseLanguageServer whether the language server is reused
+     * @return the list of files after customization
+     */
+    public final Map<String, String> run(Map<String, String> files, Logger logger, boolean inProcess,
+        Duration startupTimeout, boolean reuseLanguageServer) {
+        return run(null, files, logger, inProcess, startupTimeout, reuseLanguageServer);
     }
 
     final Map<String, String> run(String pathToLanguageServerPlugin, Map<String, String> files, Logger logger) {
+        return run(pathToLanguageServerPlugin, files, logger, false, EclipseLanguageClient.DEFAULT_STARTUP_TIMEOUT,
+            false);
+    }
+
+    final Map<String, String> run(String pathToLanguageServerPlugin, Map<String, String> files, Logger logger,
+        boolean inProcess, Duration startupTimeout, boolean reuseLanguageServer) {
         Path tempDirWithPrefix;
 
         // Populate editor
         Editor editor;
         try {
             tempDirWithPrefix = Files.createTempDirectory("temp");
-            editor = new Editor(files, tempDirWithPrefix);
+            // in process, the files are only written to the workspace if the language server is started
+            editor = new Editor(files, tempDirWithPrefix, inProcess);
             InputStream pomStream = Customization.class.getResourceAsStream("/pom.xml");
             byte[] buffer = new byte[pomStream.available()];
             pomStream.read(buffer);
@@ -46,9 +106,12 @@ public abstract class Customization {
         }
 
         // Start language client
-        try (EclipseLanguageClient languageClient = new EclipseLanguageClient(pathToLanguageServerPlugin,
-            tempDirWithPrefix.toString())) {
-            languageClient.initialize();
+        try (EclipseLanguageClient languageClient = inProcess
+            ? new JavaParserLanguageClient(pathToLanguageServerPlugin, editor, tempDirWithPrefix.toString(),
+                startupTimeout, logger, reuseLanguageServer)
+            : EclipseLanguageServerPool.acquire(pathToLanguageServerPlugin, tempDirWithPrefix.toString(),
+                startupTimeout, logger, reuseLanguageServer)) {
+            languageClient.setEditor(editor);
             customize(new LibraryCustomization(editor, languageClient), logger);
             editor.removeFile("pom.xml");
             return editor.getContents();
@@ -30,8 +30,11 @@ import static com.azure.autorest.customization.implementation.Utils.writeLine;
 public final class Editor {
     private final Path rootDir;
     private final Map<String, String> contents;
+    // the lines of the files, split from the contents on first use
     private final Map<String, List<String>> lines;
     private final Map<String, Path> paths;
+    // whether the changes of the files are written to the root directory
+    private boolean writeThrough;
 
     /**
      * Creates an editor instance with the file contents and the root directory path.
@@ -40,16 +43,45 @@ public final class Editor {
      * @param rootDir the root directory path containing the files
      */
     public Editor(Map<String, String> contents, Path rootDir) {
+        this(contents, rootDir, false);
+    }
+
+    /**
+     * Creates an editor instance with the file contents and the root directory path.
+     * <p>
+     * A memory-only editor does not write the files to the root directory, until {@link #materialize()} is called,
+     * e.g. before a language server reads the files.
+     *
+     * @param contents the map from file relative paths (starting with "src/main/java") and file contents
+     * @param rootDir the root directory path containing the files
+     * @param memoryOnly whether the files are kept in memory until {@link #materialize()} is called
+     */
+    public Editor(Map<String, String> contents, Path rootDir, boolean memoryOnly) {
         this.contents = new HashMap<>(contents);
         this.lines = new HashMap<>();
         this.paths = new HashMap<>();
         this.rootDir = rootDir;
+        this.writeThrough = !memoryOnly;
         for (Map.Entry<String, String> content : contents.entrySet()) {
             addFile(content.getKey(), content.getValue());
         }
 
     }
 
+    /**
+     * Writes the files to the root directory, and every later change of the files, if they are kept in memory.
+     */
+    public void materialize() {
+        if (writeThrough) {
+            return;
+        }
+
+        writeThrough = true;
+        for (Map.Entry<String, Path> path : paths.entrySet()) {
+            writeFile(path.getValue(), contents.get(path.getKey()));
+        }
+    }
+
     /**
      * Gets the mapping from file relative paths (starting with "src/main/java") to file contents.
      *
@@ -81,28 +113,58 @@ public final class Editor {
 
     private void addOrReplaceFile(String name, String content, boolean isReplace) {
         Path newFilePath = Paths.get(rootDir.toString(), name);
-        File newFile = newFilePath.toFile();
-        if (!newFile.getParentFile().exists()) {
-            newFile.getParentFile().mkdirs();
-        }
+        boolean fileCreated;
+        if (writeThrough) {
+            File newFile = newFilePath.toFile();
+            if (!newFile.getParentFile().exists()) {
+                newFile.getParentFile().mkdirs();
+            }
 
-        try {
-            boolean fileCreated = newFile.createNewFile();
+            try {
+                fileCreated = newFile.createNewFile();
 
-            try (BufferedWriter writer = Files.newBufferedWriter(newFile.toPath())) {
-                writer.write(content);
+                try (BufferedWriter writer = Files.newBufferedWriter(newFile.toPath())) {
+                    writer.write(content);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException();
             }
+        } else {
+            fileCreated = !paths.containsKey(name);
+        }
 
-            if (fileCreated || isReplace) {
-                contents.put(name, content);
-                lines.put(name, splitContentIntoLines(content));
-                paths.put(name, newFilePath);
-            }
+        if (fileCreated || isReplace) {
+            contents.put(name, content);
+            lines.remove(name);
+            paths.put(name, newFilePath);
+        }
+    }
+
+    private static void writeFile(Path path, String content) {
+        File file = path.toFile();
+        if (!file.getParentFile().exists()) {
+            file.getParentFile().mkdirs();
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write(content);
         } catch (IOException e) {
-            throw new RuntimeException();
+            throw new RuntimeException(e);
         }
     }
 
+    private List<String> getLines(String name) {
+        List<String> fileLines = lines.get(name);
+        if (fileLines == null) {
+            String content = contents.get(name);
+            if (content != null) {
+                fileLines = splitContentIntoLines(content);
+                lines.put(name, fileLines);
+            }
+        }
+        return fileLines;
+    }
+
     /**
      * Removes a file.
      *
@@ -111,8 +173,10 @@ public final class Editor {
     public void removeFile(String name) {
         contents.remove(name);
         lines.remove(name);
-        paths.get(name).toFile().delete();
-        paths.remove(name);
+        Path path = paths.remove(name);
+        if (writeThrough) {
+            path.toFile().delete();
+        }
     }
 
     /**
@@ -132,7 +196,7 @@ public final class Editor {
      * @return the file content split into lines
      */
     public List<String> getFileLines(String name) {
-        return lines.get(name);
+        return getLines(name);
 
     }
 
@@ -144,7 +208,7 @@ public final class Editor {
      * @return the file content in this line
      */
     public String getFileLine(String name, int line) {
-        return lines.get(name).get(line);
+        return getLines(name).get(line);
     }
 
     /**
@@ -159,7 +223,7 @@ public final class Editor {
         if (!indented) {
             return insertBlankLineWithIndent(fileName, line, 0);
         } else {
-            int indentAmount = Utils.getIndent(lines.get(fileName).get(line)).length();
+            int indentAmount = Utils.getIndent(getLines(fileName).get(line)).length();
 
             return insertBlankLineWithIndent(fileName, line, indentAmount);
         }
@@ -167,8 +231,9 @@ public final class Editor {
 
     public Position insertBlankLineWithIndent(String fileName, int line, int indentAmount) {
         String indentation = IntStream.range(0, indentAmount).mapToObj(ignored -> " ").collect(Collectors.joining());
-        lines.get(fileName).add(line, indentation);
-        contents.put(fileName, joinLinesIntoContent(lines.get(fileName)));
+        List<String> fileLines = getLines(fileName);
+        fileLines.add(line, indentation);
+        contents.put(fileName, joinLinesIntoContent(fileLines));
         return new Position(line, indentation.length());
     }
 
@@ -188,7 +253,7 @@ public final class Editor {
         int newLineIndent) {
         String indent = IntStream.range(0, newLineIndent).mapToObj(ignored -> " ").collect(Collectors.joining());
         StringBuilder stringBuilder = new StringBuilder(4096);
-        List<String> lineContent = lines.get(fileName);
+        List<String> lineContent = getLines(fileName);
 
         // Copy lines until the start of the change is reached.
         for (int i = 0; i != start.getLine(); i++) {
@@ -222,10 +287,12 @@ public final class Editor {
 
         contents.put(fileName, stringBuilder.toString());
         lines.put(fileName, splitContentIntoLines(contents.get(fileName)));
-        try (BufferedWriter fileWriter = Files.newBufferedWriter(paths.get(fileName))) {
-            fileWriter.write(contents.get(fileName));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (writeThrough) {
+            try (BufferedWriter fileWriter = Files.newBufferedWriter(paths.get(fileName))) {
+                fileWriter.write(contents.get(fileName));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
@@ -237,10 +304,15 @@ public final class Editor {
      */
     public void renameFile(String fileName, String newName) {
         contents.put(newName, contents.remove(fileName));
-        lines.put(newName, lines.remove(fileName));
+        List<String> fileLines = lines.remove(fileName);
+        if (fileLines != null) {
+            lines.put(newName, fileLines);
+        }
         Path path = paths.remove(fileName);
         Path newPath = Paths.get(rootDir.toString(), newName);
-        path.toFile().renameTo(newPath.toFile());
+        if (writeThrough) {
+            path.toFile().renameTo(newPath.toFile());
+        }
         paths.put(newName, newPath);
     }
 
@@ -252,12 +324,13 @@ public final class Editor {
      * @return the list of ranges containing the occurrences
      */
     public List<Range> searchText(String fileName, String text) {
-        if (!lines.containsKey(fileName)) {
+        List<String> fileLines = getLines(fileName);
+        if (fileLines == null) {
             return null;
         } else {
             List<Range> occurrences = new ArrayList<>();
-            for (int i = 0; i != lines.get(fileName).size(); i++) {
-                String line = lines.get(fileName).get(i);
+            for (int i = 0; i != fileLines.size(); i++) {
+                String line = fileLines.get(i);
                 if (line.contains(text)) {
                     int start = line.indexOf(text);
                     while (start != -1) {
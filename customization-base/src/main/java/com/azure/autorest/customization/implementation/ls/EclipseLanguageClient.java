@@ -3,6 +3,7 @@
 
 package com.azure.autorest.customization.implementation.ls;
 
+import com.azure.autorest.customization.Editor;
 import com.azure.autorest.customization.implementation.ls.models.ClientCapabilities;
 import com.azure.autorest.customization.implementation.ls.models.CodeAction;
 import com.azure.autorest.customization.implementation.ls.models.CodeActionClientCapabilities;
@@ -11,6 +12,7 @@ import com.azure.autorest.customization.implementation.ls.models.CodeActionKindV
 import com.azure.autorest.customization.implementation.ls.models.CodeActionLiteralSupport;
 import com.azure.autorest.customization.implementation.ls.models.DidChangeTextDocumentParams;
 import com.azure.autorest.customization.implementation.ls.models.DidChangeWatchedFilesParams;
+import com.azure.autorest.customization.implementation.ls.models.DidChangeWorkspaceFoldersParams;
 import com.azure.autorest.customization.implementation.ls.models.DidCloseTextDocumentParams;
 import com.azure.autorest.customization.implementation.ls.models.DidOpenTextDocumentParams;
 import com.azure.autorest.customization.implementation.ls.models.DidSaveTextDocumentParams;
@@ -36,74 +38,207 @@ import com.azure.autorest.customization.implementation.ls.models.WillSaveTextDoc
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceCapabilities;
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceEdit;
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceFolder;
+import com.azure.autorest.customization.implementation.ls.models.WorkspaceFoldersChangeEvent;
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceSymbolClientCapabilities;
 import com.azure.autorest.customization.models.Position;
 import com.azure.autorest.customization.models.Range;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
 import com.sun.jna.Platform;
 import com.sun.jna.platform.win32.Kernel32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class EclipseLanguageClient implements AutoCloseable {
+    /**
+     * The default time to wait for the language server to connect and to report that it is ready.
+     */
+    public static final Duration DEFAULT_STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Logger LOGGER = LoggerFactory.getLogger(EclipseLanguageClient.class);
+
+    // how often the wait for the connection of the language server checks whether the server process is still alive
+    private static final int ACCEPT_POLL_MILLIS = 200;
+    // the time to wait for a first "language/status" notification, after which a server that reports none is assumed
+    // to be an older server, and is given the fixed time the client used to wait before the readiness signals
+    private static final int STATUS_FALLBACK_MILLIS = 2500;
 
     private final EclipseLanguageServerFacade server;
     private final Connection connection;
     private final ServerSocket serverSocket;
-    private final AtomicReference<Socket> clientSocket = new AtomicReference<>();
-    private final URI workspaceDir;
+    private final Socket clientSocket;
+    private URI workspaceDir;
+    // rebound to the run that reuses a pooled server
+    private volatile Logger logger;
+    private final long startupStartNanos;
+    private final long startupDeadlineNanos;
+    // completed by the first "language/status" notification of the language server
+    private final CompletableFuture<Void> statusReported = new CompletableFuture<>();
+    // completed by the "language/status" notification of the language server, once it has imported the workspace
+    private final CompletableFuture<Void> serverReady = new CompletableFuture<>();
     private ServerCapabilities serverCapabilities;
+    // the key of the EclipseLanguageServerPool the server returns to on close, or null if the server is not pooled
+    private String poolKey;
+    // the editor of the files of the workspace, and the document symbols of each file, with the content they are of
+    private Editor editor;
+    private final Map<String, DocumentSymbols> documentSymbolsCache = new HashMap<>();
 
     public EclipseLanguageClient(String workspaceDir) {
         this(null, workspaceDir);
     }
 
+    /**
+     * Creates a client not connected to a language server, for a subclass that handles the requests itself.
+     *
+     * @param workspaceDir the URI of the workspace directory
+     */
+    protected EclipseLanguageClient(URI workspaceDir) {
+        this.workspaceDir = workspaceDir;
+        this.server = null;
+        this.connection = null;
+        this.serverSocket = null;
+        this.clientSocket = null;
+        this.logger = LOGGER;
+        this.startupStartNanos = System.nanoTime();
+        this.startupDeadlineNanos = startupStartNanos;
+    }
+
     public EclipseLanguageClient(String pathToLanguageServerPlugin, String workspaceDir) {
+        this(pathToLanguageServerPlugin, workspaceDir, DEFAULT_STARTUP_TIMEOUT, LOGGER);
+    }
+
+    /**
+     * Starts a language server, and waits for it to connect.
+     * <p>
+     * The startup timeout covers both the connection of the language server, and its report that it is ready, which
+     * {@link #initialize()} waits for.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param workspaceDir the workspace directory
+     * @param startupTimeout the time to wait for the language server to connect and to report that it is ready
+     * @param logger the logger of the startup of the language server
+     */
+    public EclipseLanguageClient(String pathToLanguageServerPlugin, String workspaceDir, Duration startupTimeout,
+        Logger logger) {
         this.workspaceDir = new File(workspaceDir).toURI();
+        this.logger = logger;
+        this.startupStartNanos = System.nanoTime();
+        this.startupDeadlineNanos = startupStartNanos + startupTimeout.toNanos();
         try {
+            // the socket listens before the server is started, so the server can connect as soon as it is up
             serverSocket = new ServerSocket(0);
+            serverSocket.setSoTimeout(ACCEPT_POLL_MILLIS);
             int port = serverSocket.getLocalPort();
-            Thread thread = new Thread(() -> {
-                try {
-                    clientSocket.set(serverSocket.accept());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            thread.start();
-            Thread.sleep(1000);
             if (pathToLanguageServerPlugin == null) {
                 this.server = new EclipseLanguageServerFacade(port);
             } else {
                 this.server = new EclipseLanguageServerFacade(pathToLanguageServerPlugin, port);
             }
-            thread.join(10 * 1000);
-            if (clientSocket.get() == null) {
-                throw new IllegalStateException("EclipseLanguageServer failed to start on CLIENT_PORT " + port + ". "
+            clientSocket = acceptServerConnection(port);
+            logger.info("EclipseLanguageServer connected in {} ms", getStartupMillis());
+            connection = new Connection(clientSocket.getOutputStream(), clientSocket.getInputStream());
+            connection.dispatchNotification("language/status", this::onLanguageStatus);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Socket acceptServerConnection(int port) throws IOException {
+        while (true) {
+            try {
+                return serverSocket.accept();
+            } catch (SocketTimeoutException e) {
+                boolean serverAlive = server.isAlive();
+                if (!serverAlive || System.nanoTime() - startupDeadlineNanos >= 0) {
+                    server.shutdown();
+                    serverSocket.close();
+                    throw new IllegalStateException("EclipseLanguageServer failed to start on CLIENT_PORT " + port + ". "
+                        + (serverAlive
+                            ? "It did not connect in " + getStartupMillis() + " ms. "
+                            : "Its process exited before it connected. ")
                         + "Make sure you have stopped any previous EclipseLanguageServer. "
                         + "If not sure, you may kill all 'java' process.");
+                }
             }
-            connection = new Connection(clientSocket.get().getOutputStream(), clientSocket.get().getInputStream());
-        } catch (Exception e) {
+        }
+    }
+
+    private void onLanguageStatus(JsonNode status) {
+        statusReported.complete(null);
+        String type = status == null ? null : status.path("type").asText(null);
+        if ("Started".equals(type) || "ServiceReady".equals(type)) {
+            serverReady.complete(null);
+        } else if ("Error".equals(type)) {
+            serverReady.completeExceptionally(new IllegalStateException("EclipseLanguageServer failed to start: "
+                + status.path("message").asText()));
+        }
+    }
+
+    private void awaitServerReady() {
+        try {
+            if (!awaitStatusReported()) {
+                // the server does not report its status, so it cannot report that it is ready either
+                logger.warn("EclipseLanguageServer did not report its status in {} ms, continuing without waiting for "
+                    + "it to be ready", getStartupMillis());
+                return;
+            }
+            serverReady.get(Math.max(0, startupDeadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            logger.info("EclipseLanguageServer ready in {} ms", getStartupMillis());
+        } catch (TimeoutException e) {
+            // the requests are still answered, once the server has imported the workspace
+            logger.warn("EclipseLanguageServer did not report that it is ready in {} ms, continuing",
+                getStartupMillis());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Waits for the first status notification of the server, for at most {@link #STATUS_FALLBACK_MILLIS}, or until the
+     * startup deadline if it is earlier.
+     *
+     * @return whether the server reported its status
+     */
+    private boolean awaitStatusReported() throws ExecutionException, InterruptedException {
+        long timeoutNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(STATUS_FALLBACK_MILLIS),
+            startupDeadlineNanos - System.nanoTime());
+        try {
+            statusReported.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private long getStartupMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startupStartNanos);
+    }
+
     public void initialize() {
         int pid;
         if (Platform.isWindows()) {
@@ -115,10 +250,7 @@ public class EclipseLanguageClient implements AutoCloseable {
         initializeParams.setProcessId(pid);
         initializeParams.setRootUri(workspaceDir);
         initializeParams.setWorkspaceFolders(new ArrayList<>());
-        WorkspaceFolder workspaceFolder = new WorkspaceFolder();
-        workspaceFolder.setName("root");
-        workspaceFolder.setUri(workspaceDir);
-        initializeParams.getWorkspaceFolders().add(workspaceFolder);
+        initializeParams.getWorkspaceFolders().add(createWorkspaceFolder(workspaceDir));
         initializeParams.setTrace("message");
         initializeParams.setCapabilities(new ClientCapabilities());
         initializeParams.getCapabilities().setWorkspace(new WorkspaceCapabilities());
@@ -141,11 +273,7 @@ public class EclipseLanguageClient implements AutoCloseable {
         InitializeResponse response = connection.requestWithObject(OBJECT_MAPPER.constructType(InitializeResponse.class), "initialize", initializeParams);
         serverCapabilities = response.getCapabilities();
         connection.notifyWithObject("initialized", null);
-        try {
-            Thread.sleep(2500);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        awaitServerReady();
     }
 
     public BuildWorkspaceStatus buildWorkspace(boolean forceRebuild) {
@@ -167,6 +295,7 @@ public class EclipseLanguageClient implements AutoCloseable {
     }
 
     public void notifyFileOpened(URI fileUri, String content, int version) {
+        invalidateDocumentSymbols(fileUri);
         if (serverCapabilities.getTextDocumentSync() != null
             && serverCapabilities.getTextDocumentSync().isOpenClose()) {
             DidOpenTextDocumentParams params = new DidOpenTextDocumentParams();
@@ -180,6 +309,7 @@ public class EclipseLanguageClient implements AutoCloseable {
     }
 
     public void notifyFileClosed(URI fileUri) {
+        invalidateDocumentSymbols(fileUri);
         if (serverCapabilities.getTextDocumentSync() != null
             && serverCapabilities.getTextDocumentSync().isOpenClose()) {
             DidCloseTextDocumentParams params = new DidCloseTextDocumentParams();
@@ -190,6 +320,7 @@ public class EclipseLanguageClient implements AutoCloseable {
     }
 
     public void notifyFileChanged(URI fileUri, String newContent, List<TextEdit> textEdits, int version) {
+        invalidateDocumentSymbols(fileUri);
         if (serverCapabilities.getTextDocumentSync() != null
             && serverCapabilities.getTextDocumentSync().getChange() != 0) {
             DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
@@ -213,6 +344,9 @@ public class EclipseLanguageClient implements AutoCloseable {
     }
 
     public void notifyWatchedFilesChanged(List<FileEvent> changes) {
+        for (FileEvent change : changes) {
+            invalidateDocumentSymbols(change.getUri());
+        }
         DidChangeWatchedFilesParams params = new DidChangeWatchedFilesParams();
         params.setChanges(changes);
         connection.notifyWithObject("workspace/didChangeWatchedFiles", params);
@@ -229,6 +363,7 @@ public class EclipseLanguageClient implements AutoCloseable {
     }
 
     public void notifyFileSaved(URI fileUri, String content) {
+        invalidateDocumentSymbols(fileUri);
         if (serverCapabilities.getTextDocumentSync() != null
             && serverCapabilities.getTextDocumentSync().getSave() != null) {
             DidSaveTextDocumentParams params = new DidSaveTextDocumentParams();
@@ -247,10 +382,57 @@ public class EclipseLanguageClient implements AutoCloseable {
         return connection.requestWithObject(OBJECT_MAPPER.getTypeFactory().constructCollectionLikeType(List.class, SymbolInformation.class), "workspace/symbol", workspaceSymbolParams);
     }
 
+    /**
+     * Sets the editor of the files of the workspace, which enables the cache of the document symbols.
+     *
+     * @param editor the editor of the files of the workspace
+     */
+    public void setEditor(Editor editor) {
+        this.editor = editor;
+        documentSymbolsCache.clear();
+    }
+
+    /**
+     * Lists the symbols of a file.
+     * <p>
+     * With an {@link #setEditor(Editor) editor}, the symbols are cached per file, until the editor changes the file,
+     * e.g. by {@link Editor#replaceFile(String, String)} or {@code Utils.applyTextEdits}, or a change of the file is
+     * notified to the server.
+     *
+     * @param fileUri the URI of the file
+     * @return the symbols of the file, which must not be modified
+     */
     public List<SymbolInformation> listDocumentSymbols(URI fileUri) {
+        String fileName = getFileName(fileUri);
+        // the editor replaces the content of a file on each change, so the content is compared by reference
+        String content = (editor == null || fileName == null) ? null : editor.getFileContent(fileName);
+        DocumentSymbols documentSymbols = content == null ? null : documentSymbolsCache.get(fileName);
+        if (documentSymbols != null && documentSymbols.content == content) {
+            return documentSymbols.symbols;
+        }
+
         DocumentSymbolParams documentSymbolParams = new DocumentSymbolParams();
         documentSymbolParams.setTextDocument(new TextDocumentIdentifier(fileUri));
-        return connection.requestWithObject(OBJECT_MAPPER.getTypeFactory().constructCollectionLikeType(List.class, SymbolInformation.class), "textDocument/documentSymbol", documentSymbolParams);
+        List<SymbolInformation> symbols = connection.requestWithObject(OBJECT_MAPPER.getTypeFactory().constructCollectionLikeType(List.class, SymbolInformation.class), "textDocument/documentSymbol", documentSymbolParams);
+        if (content != null && symbols != null) {
+            symbols = Collections.unmodifiableList(symbols);
+            documentSymbolsCache.put(fileName, new DocumentSymbols(content, symbols));
+        }
+        return symbols;
+    }
+
+    private void invalidateDocumentSymbols(URI fileUri) {
+        String fileName = getFileName(fileUri);
+        if (fileName != null) {
+            documentSymbolsCache.remove(fileName);
+        }
+    }
+
+    // as the Editor, files are identified by their path from "src/main/java/", which is the same for any form of URI
+    private static String getFileName(URI fileUri) {
+        String uri = fileUri.toString();
+        int i = uri.indexOf("src/main/java/");
+        return i < 0 ? null : uri.substring(i);
     }
 
     public WorkspaceEdit renameSymbol(URI fileUri, Position symbolPosition, String newName) {
@@ -270,10 +452,72 @@ public class EclipseLanguageClient implements AutoCloseable {
         return connection.requestWithObject(OBJECT_MAPPER.getTypeFactory().constructCollectionLikeType(List.class, CodeAction.class), "textDocument/codeAction", codeActionParams);
     }
 
+    void setPoolKey(String poolKey) {
+        this.poolKey = poolKey;
+    }
+
+    void setLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    Logger getLogger() {
+        return logger;
+    }
+
+    boolean isServerAlive() {
+        return server != null && server.isAlive();
+    }
+
+    /*
+     * Makes the workspace directory a workspace folder of the server, for a pooled server reused by another run.
+     */
+    void addWorkspaceFolder(URI workspaceDir) {
+        this.workspaceDir = workspaceDir;
+        setEditor(null);
+        changeWorkspaceFolders(Collections.singletonList(createWorkspaceFolder(workspaceDir)), Collections.emptyList());
+    }
+
+    /*
+     * Removes the workspace directory from the workspace folders of the server, before a pooled server is reused.
+     */
+    void removeWorkspaceFolder() {
+        setEditor(null);
+        changeWorkspaceFolders(Collections.emptyList(), Collections.singletonList(createWorkspaceFolder(workspaceDir)));
+    }
+
+    private void changeWorkspaceFolders(List<WorkspaceFolder> added, List<WorkspaceFolder> removed) {
+        WorkspaceFoldersChangeEvent event = new WorkspaceFoldersChangeEvent();
+        event.setAdded(added);
+        event.setRemoved(removed);
+        DidChangeWorkspaceFoldersParams params = new DidChangeWorkspaceFoldersParams();
+        params.setEvent(event);
+        connection.notifyWithObject("workspace/didChangeWorkspaceFolders", params);
+    }
+
+    private static WorkspaceFolder createWorkspaceFolder(URI workspaceDir) {
+        WorkspaceFolder workspaceFolder = new WorkspaceFolder();
+        workspaceFolder.setName("root");
+        workspaceFolder.setUri(workspaceDir);
+        return workspaceFolder;
+    }
+
+    /**
+     * Closes the client.
+     * <p>
+     * A client of an {@link EclipseLanguageServerPool} returns its server to the pool, otherwise the server is stopped.
+     */
     public void close() {
+        if (poolKey != null) {
+            EclipseLanguageServerPool.release(poolKey, this);
+        } else {
+            closeServer();
+        }
+    }
+
+    void closeServer() {
         try {
             connection.notifyWithObject("exit", null);
-            clientSocket.get().close();
+            clientSocket.close();
             serverSocket.close();
             connection.stop();
             server.shutdown();
@@ -282,6 +526,16 @@ public class EclipseLanguageClient implements AutoCloseable {
         }
     }
 
+    private static final class DocumentSymbols {
+        private final String content;
+        private final List<SymbolInformation> symbols;
+
+        private DocumentSymbols(String content, List<SymbolInformation> symbols) {
+            this.content = content;
+            this.symbols = symbols;
+        }
+    }
+
     private interface CLibrary extends Library {
         CLibrary INSTANCE = Native.load("c", CLibrary.class);
 
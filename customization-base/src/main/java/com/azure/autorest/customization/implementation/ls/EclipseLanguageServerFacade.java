@@ -44,6 +44,10 @@ public class EclipseLanguageServerFacade {
         return server.getInputStream();
     }
 
+    public boolean isAlive() {
+        return server.isAlive();
+    }
+
     public void shutdown() {
         if (server != null && server.isAlive()) {
             server.destroy();
@@ -0,0 +1,168 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls;
+
+import com.azure.autorest.extension.base.plugin.CacheUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Starts the Eclipse JDT language servers of the customizations, and keeps the servers of the runs that reuse them
+ * alive between runs.
+ * <p>
+ * Starting the language server, and importing the workspace, is most of the time of a customization run. When a run
+ * reuses the language server, closing its language client returns the server to the pool, and the next run in the JVM
+ * that reuses the language server takes it. The workspace folder of the closed run is removed from the server, and the
+ * one of the next run is added, by "workspace/didChangeWorkspaceFolders".
+ * <p>
+ * A server is only reused for a workspace with the same pom.xml as the one it was started with, as it imports the
+ * dependencies of that pom.xml, e.g. the customization workspace and the readme workspace of the postprocessor have
+ * different ones.
+ * <p>
+ * Whether a run reuses the language server is decided by each run, as the sessions of the JVM can have different
+ * settings. The idle servers are stopped by {@link #shutdown()}, or when the JVM exits.
+ */
+public final class EclipseLanguageServerPool {
+    private static final Map<String, Deque<EclipseLanguageClient>> IDLE_CLIENTS = new HashMap<>();
+
+    private EclipseLanguageServerPool() {
+    }
+
+    /**
+     * Gets an initialized language client of the workspace directory, whose server is stopped when it is closed.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param workspaceDir the workspace directory
+     * @param startupTimeout the time to wait for a started language server to connect and to report that it is ready
+     * @param logger the logger of the language server
+     * @return the initialized language client
+     */
+    public static EclipseLanguageClient acquire(String pathToLanguageServerPlugin, String workspaceDir,
+        Duration startupTimeout, Logger logger) {
+        return acquire(pathToLanguageServerPlugin, workspaceDir, startupTimeout, logger, false);
+    }
+
+    /**
+     * Gets an initialized language client of the workspace directory.
+     * <p>
+     * If the language server is reused, an idle server started from the same language server plugin, for a workspace
+     * with the same pom.xml, is taken, otherwise a server is started, and the server is returned to the pool when the
+     * client is closed. If not, a server is started, and it is stopped when the client is closed.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param workspaceDir the workspace directory
+     * @param startupTimeout the time to wait for a started language server to connect and to report that it is ready
+     * @param logger the logger of the language server
+     * @param reuseLanguageServer whether the language server is reused
+     * @return the initialized language client
+     */
+    public static EclipseLanguageClient acquire(String pathToLanguageServerPlugin, String workspaceDir,
+        Duration startupTimeout, Logger logger, boolean reuseLanguageServer) {
+        return acquire(getPoolKey(pathToLanguageServerPlugin, workspaceDir), workspaceDir, logger,
+            reuseLanguageServer, () -> {
+                EclipseLanguageClient client = new EclipseLanguageClient(pathToLanguageServerPlugin, workspaceDir,
+                    startupTimeout, logger);
+                client.initialize();
+                return client;
+            });
+    }
+
+    /*
+     * Gets the key of the idle servers that can be taken for the workspace, from the language server plugin and the
+     * pom.xml of the workspace.
+     */
+    static String getPoolKey(String pathToLanguageServerPlugin, String workspaceDir) {
+        Path pom = Paths.get(workspaceDir, "pom.xml");
+        try {
+            String pomHash = Files.exists(pom)
+                ? CacheUtils.hash(new String(Files.readAllBytes(pom), StandardCharsets.UTF_8))
+                : "";
+            return (pathToLanguageServerPlugin == null ? "" : pathToLanguageServerPlugin) + "|" + pomHash;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static EclipseLanguageClient acquire(String key, String workspaceDir, Logger logger, boolean reuseLanguageServer,
+        Supplier<EclipseLanguageClient> clientStarter) {
+        if (reuseLanguageServer) {
+            EclipseLanguageClient client;
+            while ((client = pollIdleClient(key)) != null) {
+                if (client.isServerAlive()) {
+                    long start = System.nanoTime();
+                    // the client logs to the run that uses it, not to the run that started it
+                    client.setLogger(logger);
+                    client.addWorkspaceFolder(new File(workspaceDir).toURI());
+                    // the server imports the added folder in a background job, which the build waits for
+                    client.buildWorkspace(false);
+                    logger.info("Reused EclipseLanguageServer, workspace ready in {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return client;
+                }
+                closeQuietly(client);
+            }
+        }
+
+        EclipseLanguageClient client = clientStarter.get();
+        if (reuseLanguageServer) {
+            client.setPoolKey(key);
+        }
+        return client;
+    }
+
+    /**
+     * Stops the idle language servers.
+     */
+    public static void shutdown() {
+        List<EclipseLanguageClient> clients = new ArrayList<>();
+        synchronized (IDLE_CLIENTS) {
+            IDLE_CLIENTS.values().forEach(clients::addAll);
+            IDLE_CLIENTS.clear();
+        }
+        clients.forEach(EclipseLanguageServerPool::closeQuietly);
+    }
+
+    static void release(String key, EclipseLanguageClient client) {
+        if (!client.isServerAlive()) {
+            closeQuietly(client);
+            return;
+        }
+
+        client.removeWorkspaceFolder();
+        synchronized (IDLE_CLIENTS) {
+            IDLE_CLIENTS.computeIfAbsent(key, ignored -> new ArrayDeque<>()).push(client);
+        }
+    }
+
+    private static EclipseLanguageClient pollIdleClient(String key) {
+        synchronized (IDLE_CLIENTS) {
+            Deque<EclipseLanguageClient> clients = IDLE_CLIENTS.get(key);
+            return clients == null ? null : clients.poll();
+        }
+    }
+
+    private static void closeQuietly(EclipseLanguageClient client) {
+        try {
+            client.closeServer();
+        } catch (RuntimeException e) {
+            // the server is discarded either way
+        }
+    }
+}
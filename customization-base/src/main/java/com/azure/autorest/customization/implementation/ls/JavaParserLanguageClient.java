@@ -0,0 +1,362 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls;
+
+import com.azure.autorest.customization.Editor;
+import com.azure.autorest.customization.implementation.ls.models.CodeAction;
+import com.azure.autorest.customization.implementation.ls.models.FileEvent;
+import com.azure.autorest.customization.implementation.ls.models.Location;
+import com.azure.autorest.customization.implementation.ls.models.SymbolInformation;
+import com.azure.autorest.customization.implementation.ls.models.SymbolKind;
+import com.azure.autorest.customization.implementation.ls.models.TextEdit;
+import com.azure.autorest.customization.implementation.ls.models.WorkspaceEdit;
+import com.azure.autorest.customization.models.Position;
+import com.azure.autorest.customization.models.Range;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A language client that lists the symbols in process, from the JavaParser syntax trees of the files in the
+ * {@link Editor}, instead of requesting them from the Eclipse JDT language server.
+ * <p>
+ * Listing symbols is most of the requests of a customization. The requests that need the types of the library
+ * resolved, i.e. rename, code actions such as organize imports, formatting and building the workspace, are forwarded
+ * to an Eclipse JDT language server, which is started by the first of these requests. A customization that does not
+ * use them runs without a language server, and, with a memory-only {@link Editor}, without writing the files to the
+ * workspace directory.
+ */
+public class JavaParserLanguageClient extends EclipseLanguageClient {
+    private static final String SOURCE_ROOT = "src/main/java/";
+
+    private final String pathToLanguageServerPlugin;
+    private final Editor editor;
+    private final Path workspaceDir;
+    private final Duration startupTimeout;
+    private final boolean reuseLanguageServer;
+    private final Logger logger;
+
+    // the symbols of each file, and the content they are listed from
+    private final Map<String, FileSymbols> symbolsCache = new HashMap<>();
+
+    private EclipseLanguageClient languageServerClient;
+
+    /**
+     * Creates a JavaParserLanguageClient.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param editor the editor of the files, which are written to the workspace directory once the language server is
+     * started
+     * @param workspaceDir the workspace directory
+     */
+    public JavaParserLanguageClient(String pathToLanguageServerPlugin, Editor editor, String workspaceDir) {
+        this(pathToLanguageServerPlugin, editor, workspaceDir, DEFAULT_STARTUP_TIMEOUT,
+            LoggerFactory.getLogger(JavaParserLanguageClient.class));
+    }
+
+    /**
+     * Creates a JavaParserLanguageClient.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param editor the editor of the files, which are written to the workspace directory once the language server is
+     * started
+     * @param workspaceDir the workspace directory
+     * @param startupTimeout the time to wait for the language server to be ready, once it is needed
+     * @param logger the logger of the startup of the language server
+     */
+    public JavaParserLanguageClient(String pathToLanguageServerPlugin, Editor editor, String workspaceDir,
+        Duration startupTimeout, Logger logger) {
+        this(pathToLanguageServerPlugin, editor, workspaceDir, startupTimeout, logger, false);
+    }
+
+    /**
+     * Creates a JavaParserLanguageClient.
+     *
+     * @param pathToLanguageServerPlugin the path to the language server plugin, or null for the working directory
+     * @param editor the editor of the files, which are written to the workspace directory once the language server is
+     * started
+     * @param workspaceDir the workspace directory
+     * @param startupTimeout the time to wait for the language server to be ready, once it is needed
+     * @param logger the logger of the startup of the language server
+     * @param reuseLanguageServer whether the language server, once it is needed, is taken from and returned to the
+     * {@link EclipseLanguageServerPool}
+     */
+    public JavaParserLanguageClient(String pathToLanguageServerPlugin, Editor editor, String workspaceDir,
+        Duration startupTimeout, Logger logger, boolean reuseLanguageServer) {
+        super(new File(workspaceDir).toURI());
+        this.pathToLanguageServerPlugin = pathToLanguageServerPlugin;
+        this.editor = editor;
+        this.workspaceDir = Paths.get(workspaceDir);
+        this.startupTimeout = startupTimeout;
+        this.logger = logger;
+        this.reuseLanguageServer = reuseLanguageServer;
+    }
+
+    @Override
+    public void initialize() {
+        // nothing to initialize until the language server is needed
+    }
+
+    @Override
+    public List<SymbolInformation> findWorkspaceSymbol(String query) {
+        boolean matchAll = "*".equals(query);
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+
+        List<SymbolInformation> symbols = new ArrayList<>();
+        List<String> fileNames = editor.getContents().keySet().stream()
+            .filter(fileName -> fileName.startsWith(SOURCE_ROOT) && fileName.endsWith(".java"))
+            .sorted()
+            .collect(Collectors.toList());
+        for (String fileName : fileNames) {
+            List<SymbolInformation> fileSymbols = getSymbols(fileName);
+            if (fileSymbols == null) {
+                // the file cannot be parsed as it is, ask the language server
+                return getLanguageServerClient().findWorkspaceSymbol(query);
+            }
+
+            for (SymbolInformation symbol : fileSymbols) {
+                if (isType(symbol.getKind())
+                    && (matchAll || symbol.getName().toLowerCase(Locale.ROOT).contains(lowerCaseQuery))) {
+                    symbols.add(symbol);
+                }
+            }
+        }
+        return symbols;
+    }
+
+    @Override
+    public List<SymbolInformation> listDocumentSymbols(URI fileUri) {
+        String uri = fileUri.toString();
+        int i = uri.indexOf(SOURCE_ROOT);
+        List<SymbolInformation> symbols = i < 0 ? null : getSymbols(uri.substring(i));
+        return symbols == null
+            ? getLanguageServerClient().listDocumentSymbols(fileUri)
+            : symbols;
+    }
+
+    @Override
+    public BuildWorkspaceStatus buildWorkspace(boolean forceRebuild) {
+        return getLanguageServerClient().buildWorkspace(forceRebuild);
+    }
+
+    @Override
+    public List<TextEdit> format(URI fileUri) {
+        return getLanguageServerClient().format(fileUri);
+    }
+
+    @Override
+    public WorkspaceEdit renameSymbol(URI fileUri, Position symbolPosition, String newName) {
+        return getLanguageServerClient().renameSymbol(fileUri, symbolPosition, newName);
+    }
+
+    @Override
+    public List<CodeAction> listCodeActions(URI fileUri, Range range) {
+        return getLanguageServerClient().listCodeActions(fileUri, range);
+    }
+
+    // the notifications only matter to a started language server, which reads all the other changes from the disk
+
+    @Override
+    public void notifyFileOpened(URI fileUri, String content, int version) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyFileOpened(fileUri, content, version);
+        }
+    }
+
+    @Override
+    public void notifyFileClosed(URI fileUri) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyFileClosed(fileUri);
+        }
+    }
+
+    @Override
+    public void notifyFileChanged(URI fileUri, String newContent, List<TextEdit> textEdits, int version) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyFileChanged(fileUri, newContent, textEdits, version);
+        }
+    }
+
+    @Override
+    public void notifyWatchedFilesChanged(List<FileEvent> changes) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyWatchedFilesChanged(changes);
+        }
+    }
+
+    @Override
+    public void notifyFileToSave(URI fileUri) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyFileToSave(fileUri);
+        }
+    }
+
+    @Override
+    public void notifyFileSaved(URI fileUri, String content) {
+        if (languageServerClient != null) {
+            languageServerClient.notifyFileSaved(fileUri, content);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (languageServerClient != null) {
+            languageServerClient.close();
+        }
+    }
+
+    private EclipseLanguageClient getLanguageServerClient() {
+        if (languageServerClient == null) {
+            // the language server reads the files of the workspace from the disk
+            editor.materialize();
+            languageServerClient = EclipseLanguageServerPool.acquire(pathToLanguageServerPlugin,
+                workspaceDir.toString(), startupTimeout, logger, reuseLanguageServer);
+            languageServerClient.setEditor(editor);
+        }
+        return languageServerClient;
+    }
+
+    /*
+     * Gets the symbols of a file, in the order they are declared, or null if the file cannot be parsed.
+     */
+    private List<SymbolInformation> getSymbols(String fileName) {
+        String content = editor.getFileContent(fileName);
+        if (content == null) {
+            return Collections.emptyList();
+        }
+
+        FileSymbols fileSymbols = symbolsCache.get(fileName);
+        // the editor replaces the content of a file on each change, so the content is compared by reference
+        if (fileSymbols == null || fileSymbols.content != content) {
+            List<SymbolInformation> symbols;
+            try {
+                symbols = listSymbols(StaticJavaParser.parse(content), workspaceDir.resolve(fileName).toUri());
+            } catch (ParseProblemException e) {
+                symbols = null;
+            }
+            fileSymbols = new FileSymbols(content, symbols);
+            symbolsCache.put(fileName, fileSymbols);
+        }
+        return fileSymbols.symbols;
+    }
+
+    private static List<SymbolInformation> listSymbols(CompilationUnit compilationUnit, URI fileUri) {
+        String packageName = compilationUnit.getPackageDeclaration()
+            .map(packageDeclaration -> packageDeclaration.getNameAsString())
+            .orElse("");
+
+        List<SymbolInformation> symbols = new ArrayList<>();
+        for (TypeDeclaration<?> type : compilationUnit.getTypes()) {
+            addTypeSymbols(type, packageName, fileUri, symbols);
+        }
+        return symbols;
+    }
+
+    private static void addTypeSymbols(TypeDeclaration<?> type, String containerName, URI fileUri,
+        List<SymbolInformation> symbols) {
+        String typeName = type.getNameAsString();
+        symbols.add(createSymbol(typeName, getTypeKind(type), containerName, fileUri, type.getName()));
+
+        if (type instanceof EnumDeclaration) {
+            for (EnumConstantDeclaration enumConstant : ((EnumDeclaration) type).getEntries()) {
+                symbols.add(createSymbol(enumConstant.getNameAsString(), SymbolKind.ENUM_MEMBER, typeName, fileUri,
+                    enumConstant.getName()));
+            }
+        }
+
+        boolean isInterface = type instanceof ClassOrInterfaceDeclaration
+            && ((ClassOrInterfaceDeclaration) type).isInterface();
+        for (BodyDeclaration<?> member : type.getMembers()) {
+            if (member instanceof TypeDeclaration) {
+                addTypeSymbols((TypeDeclaration<?>) member, typeName, fileUri, symbols);
+            } else if (member instanceof FieldDeclaration) {
+                FieldDeclaration field = (FieldDeclaration) member;
+                // as JDT, a static final field, or a field of an interface, is a constant
+                SymbolKind kind = (isInterface || (field.isStatic() && field.isFinal()))
+                    ? SymbolKind.CONSTANT
+                    : SymbolKind.FIELD;
+                for (VariableDeclarator variable : field.getVariables()) {
+                    symbols.add(createSymbol(variable.getNameAsString(), kind, typeName, fileUri,
+                        variable.getName()));
+                }
+            } else if (member instanceof CallableDeclaration) {
+                CallableDeclaration<?> callable = (CallableDeclaration<?>) member;
+                String name = callable.getNameAsString() + callable.getParameters().stream()
+                    .map(parameter -> parameter.getType().asString() + (parameter.isVarArgs() ? "..." : ""))
+                    .collect(Collectors.joining(", ", "(", ")"));
+                SymbolKind kind = callable.isConstructorDeclaration() ? SymbolKind.CONSTRUCTOR : SymbolKind.METHOD;
+                symbols.add(createSymbol(name, kind, typeName, fileUri, callable.getName()));
+            }
+        }
+    }
+
+    private static SymbolKind getTypeKind(TypeDeclaration<?> type) {
+        if (type instanceof EnumDeclaration) {
+            return SymbolKind.ENUM;
+        } else if (type.isAnnotationDeclaration()
+            || (type instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) type).isInterface())) {
+            return SymbolKind.INTERFACE;
+        } else {
+            return SymbolKind.CLASS;
+        }
+    }
+
+    private static boolean isType(SymbolKind kind) {
+        return kind == SymbolKind.CLASS || kind == SymbolKind.INTERFACE || kind == SymbolKind.ENUM;
+    }
+
+    // as JDT, the location of a symbol is the range of its name
+    private static SymbolInformation createSymbol(String name, SymbolKind kind, String containerName, URI fileUri,
+        Node nameNode) {
+        com.github.javaparser.Range nameRange = nameNode.getRange()
+            .orElseThrow(() -> new IllegalStateException("No position of symbol " + name));
+
+        Location location = new Location();
+        location.setUri(fileUri);
+        // JavaParser positions are 1-based, with an inclusive end, LSP positions are 0-based, with an exclusive end
+        location.setRange(new Range(new Position(nameRange.begin.line - 1, nameRange.begin.column - 1),
+            new Position(nameRange.end.line - 1, nameRange.end.column)));
+
+        SymbolInformation symbol = new SymbolInformation();
+        symbol.setName(name);
+        symbol.setKind(kind);
+        symbol.setContainerName(containerName);
+        symbol.setLocation(location);
+        return symbol;
+    }
+
+    private static final class FileSymbols {
+        private final String content;
+        private final List<SymbolInformation> symbols;
+
+        private FileSymbols(String content, List<SymbolInformation> symbols) {
+            this.content = content;
+            this.symbols = symbols;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls.models;
+
+public class DidChangeWorkspaceFoldersParams {
+    private WorkspaceFoldersChangeEvent event;
+
+    public WorkspaceFoldersChangeEvent getEvent() {
+        return event;
+    }
+
+    public void setEvent(WorkspaceFoldersChangeEvent event) {
+        this.event = event;
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls.models;
+
+import java.util.List;
+
+public class WorkspaceFoldersChangeEvent {
+    private List<WorkspaceFolder> added;
+
+    private List<WorkspaceFolder> removed;
+
+    public List<WorkspaceFolder> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<WorkspaceFolder> added) {
+        this.added = added;
+    }
+
+    public List<WorkspaceFolder> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<WorkspaceFolder> removed) {
+        this.removed = removed;
+    }
+}
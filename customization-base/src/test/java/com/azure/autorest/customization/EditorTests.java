@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization;
+
+import com.azure.autorest.customization.models.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests {@link Editor}.
+ */
+public class EditorTests {
+    private static final String FILE_NAME = "src/main/java/foo/Foo.java";
+
+    @TempDir
+    public Path tempDir;
+
+    @Test
+    public void memoryOnlyEditorWritesFilesOnMaterialize() throws IOException {
+        String fileContent = String.join(System.lineSeparator(),
+            "public class Foo {",
+            "}");
+        Editor editor = new Editor(Collections.singletonMap(FILE_NAME, fileContent), tempDir, true);
+
+        editor.replace(FILE_NAME, new Position(0, 7), new Position(0, 12), "final class");
+        editor.addFile("src/main/java/foo/Bar.java", "class Bar {}");
+        editor.renameFile("src/main/java/foo/Bar.java", "src/main/java/foo/Baz.java");
+        assertEquals("public final class Foo {", editor.getFileLine(FILE_NAME, 0));
+        assertFalse(Files.exists(tempDir.resolve("src")));
+
+        editor.materialize();
+        assertEquals(editor.getFileContent(FILE_NAME),
+            new String(Files.readAllBytes(tempDir.resolve(FILE_NAME)), StandardCharsets.UTF_8));
+        assertEquals("class Bar {}", new String(Files.readAllBytes(tempDir.resolve("src/main/java/foo/Baz.java")),
+            StandardCharsets.UTF_8));
+
+        // the changes after materialize are written through
+        editor.replace(FILE_NAME, new Position(0, 0), new Position(0, 7), "");
+        assertEquals(editor.getFileContent(FILE_NAME),
+            new String(Files.readAllBytes(tempDir.resolve(FILE_NAME)), StandardCharsets.UTF_8));
+    }
+}
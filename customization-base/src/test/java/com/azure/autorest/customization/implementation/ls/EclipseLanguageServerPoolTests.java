@@ -0,0 +1,200 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link EclipseLanguageServerPool}, with clients that fake the language server.
+ */
+public class EclipseLanguageServerPoolTests {
+    private static final String KEY = "";
+
+    @TempDir
+    public Path tempDir;
+
+    private final List<FakeClient> startedClients = new ArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        EclipseLanguageServerPool.shutdown();
+    }
+
+    @Test
+    public void reusedServer() {
+        Logger firstLogger = new TestLogger();
+        FakeClient client = acquire("first", firstLogger, true);
+        assertSame(firstLogger, client.getLogger());
+        client.close();
+        // returned to the pool
+        assertFalse(client.closed);
+        assertEquals(1, client.removedFolders);
+
+        Logger secondLogger = new TestLogger();
+        FakeClient reusedClient = acquire("second", secondLogger, true);
+        assertSame(client, reusedClient);
+        assertEquals(1, startedClients.size());
+        assertEquals(tempDir.resolve("second").toUri(), reusedClient.addedFolder);
+        assertEquals(1, reusedClient.builds);
+        // the client logs to the run that reuses it
+        assertSame(secondLogger, reusedClient.getLogger());
+
+        EclipseLanguageServerPool.shutdown();
+        // not idle, so not stopped
+        assertFalse(client.closed);
+        reusedClient.close();
+        EclipseLanguageServerPool.shutdown();
+        assertTrue(client.closed);
+    }
+
+    @Test
+    public void deadServerNotReused() {
+        FakeClient client = acquire("first", new TestLogger(), true);
+        client.close();
+        client.alive = false;
+
+        FakeClient nextClient = acquire("second", new TestLogger(), true);
+        assertNotSame(client, nextClient);
+        assertTrue(client.closed);
+        assertEquals(2, startedClients.size());
+    }
+
+    @Test
+    public void disabledReuse() {
+        FakeClient client = acquire("first", new TestLogger(), false);
+        client.close();
+        // stopped, not returned to the pool
+        assertTrue(client.closed);
+        assertEquals(0, client.removedFolders);
+
+        FakeClient nextClient = acquire("second", new TestLogger(), false);
+        assertNotSame(client, nextClient);
+        assertEquals(2, startedClients.size());
+        nextClient.close();
+        assertTrue(nextClient.closed);
+    }
+
+    @Test
+    public void pooledServerNotTakenWithoutReuse() {
+        // a run that reuses the language server, then one of a session that does not
+        FakeClient client = acquire("first", new TestLogger(), true);
+        client.close();
+
+        FakeClient nextClient = acquire("second", new TestLogger(), false);
+        assertNotSame(client, nextClient);
+        nextClient.close();
+        assertTrue(nextClient.closed);
+
+        // still idle, for the next run that reuses the language server
+        assertFalse(client.closed);
+        assertSame(client, acquire("third", new TestLogger(), true));
+    }
+
+    @Test
+    public void poolKeyOfWorkspace() throws IOException {
+        Path customization = workspace("customization", "<project><artifactId>customization</artifactId></project>");
+        Path otherCustomization = workspace("other", "<project><artifactId>customization</artifactId></project>");
+        Path readme = workspace("readme", "<project><artifactId>readme</artifactId></project>");
+
+        String key = EclipseLanguageServerPool.getPoolKey(null, customization.toString());
+        assertEquals(key, EclipseLanguageServerPool.getPoolKey(null, otherCustomization.toString()));
+        // different dependencies, or a different language server
+        assertNotEquals(key, EclipseLanguageServerPool.getPoolKey(null, readme.toString()));
+        assertNotEquals(key, EclipseLanguageServerPool.getPoolKey("plugin", customization.toString()));
+    }
+
+    @Test
+    public void serverNotReusedForOtherWorkspaceKind() {
+        FakeClient client = acquire("first", KEY, new TestLogger(), true);
+        client.close();
+
+        FakeClient readmeClient = acquire("readme", "readme", new TestLogger(), true);
+        assertNotSame(client, readmeClient);
+        assertEquals(2, startedClients.size());
+        assertSame(client, acquire("second", KEY, new TestLogger(), true));
+    }
+
+    private Path workspace(String workspaceName, String pom) throws IOException {
+        Path workspaceDir = Files.createDirectories(tempDir.resolve(workspaceName));
+        Files.write(workspaceDir.resolve("pom.xml"), pom.getBytes(StandardCharsets.UTF_8));
+        return workspaceDir;
+    }
+
+    private FakeClient acquire(String workspaceName, Logger logger, boolean reuseLanguageServer) {
+        return acquire(workspaceName, KEY, logger, reuseLanguageServer);
+    }
+
+    private FakeClient acquire(String workspaceName, String key, Logger logger, boolean reuseLanguageServer) {
+        Path workspaceDir = tempDir.resolve(workspaceName);
+        Supplier<EclipseLanguageClient> clientStarter = () -> {
+            FakeClient client = new FakeClient(workspaceDir.toUri(), logger);
+            startedClients.add(client);
+            return client;
+        };
+        return (FakeClient) EclipseLanguageServerPool.acquire(key, workspaceDir.toString(), logger,
+            reuseLanguageServer, clientStarter);
+    }
+
+    private static final class FakeClient extends EclipseLanguageClient {
+        private boolean alive = true;
+        private boolean closed;
+        private URI addedFolder;
+        private int removedFolders;
+        private int builds;
+
+        private FakeClient(URI workspaceDir, Logger logger) {
+            super(workspaceDir);
+            setLogger(logger);
+        }
+
+        @Override
+        boolean isServerAlive() {
+            return alive && !closed;
+        }
+
+        @Override
+        void addWorkspaceFolder(URI workspaceDir) {
+            addedFolder = workspaceDir;
+        }
+
+        @Override
+        void removeWorkspaceFolder() {
+            removedFolders++;
+        }
+
+        @Override
+        public BuildWorkspaceStatus buildWorkspace(boolean forceRebuild) {
+            builds++;
+            return BuildWorkspaceStatus.SUCCEED;
+        }
+
+        @Override
+        void closeServer() {
+            closed = true;
+        }
+    }
+
+    private static final class TestLogger extends NOPLogger {
+    }
+}
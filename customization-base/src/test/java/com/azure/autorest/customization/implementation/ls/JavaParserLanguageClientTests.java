@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.customization.implementation.ls;
+
+import com.azure.autorest.customization.Editor;
+import com.azure.autorest.customization.implementation.ls.models.SymbolInformation;
+import com.azure.autorest.customization.implementation.ls.models.SymbolKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link JavaParserLanguageClient}.
+ */
+public class JavaParserLanguageClientTests {
+    private static final String FILE_NAME = "src/main/java/foo/Foo.java";
+    private static final String FILE_CONTENT = String.join(System.lineSeparator(),
+        "package foo;",
+        "",
+        "public class Foo {",
+        "    private static final int MAX = 3;",
+        "    private String name;",
+        "",
+        "    public Foo(String name) {",
+        "        this.name = name;",
+        "    }",
+        "",
+        "    public String getName() {",
+        "        return name;",
+        "    }",
+        "",
+        "    public enum Color { RED }",
+        "}");
+
+    @TempDir
+    public Path tempDir;
+
+    @Test
+    public void listDocumentSymbols() {
+        Editor editor = new Editor(Collections.singletonMap(FILE_NAME, FILE_CONTENT), tempDir);
+        JavaParserLanguageClient languageClient = new JavaParserLanguageClient(null, editor, tempDir.toString());
+
+        List<SymbolInformation> symbols = languageClient.listDocumentSymbols(tempDir.resolve(FILE_NAME).toUri());
+
+        assertEquals("Foo MAX name Foo(String) getName() Color RED",
+            symbols.stream().map(SymbolInformation::getName).collect(Collectors.joining(" ")));
+        assertEquals(SymbolKind.CONSTANT, symbols.get(1).getKind());
+        assertEquals(SymbolKind.FIELD, symbols.get(2).getKind());
+        assertEquals("foo", symbols.get(0).getContainerName());
+        assertEquals("Color", symbols.get(6).getContainerName());
+
+        // the range of a symbol is the range of its name
+        SymbolInformation getName = symbols.get(4);
+        assertEquals(10, getName.getLocation().getRange().getStart().getLine());
+        assertEquals(18, getName.getLocation().getRange().getStart().getCharacter());
+        assertEquals(25, getName.getLocation().getRange().getEnd().getCharacter());
+    }
+
+    @Test
+    public void findWorkspaceSymbolListsTypes() {
+        Editor editor = new Editor(Collections.singletonMap(FILE_NAME, FILE_CONTENT), tempDir);
+        JavaParserLanguageClient languageClient = new JavaParserLanguageClient(null, editor, tempDir.toString());
+
+        assertEquals("Foo Color", languageClient.findWorkspaceSymbol("*").stream()
+            .map(SymbolInformation::getName).collect(Collectors.joining(" ")));
+        assertEquals("Color", languageClient.findWorkspaceSymbol("color").stream()
+            .map(SymbolInformation::getName).collect(Collectors.joining(" ")));
+    }
+}
@@ -3,7 +3,9 @@
 
 package com.azure.autorest.extension.base.jsonrpc;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -14,6 +16,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -21,14 +25,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -42,9 +47,12 @@ public class Connection {
     private boolean isDisposed = false;
     private final AtomicInteger requestId;
     private final Map<Integer, CallerResponse<?>> tasks = new ConcurrentHashMap<>();
+    // ids of the requests whose string result is read as a stream, see requestReader
+    private final Set<Integer> readerRequestIds = ConcurrentHashMap.newKeySet();
     private final ExecutorService executorService = Executors.newCachedThreadPool();
     private final CompletableFuture<Void> loop;
-    private final Map<String, Function<JsonNode, String>> dispatch = new HashMap<>();
+    // the handlers are registered while the listening loop already reads the incoming messages
+    private final Map<String, Function<JsonNode, String>> dispatch = new ConcurrentHashMap<>();
 
     public Connection(OutputStream writer, InputStream input) {
         this.writer = writer;
@@ -61,23 +69,63 @@ public class Connection {
     }
 
     private JsonNode readJson() {
-        String jsonText = "";
-        JsonNode json;
-        while (true) {
-            try {
-                jsonText += reader.readAsciiLine(); // + "\n";
-            } catch (IOException e) {
-                throw new RuntimeException("Cannot read JSON input");
+        try {
+            int length = reader.readJsonMessage();
+            return parseMessage(length);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read JSON input", e);
+        }
+    }
+
+    private JsonNode parseMessage(int length) throws IOException {
+        if (!readerRequestIds.isEmpty() && completeReaderRequest(reader.getMessage(), length)) {
+            // the message is a response to requestReader, and has been handed over to its caller
+            return null;
+        }
+        return MAPPER.readTree(reader.getMessage(), 0, length);
+    }
+
+    /**
+     * Completes a request of {@link #requestReader(String, Object...)}, if the message is its response with a string
+     * result.
+     * <p>
+     * The message is scanned with a streaming parser, which skips over the string result without decoding it. The
+     * caller then reads the string from a copy of the message bytes.
+     */
+    private boolean completeReaderRequest(byte[] message, int length) throws IOException {
+        int id = -1;
+        int resultOffset = -1;
+        try (JsonParser parser = MAPPER.getFactory().createParser(message, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
             }
-            try {
-                json = MAPPER.readTree(jsonText);
-                if (json != null) {
-                    return json;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("id".equals(name) && token == JsonToken.VALUE_NUMBER_INT) {
+                    id = parser.getIntValue();
+                } else if ("result".equals(name) && token == JsonToken.VALUE_STRING) {
+                    resultOffset = (int) parser.getTokenLocation().getByteOffset();
+                } else {
+                    parser.skipChildren();
                 }
-            } catch (IOException e) {
-                // not enough text?
             }
         }
+        if (resultOffset < 0 || !readerRequestIds.remove(id)) {
+            return false;
+        }
+
+        CallerResponse<?> f;
+        synchronized (tasks) {
+            f = tasks.remove(id);
+        }
+        if (f != null) {
+            // the message buffer is reused for the next message
+            byte[] result = new byte[length - resultOffset];
+            System.arraycopy(message, resultOffset, result, 0, result.length);
+            f.complete(new JsonStringReader(result, 0));
+        }
+        return true;
     }
 
     public <T> void dispatch(String path, Supplier<T> method) {
@@ -128,6 +176,22 @@ public class Connection {
         });
     }
 
+    /**
+     * Registers the handler of a notification from the remote side.
+     * <p>
+     * The handler runs on a thread of the connection, and is passed the parameters of the notification, or null if it
+     * has none.
+     *
+     * @param path the name of the notification
+     * @param method the handler of the notification
+     */
+    public void dispatchNotification(String path, Consumer<JsonNode> method) {
+        dispatch.put(path, input -> {
+            method.accept(input);
+            return null;
+        });
+    }
+
     public <P1, T> void dispatch(String path, Function<P1, T> method) {
     }
 
@@ -151,8 +215,8 @@ public class Connection {
 
     private JsonNode readJson(int contentLength) {
         try {
-            byte[] bytes = reader.readBytes(contentLength);
-            return MAPPER.readTree(bytes);
+            reader.readMessage(contentLength);
+            return parseMessage(contentLength);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -295,27 +359,20 @@ public class Connection {
         }
     }
 
-    private final Semaphore streamReady = new Semaphore(1);
+    private final Object writeLock = new Object();
 
     private void send(String text) {
-        try {
-            synchronized (streamReady) {
-                streamReady.acquire();
-            }
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
-
         byte[] buffer = text.getBytes(StandardCharsets.UTF_8);
-        try {
-            write(("Content-Length: " + buffer.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
-            write(buffer);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        synchronized (streamReady) {
-            streamReady.release();
+        byte[] header = ("Content-Length: " + buffer.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        // messages can be sent from any thread, the header and the body of one message must not interleave with
+        // another message
+        synchronized (writeLock) {
+            try {
+                write(header);
+                write(buffer);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
@@ -370,6 +427,27 @@ public class Connection {
     }
 
     public <T> T request(JavaType type, String methodName, Object... values) {
+        CompletableFuture<T> response = requestAsync(type, methodName, values);
+        try {
+            return response.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sends a request without waiting for its response.
+     * <p>
+     * Multiple requests can be sent back-to-back this way, so the host processes them as one pipelined batch instead
+     * of one round-trip per request.
+     *
+     * @param type the type of the result
+     * @param methodName the name of the remote method
+     * @param values the parameters of the remote method
+     * @param <T> the type of the result
+     * @return the future that completes when the response arrives
+     */
+    public <T> CompletableFuture<T> requestAsync(JavaType type, String methodName, Object... values) {
         int id = requestId.getAndIncrement();
         CallerResponse<T> response = new CallerResponse<T>(id, type);
         tasks.put(id, response);
@@ -382,10 +460,42 @@ public class Connection {
                 Arrays.stream(values).map(o -> MAPPER.convertValue(o, JsonNode.class)).collect(Collectors.toList())));
         }
         send(node.toString());
+        return response;
+    }
+
+    /**
+     * Sends a request whose result is a string, and returns the string as a reader.
+     * <p>
+     * The string is decoded from the response message as the reader is read, so a large result, e.g. the content of
+     * a file, is not held in memory both as the message and as a String. The reader supports
+     * {@link Reader#mark(int)} with any read-ahead limit.
+     *
+     * @param methodName the name of the remote method
+     * @param values the parameters of the remote method
+     * @return the reader of the result
+     */
+    public Reader requestReader(String methodName, Object... values) {
+        int id = requestId.getAndIncrement();
+        CallerResponse<Object> response = new CallerResponse<>(id, MAPPER.constructType(String.class));
+        tasks.put(id, response);
+        readerRequestIds.add(id);
+        JsonNode node = new ObjectNode(MAPPER.getNodeFactory())
+            .put("jsonrpc", "2.0")
+            .put("method", methodName)
+            .put("id", id);
+        if (values != null && values.length > 0) {
+            node = ((ObjectNode) node).set("params", new ArrayNode(MAPPER.getNodeFactory(),
+                Arrays.stream(values).map(o -> MAPPER.convertValue(o, JsonNode.class)).collect(Collectors.toList())));
+        }
+        send(node.toString());
         try {
-            return response.get();
+            Object result = response.get();
+            // a result that isn't a string, e.g. "{}", is completed as the other requests are
+            return result instanceof Reader ? (Reader) result : new StringReader(result == null ? "" : result.toString());
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
+        } finally {
+            readerRequestIds.remove(id);
         }
     }
 
@@ -0,0 +1,167 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.jsonrpc;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader of a JSON string literal in UTF-8 bytes.
+ * <p>
+ * The escape sequences and the UTF-8 encoding are decoded as the reader is read, so the value of the string is never
+ * materialized as a String. The reader supports {@link #mark(int)} with any read-ahead limit, as the bytes are kept in
+ * memory anyway.
+ */
+final class JsonStringReader extends Reader {
+    private final byte[] bytes;
+
+    private int position;
+    // the low surrogate of a supplementary character, when only the high surrogate has been read
+    private char pendingLowSurrogate;
+    private boolean ended;
+
+    private int markedPosition;
+    private char markedPendingLowSurrogate;
+    private boolean markedEnded;
+
+    /**
+     * Creates the reader.
+     *
+     * @param bytes the UTF-8 bytes, starting with the opening quote of the string literal
+     * @param offset the offset of the opening quote
+     */
+    JsonStringReader(byte[] bytes, int offset) {
+        if (offset >= bytes.length || bytes[offset] != '"') {
+            throw new IllegalArgumentException("Expected a JSON string literal at offset " + offset);
+        }
+        this.bytes = bytes;
+        this.position = offset + 1;
+        this.markedPosition = this.position;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        while (count < length) {
+            if (pendingLowSurrogate != 0) {
+                buffer[offset + count++] = pendingLowSurrogate;
+                pendingLowSurrogate = 0;
+                continue;
+            }
+            if (ended) {
+                break;
+            }
+
+            int b = nextByte();
+            if (b == '"') {
+                ended = true;
+            } else if (b == '\\') {
+                buffer[offset + count++] = readEscape();
+            } else if (b < 0x80) {
+                buffer[offset + count++] = (char) b;
+            } else {
+                int codePoint = readMultiByte(b);
+                if (Character.isSupplementaryCodePoint(codePoint)) {
+                    buffer[offset + count++] = Character.highSurrogate(codePoint);
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                } else {
+                    buffer[offset + count++] = (char) codePoint;
+                }
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) {
+        markedPosition = position;
+        markedPendingLowSurrogate = pendingLowSurrogate;
+        markedEnded = ended;
+    }
+
+    @Override
+    public void reset() {
+        position = markedPosition;
+        pendingLowSurrogate = markedPendingLowSurrogate;
+        ended = markedEnded;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private int nextByte() throws IOException {
+        if (position >= bytes.length) {
+            throw new IOException("Unterminated JSON string literal");
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    private char readEscape() throws IOException {
+        int c = nextByte();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if (digit < 0) {
+                        throw new IOException("Invalid unicode escape in JSON string literal");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw new IOException("Invalid escape character '" + (char) c + "' in JSON string literal");
+        }
+    }
+
+    private int readMultiByte(int first) throws IOException {
+        int codePoint;
+        int continuationBytes;
+        if ((first & 0xE0) == 0xC0) {
+            codePoint = first & 0x1F;
+            continuationBytes = 1;
+        } else if ((first & 0xF0) == 0xE0) {
+            codePoint = first & 0x0F;
+            continuationBytes = 2;
+        } else if ((first & 0xF8) == 0xF0) {
+            codePoint = first & 0x07;
+            continuationBytes = 3;
+        } else {
+            throw new IOException("Invalid UTF-8 byte 0x" + Integer.toHexString(first) + " in JSON string literal");
+        }
+
+        for (int i = 0; i < continuationBytes; i++) {
+            int b = nextByte();
+            if ((b & 0xC0) != 0x80) {
+                throw new IOException("Invalid UTF-8 byte 0x" + Integer.toHexString(b) + " in JSON string literal");
+            }
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        return codePoint;
+    }
+}
@@ -4,69 +4,179 @@
 package com.azure.autorest.extension.base.jsonrpc;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
+/**
+ * Buffered reader for the JSON-RPC input stream.
+ * <p>
+ * Bytes are read from the stream in blocks. Message bodies are read into a message buffer that is reused across
+ * messages, so they can be parsed from bytes without intermediate copies. The reader is not thread-safe, it is only
+ * used by the listening thread of {@link Connection}.
+ */
 class PeekingBinaryReader implements Closeable {
-    Integer lastByte;
-    InputStream input;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream input;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+
+    private byte[] message = new byte[BUFFER_SIZE];
 
     PeekingBinaryReader(InputStream input) {
-        this.lastByte = null;
         this.input = input;
     }
 
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read = input.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
     int readByte() throws IOException {
-        if (lastByte != null) {
-            int result = lastByte;
-            lastByte = null;
-            return result;
+        if (!fill()) {
+            return -1;
         }
-        return input.read();
+        return buffer[position++] & 0xFF;
     }
 
     int peekByte() throws IOException {
-        if (lastByte != null) {
-            return lastByte;
+        if (!fill()) {
+            return -1;
         }
-        int result = readByte();
-        if (result != -1) {
-            lastByte = result;
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Gets the message buffer. It holds the bytes of the last message read, and is overwritten by the next read.
+     *
+     * @return the message buffer
+     */
+    byte[] getMessage() {
+        return message;
+    }
+
+    /**
+     * Reads exactly {@code count} bytes into the message buffer.
+     *
+     * @param count the number of bytes to read
+     * @throws IOException if the stream ends before {@code count} bytes are read
+     */
+    void readMessage(int count) throws IOException {
+        ensureMessageCapacity(count);
+        int read = Math.min(count, limit - position);
+        System.arraycopy(buffer, position, message, 0, read);
+        position += read;
+        while (read < count) {
+            int n = input.read(message, read, count - read);
+            if (n < 0) {
+                throw new EOFException("Expected " + count + " bytes, but the stream ended after " + read + " bytes");
+            }
+            read += n;
         }
-        return result;
     }
 
-    byte[] readBytes(int count) throws IOException {
-        byte[] buffer = new byte[count];
-        int read = 0;
-        if (count > 0 && lastByte != null)
-        {
-            buffer[read++] = (byte) (int) lastByte;
-            lastByte = null;
+    /**
+     * Reads one JSON object or array, which is not framed by a Content-Length header, into the message buffer.
+     * <p>
+     * The whitespace before the JSON value is skipped. The end of the JSON value is found by tracking the nesting
+     * depth, skipping brackets inside string literals.
+     *
+     * @return the number of bytes read
+     * @throws IOException if the stream ends before the JSON value is complete, or the value is not an object or an
+     * array
+     */
+    int readJsonMessage() throws IOException {
+        int first = peekByte();
+        while (first == ' ' || first == '\t' || first == '\r' || first == '\n') {
+            position++;
+            first = peekByte();
         }
-        while (read < count)
-        {
-            read += input.read(buffer, read, count - read);
+        if (first == -1) {
+            throw new EOFException("The stream ended before a JSON message");
+        } else if (first != '{' && first != '[') {
+            throw new IOException("Expected a JSON object or array, but found '" + (char) first + "'");
         }
-        return buffer;
+
+        int length = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        do {
+            int c = readByte();
+            if (c == -1) {
+                throw new EOFException("The stream ended inside a JSON message");
+            }
+            ensureMessageCapacity(length + 1);
+            message[length++] = (byte) c;
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0 || inString);
+        return length;
     }
 
     String readAsciiLine() throws IOException {
-        StringBuilder result = new StringBuilder();
-        int c = readByte();
-        while (c != '\r' && c != '\n' && c != -1) {
-            result.append((char)c);
-            c = readByte();
+        StringBuilder result = null;
+        while (fill()) {
+            int start = position;
+            while (position < limit && buffer[position] != '\r' && buffer[position] != '\n') {
+                position++;
+            }
+            if (result == null) {
+                result = new StringBuilder(position - start);
+            }
+            for (int i = start; i < position; i++) {
+                result.append((char) (buffer[i] & 0xFF));
+            }
+            if (position < limit) {
+                // found the line terminator
+                int c = buffer[position++];
+                if (c == '\r' && peekByte() == '\n') {
+                    position++;
+                }
+                return result.toString();
+            }
         }
-        if (c == '\r' && peekByte() == '\n') {
-            readByte();
-        }
-        if (c == -1 && result.length() == 0) {
+        // end of stream
+        if (result == null || result.length() == 0) {
             return null;
         }
         return result.toString();
     }
 
+    private void ensureMessageCapacity(int capacity) {
+        if (capacity > message.length) {
+            message = Arrays.copyOf(message, Math.max(capacity, message.length * 2));
+        }
+    }
+
     public void close() throws IOException {
         input.close();
     }
@@ -0,0 +1,168 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.ObjectIdInfo;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * JSON serialization of {@link CodeModel}, used to pass the code model between plugins without a YAML round-trip.
+ * <p>
+ * The code model is a graph, where schemas, parameters and the like are referenced from many places, and where
+ * object schemas reference their parents and children. YAML keeps this with anchors and aliases. In JSON, every code
+ * model object is written once with a {@code $id}, and later references to it are written as that id. Objects are
+ * written with their class in {@code @class}, so properties declared as a base type (e.g. {@link Schema}) are read
+ * back as the same subclass.
+ * <p>
+ * Only the identity of code model objects is kept. A list or map shared by two objects is read back as two equal
+ * instances.
+ * <p>
+ * The format is only meant to be read by {@link #read(Reader)} from the same version of the generator.
+ */
+public final class CodeModelJsonMapper {
+    private static final String CODE_MODEL_PACKAGE = "com.azure.autorest.extension.base.model.";
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private CodeModelJsonMapper() {
+    }
+
+    /**
+     * Checks whether the content is a code model in JSON, rather than in YAML.
+     *
+     * @param content the code model content
+     * @return whether the content is JSON
+     */
+    public static boolean isJson(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the content of the reader is a code model in JSON, rather than in YAML.
+     * <p>
+     * The reader is reset to where it was, so it must support {@link Reader#mark(int)}.
+     *
+     * @param reader the reader of the code model content
+     * @return whether the content is JSON
+     * @throws IOException if the content cannot be read
+     */
+    public static boolean isJson(Reader reader) throws IOException {
+        reader.mark(Integer.MAX_VALUE);
+        try {
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (!Character.isWhitespace(c)) {
+                    return c == '{';
+                }
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Writes the code model as JSON.
+     *
+     * @param codeModel the code model
+     * @return the JSON
+     * @throws IOException if the code model cannot be serialized
+     */
+    public static String write(CodeModel codeModel) throws IOException {
+        return MAPPER.writeValueAsString(codeModel);
+    }
+
+    /**
+     * Writes the code model as JSON.
+     *
+     * @param codeModel the code model
+     * @param writer the writer to write the JSON to
+     * @throws IOException if the code model cannot be serialized or written
+     */
+    public static void write(CodeModel codeModel, Writer writer) throws IOException {
+        MAPPER.writeValue(writer, codeModel);
+    }
+
+    /**
+     * Reads the code model from JSON written by {@link #write(CodeModel)}.
+     *
+     * @param reader the reader of the JSON
+     * @return the code model
+     * @throws IOException if the JSON cannot be read or deserialized
+     */
+    public static CodeModel read(Reader reader) throws IOException {
+        return MAPPER.readValue(reader, CodeModel.class);
+    }
+
+    private static boolean isCodeModelType(Class<?> clazz) {
+        return clazz.getName().startsWith(CODE_MODEL_PACKAGE)
+            && !clazz.isEnum()
+            && !Map.class.isAssignableFrom(clazz)
+            && !Collection.class.isAssignableFrom(clazz);
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        // same as NewPlugin.jsonMapper, the code model is serialized from its fields
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+            .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+            .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+            .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+            .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE));
+
+        // object identity, for the references shared within the code model
+        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public ObjectIdInfo findObjectIdInfo(Annotated annotated) {
+                if (annotated instanceof AnnotatedClass && isCodeModelType(annotated.getRawType())) {
+                    return new ObjectIdInfo(PropertyName.construct("$id"), Object.class,
+                        ObjectIdGenerators.IntSequenceGenerator.class, null);
+                }
+                return super.findObjectIdInfo(annotated);
+            }
+        });
+
+        // class name, for the properties declared as a base type
+        ObjectMapper.DefaultTypeResolverBuilder typeResolverBuilder = new ObjectMapper.DefaultTypeResolverBuilder(
+            ObjectMapper.DefaultTyping.NON_FINAL,
+            BasicPolymorphicTypeValidator.builder().allowIfSubType(CODE_MODEL_PACKAGE).build()) {
+            @Override
+            public boolean useForType(JavaType type) {
+                return isCodeModelType(type.getRawClass());
+            }
+        };
+        mapper.setDefaultTyping(typeResolverBuilder
+            .init(JsonTypeInfo.Id.CLASS, null)
+            .inclusion(JsonTypeInfo.As.PROPERTY)
+            .typeProperty("@class"));
+        return mapper;
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utilities of the on-disk caches, e.g. {@link FormatterCache}, whose entries are keyed by a SHA-256 hash of their
+ * inputs.
+ */
+public final class CacheUtils {
+    private CacheUtils() {
+    }
+
+    /**
+     * Gets the identity of the build of a class, so that the output of a build is not reused by another build.
+     * <p>
+     * For a class in a jar, it is the name, size and modification time of the jar. For a class in a directory, e.g. in
+     * the build output of an IDE, it is a hash of the files in the directory. Otherwise, it is the implementation
+     * version of the package of the class.
+     *
+     * @param clazz the class
+     * @return the identity of the build, or null if it cannot be identified
+     * @throws IOException if the directory of the class cannot be read
+     */
+    public static String getBuildIdentity(Class<?> clazz) throws IOException {
+        CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            try {
+                File file = new File(codeSource.getLocation().toURI());
+                if (file.isFile()) {
+                    return file.getName() + ":" + file.length() + ":" + file.lastModified();
+                } else if (file.isDirectory()) {
+                    return hashDirectory(file.toPath());
+                }
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // fall back to the version
+            }
+        }
+        return clazz.getPackage() == null ? null : clazz.getPackage().getImplementationVersion();
+    }
+
+    /**
+     * Computes the SHA-256 hash of the values, as a hex string.
+     *
+     * @param values the values
+     * @return the hash
+     */
+    public static String hash(String... values) {
+        MessageDigest digest = sha256();
+        for (String value : values) {
+            update(digest, value);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return the digest
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds a value to the digest, prefixed by its length, so that the boundary between the values is part of the hash.
+     *
+     * @param digest the digest
+     * @param value the value
+     */
+    public static void update(MessageDigest digest, String value) {
+        update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a value to the digest, prefixed by its length, so that the boundary between the values is part of the hash.
+     *
+     * @param digest the digest
+     * @param value the value
+     */
+    public static void update(MessageDigest digest, byte[] value) {
+        digest.update(Integer.toString(value.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(value);
+    }
+
+    /**
+     * Formats the bytes as a lowercase hex string.
+     *
+     * @param bytes the bytes
+     * @return the hex string
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the file through a temporary file in the same directory, so that a reader, possibly in another process,
+     * never sees a partially written file.
+     *
+     * @param path the path of the file
+     * @param content the content of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempPath, content);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private static String hashDirectory(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        MessageDigest digest = sha256();
+        for (Path file : files) {
+            update(digest, directory.relativize(file).toString().replace(File.separatorChar, '/'));
+            update(digest, Files.readAllBytes(file));
+        }
+        return toHex(digest.digest());
+    }
+}
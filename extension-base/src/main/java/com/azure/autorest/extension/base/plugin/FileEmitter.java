@@ -0,0 +1,119 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Single-writer queue for the files written by a plugin.
+ * <p>
+ * Files can be submitted from any thread, e.g. from the parallel tasks that format them. A dedicated writer thread
+ * takes them from the queue and sends them to AutoRest via {@link NewPlugin#writeFile(String, String, java.util.List)},
+ * in the order they were submitted. Files are therefore sent as soon as they are ready, while the remaining files are
+ * still being formatted.
+ * <p>
+ * {@link #close()} waits until all submitted files are sent. {@link #cancel()} stops the emission when the generation
+ * fails, e.g. when a file cannot be formatted.
+ */
+public final class FileEmitter implements AutoCloseable {
+    private static final Map.Entry<String, String> END = new AbstractMap.SimpleImmutableEntry<>(null, null);
+
+    private final BlockingQueue<Map.Entry<String, String>> queue = new LinkedBlockingQueue<>();
+    private final NewPlugin plugin;
+    private final Thread writer;
+
+    private volatile RuntimeException failure;
+    private volatile boolean closed = false;
+    private volatile boolean cancelled = false;
+
+    /**
+     * Creates a FileEmitter, and starts its writer thread.
+     *
+     * @param plugin the plugin to write the files
+     */
+    public FileEmitter(NewPlugin plugin) {
+        this.plugin = plugin;
+        this.writer = new Thread(this::run, plugin.getClass().getSimpleName() + "-file-emitter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Submits a file to be written.
+     *
+     * @param filePath the path of the file
+     * @param content the content of the file
+     * @throws IllegalStateException if the emitter is closed
+     */
+    public void submit(String filePath, String content) {
+        if (closed) {
+            throw new IllegalStateException("FileEmitter is closed.");
+        }
+        if (cancelled) {
+            return;
+        }
+        queue.add(new AbstractMap.SimpleImmutableEntry<>(filePath, content));
+    }
+
+    private void run() {
+        while (true) {
+            Map.Entry<String, String> file;
+            try {
+                file = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (file == END) {
+                return;
+            }
+            // after a failure, keep draining the queue so that close() returns, but do not write any more files
+            if (failure == null && !cancelled) {
+                try {
+                    plugin.writeFile(file.getKey(), file.getValue(), null);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the files submitted but not yet written, and ignores the files submitted later.
+     * <p>
+     * The files already sent to AutoRest cannot be withdrawn, but no more of the output of a failed generation is
+     * written.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (!closed) {
+            queue.removeIf(file -> file != END);
+        }
+    }
+
+    /**
+     * Waits until all submitted files are written, and stops the writer thread.
+     *
+     * @throws RuntimeException if a file failed to be written
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.add(END);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        if (failure != null) {
+            throw new RuntimeException("Failed to write files.", failure);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of formatted Java source files.
+ * <p>
+ * The output of the formatter only depends on the source, the options and the version of the formatter, so the
+ * formatted source is cached by a SHA-256 hash of these. Entries are cached on disk if a directory is given, so that
+ * generating the same code again skips the formatting of the files unchanged. They are also cached in memory if a
+ * memory cache size is given, the in-memory cache is shared by the sessions of the plugin process, and the least
+ * recently used entries are evicted when it is full.
+ * <p>
+ * If the version of the formatter cannot be identified, nothing is cached.
+ * <p>
+ * The cache is safe to use from multiple threads.
+ */
+public final class FormatterCache {
+    private static final MemoryCache MEMORY_CACHE = new MemoryCache();
+
+    private final String formatterIdentity;
+    private final Path directory;
+    private final long memoryCacheSize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The formatting of a source file.
+     */
+    @FunctionalInterface
+    public interface Format {
+        /**
+         * Formats the source.
+         *
+         * @param source the source
+         * @return the formatted source
+         * @throws Exception if the source cannot be formatted
+         */
+        String format(String source) throws Exception;
+    }
+
+    /**
+     * Creates a FormatterCache, without in-memory cache.
+     *
+     * @param formatterName the name of the formatter
+     * @param formatterClass a class of the formatter, used to identify its version
+     * @param directory the directory of the on-disk cache, or null to not cache on disk
+     */
+    public FormatterCache(String formatterName, Class<?> formatterClass, String directory) {
+        this(formatterName, formatterClass, directory, 0);
+    }
+
+    /**
+     * Creates a FormatterCache.
+     *
+     * @param formatterName the name of the formatter
+     * @param formatterClass a class of the formatter, used to identify its version
+     * @param directory the directory of the on-disk cache, or null to not cache on disk
+     * @param memoryCacheSize the size in megabytes of the formatted sources kept in the in-memory cache, or 0 to not
+     * cache in memory
+     */
+    public FormatterCache(String formatterName, Class<?> formatterClass, String directory, int memoryCacheSize) {
+        String buildIdentity;
+        try {
+            buildIdentity = CacheUtils.getBuildIdentity(formatterClass);
+        } catch (IOException e) {
+            buildIdentity = null;
+        }
+        this.formatterIdentity = buildIdentity == null ? null : formatterName + ":" + buildIdentity;
+        this.directory = directory == null ? null : Paths.get(directory);
+        // one char of Java source is about one byte in memory, as most of it is ASCII
+        this.memoryCacheSize = Math.max(memoryCacheSize, 0) * 1024L * 1024L;
+    }
+
+    /**
+     * Formats the source, or gets the formatted source from the cache.
+     *
+     * @param source the source
+     * @param format the formatting, called if the source is not in the cache
+     * @return the formatted source
+     * @throws Exception if the source cannot be formatted
+     */
+    public String format(String source, Format format) throws Exception {
+        return format(source, "", format);
+    }
+
+    /**
+     * Formats the source, or gets the formatted source from the cache.
+     * <p>
+     * A source that fails to be formatted is not cached.
+     *
+     * @param source the source
+     * @param options the options of the formatting, which are part of the cache key
+     * @param format the formatting, called if the source is not in the cache
+     * @return the formatted source
+     * @throws Exception if the source cannot be formatted
+     */
+    public String format(String source, String options, Format format) throws Exception {
+        if (formatterIdentity == null) {
+            misses.incrementAndGet();
+            return format.format(source);
+        }
+
+        String key = CacheUtils.hash(formatterIdentity, options, source);
+
+        String formattedSource = memoryCacheSize > 0 ? MEMORY_CACHE.get(key) : null;
+        if (formattedSource == null && directory != null) {
+            formattedSource = readFromDisk(key);
+            if (formattedSource != null && memoryCacheSize > 0) {
+                MEMORY_CACHE.put(key, formattedSource, memoryCacheSize);
+            }
+        }
+        if (formattedSource != null) {
+            hits.incrementAndGet();
+            return formattedSource;
+        }
+
+        misses.incrementAndGet();
+        formattedSource = format.format(source);
+        if (memoryCacheSize > 0) {
+            MEMORY_CACHE.put(key, formattedSource, memoryCacheSize);
+        }
+        if (directory != null) {
+            writeToDisk(key, formattedSource);
+        }
+        return formattedSource;
+    }
+
+    /**
+     * Gets the number of sources found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of sources formatted.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private String readFromDisk(String key) {
+        // the entry is the hash of the formatted source, a line break, and the formatted source
+        Path path = directory.resolve(key + ".java");
+        String entry;
+        try {
+            entry = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // not in cache
+            return null;
+        }
+
+        int separator = entry.indexOf('\n');
+        if (separator > 0) {
+            String formattedSource = entry.substring(separator + 1);
+            if (entry.substring(0, separator).equals(CacheUtils.hash(formattedSource))) {
+                return formattedSource;
+            }
+        }
+        // corrupted, e.g. modified by hand, it is replaced when the source is formatted again
+        return null;
+    }
+
+    private void writeToDisk(String key, String formattedSource) {
+        // the on-disk cache is only an optimization, failure to write it is ignored
+        String entry = CacheUtils.hash(formattedSource) + "\n" + formattedSource;
+        try {
+            CacheUtils.writeAtomically(directory.resolve(key + ".java"), entry.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * In-memory cache of formatted sources, bounded by the number of chars of the formatted sources.
+     */
+    private static final class MemoryCache {
+        // in access order, the first entry is the least recently used
+        private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+
+        synchronized String get(String key) {
+            return entries.get(key);
+        }
+
+        /**
+         * Puts the formatted source in the cache, and evicts the least recently used entries until the cache is not
+         * larger than the given size. Each session bounds the cache by its own size.
+         */
+        synchronized void put(String key, String formattedSource, long maxSize) {
+            if (formattedSource.length() > maxSize) {
+                return;
+            }
+            String previous = entries.put(key, formattedSource);
+            size += formattedSource.length() - (previous == null ? 0 : previous.length());
+
+            Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= iterator.next().getValue().length();
+                iterator.remove();
+            }
+        }
+    }
+}
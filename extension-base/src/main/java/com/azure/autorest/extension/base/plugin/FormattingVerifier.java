@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the Java files as emitted by the generator with the output of the formatter.
+ * <p>
+ * Formatting is the most expensive step per file. {@link JavaSettings#isSkipFormatting()} skips it, which is only
+ * safe if the emitted files are already formatted. With {@link JavaSettings#isVerifyFormatting()}, each file that
+ * the formatter changes is logged with its first different line, so that the difference can be fixed in the
+ * templates.
+ * <p>
+ * The verifier is safe to use from multiple threads.
+ */
+public final class FormattingVerifier {
+    private static final Pattern NEW_LINE = Pattern.compile("\r\n|\r|\n");
+
+    private final Logger logger;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong different = new AtomicLong();
+
+    /**
+     * Creates a FormattingVerifier.
+     *
+     * @param logger the logger of the differences
+     */
+    public FormattingVerifier(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Compares the emitted source with the formatted source, and logs the first different line.
+     * <p>
+     * Line separators are not compared, as the formatter keeps the ones of the emitted source.
+     *
+     * @param path the path of the file
+     * @param emittedSource the source as emitted by the generator
+     * @param formattedSource the source as formatted by the formatter
+     * @return whether the formatter changed the source
+     */
+    public boolean verify(String path, String emittedSource, String formattedSource) {
+        verified.incrementAndGet();
+
+        String[] emittedLines = NEW_LINE.split(emittedSource, -1);
+        String[] formattedLines = NEW_LINE.split(formattedSource, -1);
+        int lineCount = Math.max(emittedLines.length, formattedLines.length);
+        for (int i = 0; i < lineCount; i++) {
+            String emittedLine = i < emittedLines.length ? emittedLines[i] : null;
+            String formattedLine = i < formattedLines.length ? formattedLines[i] : null;
+            if (emittedLine == null || !emittedLine.equals(formattedLine)) {
+                different.incrementAndGet();
+                logger.warn("Formatter changes {} at line {}. Emitted: '{}', formatted: '{}'",
+                    path, i + 1, emittedLine, formattedLine);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logs the number of files verified, and of files the formatter changed.
+     */
+    public void logSummary() {
+        logger.info("Formatting verification: {} of {} files changed by the formatter", different.get(),
+            verified.get());
+    }
+}
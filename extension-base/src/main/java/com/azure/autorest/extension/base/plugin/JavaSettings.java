@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,18 +25,25 @@ import java.util.stream.Collectors;
 public class JavaSettings {
     private static final String VERSION = "4.0.0";
 
-    private static JavaSettings instance;
-
-    private static NewPlugin host;
-
-    private static String header;
+    /**
+     * The settings of a session, and the host they are loaded from.
+     */
+    private static final class State {
+        private JavaSettings instance;
+        private NewPlugin host;
+        private String header;
+        private final Map<String, Object> simpleJavaSettings = new HashMap<>();
+        private Logger logger;
+    }
 
-    private static final Map<String, Object> SIMPLE_JAVA_SETTINGS = new HashMap<>();
+    private static State state() {
+        return SessionContext.current().get(State.class, State::new);
+    }
 
-    private static Logger logger;
     private boolean noCustomHeaders;
 
     static void setHeader(String value) {
+        String header;
         if ("MICROSOFT_MIT".equals(value)) {
             header = MICROSOFT_MIT_LICENSE_HEADER + "\n" + String.format(DEFAULT_CODE_GENERATION_HEADER, VERSION);
         } else if ("MICROSOFT_APACHE".equals(value)) {
@@ -57,19 +65,85 @@ public class JavaSettings {
         } else {
             header = value;
         }
+        state().header = header;
+    }
+
+    private static final Type MODELERFOUR_TYPE = new TypeReference<Map<String, Object>>() {
+    }.getType();
+
+    private static final Type POLLING_TYPE = new TypeReference<Map<String, PollingDetails>>() {
+    }.getType();
+
+    private static final Type HTTP_STATUS_CODE_MAPPING_TYPE = new TypeReference<Map<Integer, String>>() {
+    }.getType();
+
+    private static final List<String> STRING_SETTINGS = Arrays.asList(
+        "title", "security-header-name", "tag", "base-folder", "output-folder", "java-sdks-folder", "license-header",
+        "fluent", "service-name", "namespace", "client-type-prefix", "implementation-subpackage", "models-subpackage",
+        "custom-types", "custom-types-subpackage", "fluent-subpackage", "sync-methods", "artifact-id",
+        "credential-types", "credential-scopes", "customization-jar-path", "customization-class",
+        "client-flattened-annotation-target", "key-credential-header-name", "default-http-exception-type",
+        "generation-cache-directory", "formatter-cache-directory", "stream-style-lazy-array-properties");
+
+    private static final List<String> BOOLEAN_SETTINGS = Arrays.asList(
+        "verbose", "debug", "debugger",
+        "azure-arm", "sdk-integration", "regenerate-pom", "enable-xml", "non-null-annotations", "client-side-validations",
+        "generate-client-interfaces", "generate-client-as-impl", "required-parameter-client-methods",
+        "generate-sync-async-clients", "generate-builder-per-client", "client-logger", "required-fields-as-ctor-args",
+        "service-interface-as-public", "optional-constant-as-enum", "data-plane", "use-iterable",
+        "require-x-ms-flattened-to-flatten", "disable-client-builder", "skip-formatting", "generate-samples",
+        "generate-tests", "generate-models", "pass-discriminator-to-child-deserialization",
+        "annotate-getters-and-setters-for-serialization", "use-default-http-status-code-to-exception-type-mapping",
+        "partial-update", "generic-response-type", "stream-style-serialization", "enable-sync-stack",
+        "output-model-immutable", "use-input-stream-for-binary", "no-custom-headers",
+        "include-read-only-in-constructor-args", "url-as-string", "pass-code-model-as-json", "verify-formatting",
+        "in-process-customization", "reuse-customization-language-server",
+        "stream-style-defer-polymorphic-fields", "generate-rest-proxy-implementation");
+
+    /**
+     * Requests all the settings read by {@link #getInstance()}, and the logging options read by {@link PluginLogger},
+     * from the host in one pipelined batch.
+     * <p>
+     * This must stay in sync with the keys and types used in {@link #getInstance()}, which JavaSettingsTests checks.
+     * A key missing here is still read, only with its own round-trip to the host.
+     *
+     * @param host the plugin to fetch the settings from
+     */
+    static void prefetchSettings(NewPlugin host) {
+        Map<String, Type> settings = new HashMap<>();
+        STRING_SETTINGS.forEach(key -> settings.put(key, String.class));
+        BOOLEAN_SETTINGS.forEach(key -> settings.put(key, Boolean.class));
+        settings.put("security", Object.class);
+        settings.put("security-scopes", Object.class);
+        settings.put("input-file", List.class);
+        settings.put("require", List.class);
+        settings.put("service-versions", List.class);
+        settings.put("modelerfour", MODELERFOUR_TYPE);
+        settings.put("polling", POLLING_TYPE);
+        settings.put("http-status-code-to-exception-type-mapping", HTTP_STATUS_CODE_MAPPING_TYPE);
+        settings.put("mapping-parallelism", Integer.class);
+        settings.put("rendering-parallelism", Integer.class);
+        settings.put("customization-startup-timeout", Integer.class);
+        settings.put("stream-style-switch-threshold", Integer.class);
+        settings.put("formatter-memory-cache-size", Integer.class);
+        host.prefetchValues(settings);
     }
 
     static void setHost(NewPlugin host) {
-        JavaSettings.host = host;
-        logger = new PluginLogger(host, JavaSettings.class);
+        State state = state();
+        state.host = host;
+        state.logger = new PluginLogger(host, JavaSettings.class);
     }
 
     public static void clear() {
-        instance = null;
+        state().instance = null;
     }
 
     public static JavaSettings getInstance() {
-        if (instance == null) {
+        State state = state();
+        if (state.instance == null) {
+            NewPlugin host = state.host;
+            Logger logger = state.logger;
             AutorestSettings autorestSettings = new AutorestSettings();
             loadStringSetting("title", autorestSettings::setTitle);
             loadStringOrArraySettingAsArray("security", autorestSettings::setSecurity);
@@ -96,15 +170,14 @@ public class JavaSettings {
             }
 
             setHeader(getStringValue(host, "license-header"));
-            instance = new JavaSettings(
+            state.instance = new JavaSettings(
                 autorestSettings,
-                host.getValue(new TypeReference<Map<String, Object>>() {
-                }.getType(), "modelerfour"),
+                host.getValue(MODELERFOUR_TYPE, "modelerfour"),
                 getBooleanValue(host, "azure-arm", false),
                 getBooleanValue(host, "sdk-integration", false),
                 getStringValue(host, "fluent"),
                 getBooleanValue(host, "regenerate-pom", false),
-                header,
+                state.header,
                 120,
                 getStringValue(host, "service-name"),
                 getStringValue(host, "namespace", "").toLowerCase(),
@@ -140,8 +213,7 @@ public class JavaSettings {
                 getStringValue(host, "key-credential-header-name", ""),
                 getBooleanValue(host, "disable-client-builder", false),
                 getBooleanValue(host, "skip-formatting", false),
-                host.getValue(new TypeReference<Map<String, PollingDetails>>() {
-                }.getType(), "polling"),
+                host.getValue(POLLING_TYPE, "polling"),
                 getBooleanValue(host, "generate-samples", false),
                 getBooleanValue(host, "generate-tests", false),
                 false, //getBooleanValue(host, "generate-send-request-method", false),
@@ -150,8 +222,7 @@ public class JavaSettings {
                 getBooleanValue(host, "annotate-getters-and-setters-for-serialization", false),
                 getStringValue(host, "default-http-exception-type"),
                 getBooleanValue(host, "use-default-http-status-code-to-exception-type-mapping", false),
-                host.getValue(new TypeReference<Map<Integer, String>>() {}.getType(),
-                    "http-status-code-to-exception-type-mapping"),
+                host.getValue(HTTP_STATUS_CODE_MAPPING_TYPE, "http-status-code-to-exception-type-mapping"),
                 getBooleanValue(host, "partial-update", false),
                 getBooleanValue(host, "generic-response-type", false),
                 getBooleanValue(host, "stream-style-serialization", false),
@@ -161,10 +232,24 @@ public class JavaSettings {
                 getBooleanValue(host, "no-custom-headers", false),
                 getBooleanValue(host, "include-read-only-in-constructor-args", false),
                 // setting the default as true as the Java design guideline recommends using String for URLs.
-                getBooleanValue(host, "url-as-string", true)
+                getBooleanValue(host, "url-as-string", true),
+                getBooleanValue(host, "pass-code-model-as-json", false),
+                getStringValue(host, "generation-cache-directory"),
+                getStringValue(host, "formatter-cache-directory"),
+                getIntegerValue(host, "mapping-parallelism", 1),
+                getIntegerValue(host, "rendering-parallelism", 1),
+                getBooleanValue(host, "verify-formatting", false),
+                getBooleanValue(host, "in-process-customization", false),
+                getIntegerValue(host, "customization-startup-timeout", 120),
+                getBooleanValue(host, "reuse-customization-language-server", false),
+                getIntegerValue(host, "stream-style-switch-threshold", 0),
+                getBooleanValue(host, "stream-style-defer-polymorphic-fields", false),
+                getStringValue(host, "stream-style-lazy-array-properties", ""),
+                getBooleanValue(host, "generate-rest-proxy-implementation", false),
+                getIntegerValue(host, "formatter-memory-cache-size", 0)
             );
         }
-        return instance;
+        return state.instance;
     }
 
     /**
@@ -250,6 +335,31 @@ public class JavaSettings {
      * previously read-only required were included in constructors.
      * @param urlAsString This generates all URLs as String type. This is enabled by default as required by the Java
      * design guidelines. For backward compatability, this can be set to false.
+     * @param passCodeModelAsJson If set to true, the preprocessor passes the code model to the generator as JSON
+     * instead of YAML, which is faster to serialize and parse.
+     * @param generationCacheDirectory The directory of the generation cache. If set, the generator reuses the output of
+     * an earlier run with the same code model and settings.
+     * @param formatterCacheDirectory The directory of the on-disk cache of formatted Java files.
+     * @param mappingParallelism The number of threads mapping the schemas of the code model to client models.
+     * @param renderingParallelism The number of threads rendering the templates of the Java files.
+     * @param verifyFormatting If set to true, the Java files as emitted by the templates are compared with the output of
+     * the formatter, and the files that differ are reported.
+     * @param inProcessCustomization If set to true, the customization looks up the classes and members of the library in
+     * process, instead of by the Eclipse JDT language server.
+     * @param customizationStartupTimeout The number of seconds to wait for the Eclipse JDT language server of the
+     * customization to be ready.
+     * @param reuseCustomizationLanguageServer If set to true, the Eclipse JDT language server of the customization is
+     * kept alive, and reused by the later customization runs in the process.
+     * @param streamStyleSwitchThreshold The number of JSON fields of a model from which its stream-style fromJson
+     * dispatches on the field name with a switch, instead of an if-else chain. 0 always uses the if-else chain.
+     * @param streamStyleDeferPolymorphicFields If set to true, the stream-style fromJson of a polymorphic super type
+     * hands the fields before the discriminator to the subtype, instead of buffering the whole JSON object.
+     * @param streamStyleLazyArrayProperties The comma separated array properties, as ModelName.propertyName, that
+     * stream-style fromJson deserializes on demand, instead of into a List of all elements.
+     * @param generateRestProxyImplementation If set to true, the REST API interface, if all its methods are supported,
+     * is implemented by generated code, instead of by RestProxy.
+     * @param formatterMemoryCacheSize The size in megabytes of the in-memory cache of formatted Java files, shared by the
+     * sessions of the plugin process. 0 disables the in-memory cache.
      */
     private JavaSettings(AutorestSettings autorestSettings,
         Map<String, Object> modelerSettings,
@@ -311,7 +421,21 @@ public class JavaSettings {
         boolean streamResponseInputStream,
         boolean noCustomHeaders,
         boolean includeReadOnlyInConstructorArgs,
-        boolean urlAsString) {
+        boolean urlAsString,
+        boolean passCodeModelAsJson,
+        String generationCacheDirectory,
+        String formatterCacheDirectory,
+        int mappingParallelism,
+        int renderingParallelism,
+        boolean verifyFormatting,
+        boolean inProcessCustomization,
+        int customizationStartupTimeout,
+        boolean reuseCustomizationLanguageServer,
+        int streamStyleSwitchThreshold,
+        boolean streamStyleDeferPolymorphicFields,
+        String streamStyleLazyArrayProperties,
+        boolean generateRestProxyImplementation,
+        int formatterMemoryCacheSize) {
 
         this.autorestSettings = autorestSettings;
         this.modelerSettings = new ModelerSettings(modelerSettings);
@@ -406,6 +530,26 @@ public class JavaSettings {
         this.noCustomHeaders = noCustomHeaders;
         this.includeReadOnlyInConstructorArgs = includeReadOnlyInConstructorArgs;
         this.urlAsString = urlAsString;
+        this.passCodeModelAsJson = passCodeModelAsJson;
+        this.generationCacheDirectory = generationCacheDirectory;
+        this.formatterCacheDirectory = formatterCacheDirectory;
+        this.mappingParallelism = mappingParallelism <= 0
+            ? Runtime.getRuntime().availableProcessors()
+            : mappingParallelism;
+        this.renderingParallelism = renderingParallelism <= 0
+            ? Runtime.getRuntime().availableProcessors()
+            : renderingParallelism;
+        this.verifyFormatting = verifyFormatting;
+        this.inProcessCustomization = inProcessCustomization;
+        this.customizationStartupTimeout = customizationStartupTimeout;
+        this.reuseCustomizationLanguageServer = reuseCustomizationLanguageServer;
+        this.streamStyleSwitchThreshold = streamStyleSwitchThreshold;
+        this.streamStyleDeferPolymorphicFields = streamStyleDeferPolymorphicFields;
+        this.streamStyleLazyArrayProperties = (streamStyleLazyArrayProperties == null || streamStyleLazyArrayProperties.isEmpty())
+            ? Collections.emptySet()
+            : Arrays.stream(streamStyleLazyArrayProperties.split(",")).map(String::trim).collect(Collectors.toSet());
+        this.generateRestProxyImplementation = generateRestProxyImplementation;
+        this.formatterMemoryCacheSize = Math.max(formatterMemoryCacheSize, 0);
     }
 
     private String keyCredentialHeaderName;
@@ -525,7 +669,7 @@ public class JavaSettings {
     }
 
     public Map<String, Object> getSimpleJavaSettings() {
-        return SIMPLE_JAVA_SETTINGS;
+        return state().simpleJavaSettings;
     }
 
     private final boolean sdkIntegration;
@@ -1045,6 +1189,203 @@ public class JavaSettings {
         return includeReadOnlyInConstructorArgs;
     }
 
+    private final boolean passCodeModelAsJson;
+
+    /**
+     * Whether the preprocessor passes the code model to the generator as JSON instead of YAML.
+     * <p>
+     * The generator detects the format from the content, so this only affects the preprocessor.
+     *
+     * @return Whether the code model is passed as JSON.
+     */
+    public boolean isPassCodeModelAsJson() {
+        return passCodeModelAsJson;
+    }
+
+    private final String generationCacheDirectory;
+
+    /**
+     * Gets the directory of the generation cache.
+     * <p>
+     * The Java files rendered from a model, a client or a method group are stored in the cache, keyed by the template
+     * input, the client models it refers to, the settings and the generator build. A later run loads the files with
+     * the same key from the cache, without templating and formatting them.
+     *
+     * @return The directory of the generation cache, or null if the cache is disabled.
+     */
+    public String getGenerationCacheDirectory() {
+        return generationCacheDirectory;
+    }
+
+    private final String formatterCacheDirectory;
+
+    /**
+     * Gets the directory of the on-disk cache of formatted Java files.
+     * <p>
+     * If set, formatted files are cached in this directory, so that a later run skips the formatting of the files
+     * unchanged.
+     *
+     * @return The directory of the formatter cache, or null if formatted files are not cached on disk.
+     */
+    public String getFormatterCacheDirectory() {
+        return formatterCacheDirectory;
+    }
+
+    private final int mappingParallelism;
+
+    /**
+     * Gets the number of threads mapping the schemas of the code model to client models.
+     * <p>
+     * The mapped models are the same, and in the same order, for any parallelism.
+     *
+     * @return The number of threads mapping the schemas, 1 if the schemas are mapped on the calling thread.
+     */
+    public int getMappingParallelism() {
+        return mappingParallelism;
+    }
+
+    private final int renderingParallelism;
+
+    /**
+     * Gets the number of threads rendering the templates of the Java files.
+     * <p>
+     * The rendered files are the same, and in the same order, for any parallelism.
+     *
+     * @return The number of threads rendering the templates, 1 if each template is rendered when its file is added.
+     */
+    public int getRenderingParallelism() {
+        return renderingParallelism;
+    }
+
+    private final boolean verifyFormatting;
+
+    /**
+     * Whether to compare the Java files as emitted by the templates with the output of the formatter.
+     * <p>
+     * The files that the formatter changes are reported, so that it can be checked whether {@link #isSkipFormatting()}
+     * is safe for a code model. It has no effect if formatting is skipped.
+     *
+     * @return Whether to verify the emitted Java files against the output of the formatter.
+     */
+    public boolean isVerifyFormatting() {
+        return verifyFormatting;
+    }
+
+    private final boolean inProcessCustomization;
+
+    /**
+     * Whether the customization looks up the classes and members of the library in process, from JavaParser syntax
+     * trees, instead of by the Eclipse JDT language server.
+     * <p>
+     * The language server is then only started if the customization renames a symbol or organizes the imports.
+     *
+     * @return Whether the customization looks up the classes and members in process.
+     */
+    public boolean isInProcessCustomization() {
+        return inProcessCustomization;
+    }
+
+    private final int customizationStartupTimeout;
+
+    /**
+     * The number of seconds to wait for the Eclipse JDT language server of the customization to connect and to report
+     * that it is ready.
+     *
+     * @return The number of seconds to wait for the language server of the customization.
+     */
+    public int getCustomizationStartupTimeout() {
+        return customizationStartupTimeout;
+    }
+
+    private final boolean reuseCustomizationLanguageServer;
+
+    /**
+     * Whether the Eclipse JDT language server of the customization is kept alive, and reused by the later
+     * customization runs in the process, instead of being started for each run.
+     *
+     * @return Whether the language server of the customization is reused.
+     */
+    public boolean isReuseCustomizationLanguageServer() {
+        return reuseCustomizationLanguageServer;
+    }
+
+    private final int streamStyleSwitchThreshold;
+
+    /**
+     * The number of JSON fields of a model from which its stream-style {@code fromJson} dispatches on the field name
+     * with a {@code switch}, instead of an if-else chain of string comparisons.
+     * <p>
+     * The if-else chain compares the field name with every field before the matching one, which is cheap for small
+     * models only.
+     *
+     * @return The number of JSON fields from which {@code fromJson} uses a switch, or 0 if it always uses the if-else
+     * chain.
+     */
+    public int getStreamStyleSwitchThreshold() {
+        return streamStyleSwitchThreshold;
+    }
+
+    private final boolean streamStyleDeferPolymorphicFields;
+
+    /**
+     * Whether the stream-style {@code fromJson} of a polymorphic super type hands the JSON fields before the
+     * discriminator to the deserializer of the subtype.
+     * <p>
+     * Otherwise, if the discriminator isn't the first field, the whole JSON object is buffered to find the
+     * discriminator, and then read again by the subtype.
+     *
+     * @return Whether the fields before the discriminator are handed to the subtype.
+     */
+    public boolean isStreamStyleDeferPolymorphicFields() {
+        return streamStyleDeferPolymorphicFields;
+    }
+
+    private final Set<String> streamStyleLazyArrayProperties;
+
+    /**
+     * Whether the stream-style {@code fromJson} of the model deserializes the array property on demand.
+     * <p>
+     * Such a property keeps the JSON array, and iterating the property deserializes one element at a time. Any other
+     * access deserializes all elements once. So the elements of a large page can be processed without all of them
+     * being deserialized at the same time.
+     *
+     * @param modelName The name of the model.
+     * @param propertyName The name of the array property.
+     * @return Whether the array property is deserialized on demand.
+     */
+    public boolean isStreamStyleLazyArrayProperty(String modelName, String propertyName) {
+        return streamStyleLazyArrayProperties.contains(modelName + "." + propertyName);
+    }
+
+    private final boolean generateRestProxyImplementation;
+
+    /**
+     * Whether the REST API interface is implemented by generated code, instead of by RestProxy.
+     * <p>
+     * RestProxy parses the annotations of the interface by reflection, and creates a dynamic proxy of it. The
+     * generated implementation sends the requests to the HTTP pipeline directly. It is only generated if all methods
+     * of the interface are supported, otherwise RestProxy is used.
+     *
+     * @return Whether the REST API interface is implemented by generated code.
+     */
+    public boolean isGenerateRestProxyImplementation() {
+        return generateRestProxyImplementation;
+    }
+
+    private final int formatterMemoryCacheSize;
+
+    /**
+     * Gets the size in megabytes of the in-memory cache of formatted Java files.
+     * <p>
+     * The in-memory cache is shared by the sessions of the plugin process, e.g. by the generator and the postprocessor,
+     * and its least recently used files are evicted when it is full.
+     *
+     * @return The size of the in-memory cache of formatted Java files, or 0 if it is disabled.
+     */
+    public int getFormatterMemoryCacheSize() {
+        return formatterMemoryCacheSize;
+    }
+
     private static final String DEFAULT_CODE_GENERATION_HEADER = String.join("\r\n",
         "Code generated by Microsoft (R) AutoRest Code Generator %s",
         "Changes may cause incorrect behavior and will be lost if the code is regenerated.");
@@ -1077,54 +1418,71 @@ public class JavaSettings {
         "");
 
     private static void loadStringSetting(String settingName, Consumer<String> action) {
-        String settingValue = host.getStringValue(settingName);
+        State state = state();
+        String settingValue = state.host.getStringValue(settingName);
         if (settingValue != null) {
-            logger.debug("Option, string, {} : {}", settingName, settingValue);
+            state.logger.debug("Option, string, {} : {}", settingName, settingValue);
             action.accept(settingValue);
         }
     }
 
     private static String getStringValue(NewPlugin host, String settingName) {
+        State state = state();
         String value = host.getStringValue(settingName);
         if (value != null) {
-            logger.debug("Option, string, {} : {}", settingName, value);
-            SIMPLE_JAVA_SETTINGS.put(settingName, value);
+            state.logger.debug("Option, string, {} : {}", settingName, value);
+            state.simpleJavaSettings.put(settingName, value);
         }
         return value;
     }
 
     private static String getStringValue(NewPlugin host, String settingName, String defaultValue) {
+        State state = state();
         String ret = host.getStringValue(settingName);
         if (ret == null) {
             return defaultValue;
         } else {
-            logger.debug("Option, string, {} : {}", settingName, ret);
-            SIMPLE_JAVA_SETTINGS.put(settingName, ret);
+            state.logger.debug("Option, string, {} : {}", settingName, ret);
+            state.simpleJavaSettings.put(settingName, ret);
             return ret;
         }
     }
 
     private static boolean getBooleanValue(NewPlugin host, String settingName, boolean defaultValue) {
+        State state = state();
         Boolean ret = host.getBooleanValue(settingName);
         if (ret == null) {
             return defaultValue;
         } else {
-            logger.debug("Option, boolean, {} : {}", settingName, ret);
-            SIMPLE_JAVA_SETTINGS.put(settingName, ret);
+            state.logger.debug("Option, boolean, {} : {}", settingName, ret);
+            state.simpleJavaSettings.put(settingName, ret);
+            return ret;
+        }
+    }
+
+    private static int getIntegerValue(NewPlugin host, String settingName, int defaultValue) {
+        State state = state();
+        Integer ret = host.getValue(Integer.class, settingName);
+        if (ret == null) {
+            return defaultValue;
+        } else {
+            state.logger.debug("Option, integer, {} : {}", settingName, ret);
+            state.simpleJavaSettings.put(settingName, ret);
             return ret;
         }
     }
 
     @SuppressWarnings("unchecked")
     private static void loadStringOrArraySettingAsArray(String settingName, Consumer<List<String>> action) {
+        State state = state();
         List<String> settingValues = new ArrayList<>();
-        Object settingValue = host.getValue(Object.class, settingName);
+        Object settingValue = state.host.getValue(Object.class, settingName);
         if (settingValue instanceof String) {
-            logger.debug("Option, string, {} : {}", settingName, settingValue);
+            state.logger.debug("Option, string, {} : {}", settingName, settingValue);
             settingValues.add(settingValue.toString());
         } else if (settingValue instanceof List) {
             List<String> settingValueList = (List<String>) settingValue;
-            logger.debug("Option, array, {} : {}", settingName, settingValueList);
+            state.logger.debug("Option, array, {} : {}", settingName, settingValueList);
             settingValues.addAll(settingValueList);
         }
         if (!settingValues.isEmpty()) {
@@ -10,6 +10,7 @@ import com.azure.autorest.extension.base.model.codemodel.AnnotatedPropertyUtils;
 import com.azure.autorest.extension.base.model.codemodel.CodeModelCustomConstructor;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.yaml.snakeyaml.DumperOptions;
@@ -19,6 +20,7 @@ import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -28,6 +30,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 public abstract class NewPlugin {
     protected final ObjectMapper jsonMapper;
@@ -36,13 +41,52 @@ public abstract class NewPlugin {
     protected Connection connection;
     private String plugin;
     private String sessionId;
+    private final Map<String, Map<JavaType, CompletableFuture<?>>> prefetchedValues = new ConcurrentHashMap<>();
 
     public String readFile(String fileName) {
         return connection.request(jsonMapper.constructType(String.class), "ReadFile", sessionId, fileName);
     }
 
+    /**
+     * Reads a file from the AutoRest host as a stream of characters.
+     * <p>
+     * Unlike {@link #readFile(String)}, the content is not materialized as a String, it is decoded from the response
+     * as the reader is read. The reader supports {@link Reader#mark(int)} with any read-ahead limit, so the content
+     * can be read more than once.
+     *
+     * @param fileName the name of the file
+     * @return the reader of the content of the file
+     */
+    public Reader readFileAsReader(String fileName) {
+        return connection.requestReader("ReadFile", sessionId, fileName);
+    }
+
+    @SuppressWarnings("unchecked")
     public <T> T getValue(Type type, String key) {
-        return connection.request(jsonMapper.constructType(type), "GetValue", sessionId, key);
+        JavaType javaType = jsonMapper.constructType(type);
+        CompletableFuture<?> prefetchedValue = prefetchedValues.getOrDefault(key, Collections.emptyMap()).get(javaType);
+        if (prefetchedValue != null) {
+            try {
+                return (T) prefetchedValue.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return connection.request(javaType, "GetValue", sessionId, key);
+    }
+
+    /**
+     * Sends the GetValue requests for all the given keys at once, without waiting for the responses.
+     * <p>
+     * Later calls to {@link #getValue(Type, String)} with the same key and type are served from these responses, so
+     * loading a group of settings costs about one round-trip to the AutoRest host instead of one per key.
+     *
+     * @param keys the keys of the values, mapped to the type each value is read as
+     */
+    public void prefetchValues(Map<String, Type> keys) {
+        keys.forEach((key, type) -> prefetchedValues.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(jsonMapper.constructType(type),
+                javaType -> connection.requestAsync(javaType, "GetValue", sessionId, key)));
     }
 
     public String getStringValue(String key) {
@@ -207,14 +251,19 @@ public abstract class NewPlugin {
     }
 
     public boolean process() {
-        try {
-            JavaSettings.setHost(this);
-            return processInternal();
-        } catch (Throwable t) {
-            message(MessageChannel.FATAL,
-                "Unhandled error: " + t.getMessage(), t, Arrays.asList(getClass().getSimpleName()));
-            return false;
-        }
+        // the state of the session, e.g. the settings and the mapped code model, is scoped to its own context, so that
+        // the sessions served by the process can be processed concurrently
+        return new SessionContext(this).call(() -> {
+            try {
+                JavaSettings.prefetchSettings(this);
+                JavaSettings.setHost(this);
+                return processInternal();
+            } catch (Throwable t) {
+                message(MessageChannel.FATAL,
+                    "Unhandled error: " + t.getMessage(), t, Arrays.asList(getClass().getSimpleName()));
+                return false;
+            }
+        });
     }
 
     public abstract boolean processInternal();
@@ -43,9 +43,10 @@ public final class PluginLogger extends MarkerIgnoringBase {
         } else {
             keys = Arrays.asList(labels);
         }
-        this.isTracingEnabled = plugin.getBooleanValue("verbose", false);
-        this.isDebugEnabled = plugin.getBooleanValue("debug", false)
-                || plugin.getBooleanValue("debugger", false);
+        // the plugin is null for a static logger initialized outside a session
+        this.isTracingEnabled = plugin != null && plugin.getBooleanValue("verbose", false);
+        this.isDebugEnabled = plugin != null && (plugin.getBooleanValue("debug", false)
+                || plugin.getBooleanValue("debugger", false));
     }
 
     /**
@@ -314,6 +315,14 @@ public final class PluginLogger extends MarkerIgnoringBase {
      * @param t The exception whose stack trace should be logged
      */
     private void log(MessageChannel messageChannel, String message, Throwable t) {
-        plugin.message(messageChannel, message, t, keys);
+        // static loggers are created with the plugin of the first session, report to the session being processed
+        NewPlugin target = SessionContext.current().getPlugin();
+        if (target == null) {
+            target = plugin;
+        }
+        if (target == null) {
+            return;
+        }
+        target.message(messageChannel, message, t, keys);
     }
 }
@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Factory of the caches which hold the state of one generation session.
+ * <p>
+ * Singletons, like the mappers, cache the objects mapped from the code model. A plugin process can serve many
+ * sessions, one after another or concurrently, so these caches are scoped to the {@link SessionContext}: a session
+ * does not see the code model, or the settings, of another one, and the state of a session is released with it.
+ */
+public final class SessionCaches {
+    private SessionCaches() {
+    }
+
+    /**
+     * Creates a cache scoped to the current session.
+     *
+     * @param factory the factory of the map backing the cache in each session
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return the cache
+     */
+    public static <K, V> Map<K, V> create(Supplier<? extends Map<K, V>> factory) {
+        return new SessionMap<>(factory);
+    }
+
+    private static final class SessionMap<K, V> extends AbstractMap<K, V> {
+        // the key of the cache in the session, the map itself cannot be a key, as its hashCode is of its entries
+        private final Object key = new Object();
+        private final Supplier<? extends Map<K, V>> factory;
+
+        private SessionMap(Supplier<? extends Map<K, V>> factory) {
+            this.factory = factory;
+        }
+
+        private Map<K, V> map() {
+            // the caches of a session are held by a single value, so that clear() releases all of them at once
+            Map<Object, Map<?, ?>> caches = SessionContext.current()
+                .get(SessionCaches.class, ConcurrentHashMap::new);
+            @SuppressWarnings("unchecked")
+            Map<K, V> map = (Map<K, V>) caches.get(key);
+            if (map == null) {
+                map = factory.get();
+                @SuppressWarnings("unchecked")
+                Map<K, V> previous = (Map<K, V>) caches.putIfAbsent(key, map);
+                if (previous != null) {
+                    map = previous;
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public V get(Object key) {
+            return map().get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return map().put(key, value);
+        }
+
+        @Override
+        public V putIfAbsent(K key, V value) {
+            return map().putIfAbsent(key, value);
+        }
+
+        @Override
+        public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+            return map().computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+            return map().compute(key, remappingFunction);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map().containsKey(key);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return map().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            map().clear();
+        }
+
+        @Override
+        public int size() {
+            return map().size();
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return map().keySet();
+        }
+
+        @Override
+        public Collection<V> values() {
+            return map().values();
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return map().entrySet();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+/**
+ * The state of one generation session.
+ * <p>
+ * The generator looks up its state through static accessors, e.g. {@link JavaSettings#getInstance()}. These resolve
+ * through the context of the session being processed, so that one process can run several sessions concurrently, each
+ * with its own settings, code model and caches.
+ * <p>
+ * {@link NewPlugin#process()} binds a new context to the thread that processes the session. Code that runs the work of
+ * a session on other threads, e.g. on a parallel stream, binds the context on these threads with
+ * {@link #run(Runnable)} or {@link #call(Supplier)}. When no context is bound, e.g. in unit tests, a default context
+ * shared by the process is used, and the plugins used by the code under test are set on it with
+ * {@link #setPlugin(Class, NewPlugin)}.
+ */
+public final class SessionContext {
+    private static final SessionContext DEFAULT = new SessionContext(null);
+
+    // not inheritable, as threads of a shared pool can be created by one session and then used by another
+    private static final ThreadLocal<SessionContext> CURRENT = new ThreadLocal<>();
+
+    private final NewPlugin plugin;
+    private final Map<Class<?>, NewPlugin> plugins = new ConcurrentHashMap<>();
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    SessionContext(NewPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the context of the session processed on the current thread.
+     *
+     * @return the context of the current session, or the default context if no session is bound to the thread
+     */
+    public static SessionContext current() {
+        SessionContext context = CURRENT.get();
+        return context == null ? DEFAULT : context;
+    }
+
+    /**
+     * Gets the plugin processing the session.
+     *
+     * @return the plugin processing the session, or null for the default context
+     */
+    public NewPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Gets the plugin of the given type processing the session, e.g. {@code Javagen} for a session processed by
+     * {@code FluentGen}.
+     *
+     * @param type the type of the plugin
+     * @param <T> the type of the plugin
+     * @return the plugin processing the session if it is of the type, else the plugin set for the type, or null
+     */
+    public <T extends NewPlugin> T getPlugin(Class<T> type) {
+        return type.isInstance(plugin) ? type.cast(plugin) : type.cast(plugins.get(type));
+    }
+
+    /**
+     * Sets the plugin of the given type, for code that runs outside {@link NewPlugin#process()}, e.g. unit tests on
+     * the default context.
+     *
+     * @param type the type of the plugin
+     * @param plugin the plugin, or null to remove the plugin
+     * @param <T> the type of the plugin
+     */
+    public <T extends NewPlugin> void setPlugin(Class<T> type, T plugin) {
+        if (plugin == null) {
+            plugins.remove(type);
+        } else {
+            plugins.put(type, plugin);
+        }
+    }
+
+    /**
+     * Gets a value of the session, creating it if absent.
+     *
+     * @param key the key of the value, usually the class or the object owning it
+     * @param factory the factory of the value, called at most once per session unless two threads race to create it
+     * @param <T> the type of the value
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<? extends T> factory) {
+        // not computeIfAbsent, as the factory may itself get other values of the session
+        Object value = values.get(key);
+        if (value == null) {
+            value = factory.get();
+            Object previous = values.putIfAbsent(key, value);
+            if (previous != null) {
+                value = previous;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Sets a value of the session.
+     *
+     * @param key the key of the value
+     * @param value the value, or null to remove the value
+     */
+    public void set(Object key, Object value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Creates a ForkJoinPool whose threads have this context bound.
+     * <p>
+     * A parallel stream runs on the pool of the task that executes it, so a parallel stream executed by a task
+     * submitted to this pool runs in this session. The pool should be shut down once the work is done.
+     *
+     * @param parallelism the parallelism of the pool
+     * @return the pool
+     */
+    public ForkJoinPool newForkJoinPool(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> new ForkJoinWorkerThread(pool) {
+            @Override
+            public void run() {
+                SessionContext.this.run(super::run);
+            }
+        }, null, false);
+    }
+
+    /**
+     * Runs a task with this context bound to the current thread.
+     *
+     * @param task the task
+     */
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls a task with this context bound to the current thread.
+     *
+     * @param task the task
+     * @param <T> the type of the result
+     * @return the result of the task
+     */
+    public <T> T call(Supplier<T> task) {
+        SessionContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
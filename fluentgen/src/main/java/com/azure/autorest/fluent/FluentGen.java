@@ -6,8 +6,13 @@ package com.azure.autorest.fluent;
 import com.azure.autorest.Javagen;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
+import com.azure.autorest.extension.base.plugin.FileEmitter;
+import com.azure.autorest.extension.base.plugin.FormatterCache;
+import com.azure.autorest.extension.base.plugin.FormattingVerifier;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.checker.JavaFormatter;
 import com.azure.autorest.fluent.mapper.ExampleParser;
 import com.azure.autorest.fluent.mapper.FluentMapper;
@@ -59,6 +64,11 @@ import org.yaml.snakeyaml.representer.Representer;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -67,11 +77,6 @@ import java.util.stream.Collectors;
 public class FluentGen extends Javagen {
 
     private final Logger logger = new PluginLogger(this, FluentGen.class);
-    static FluentGen instance;
-
-    static {
-        ClientModelUtil.setGetClientModelFunction(FluentUtils::getClientModel);
-    }
 
     private FluentJavaSettings fluentJavaSettings;
     private FluentMapper fluentMapper;
@@ -80,20 +85,25 @@ public class FluentGen extends Javagen {
 
     public FluentGen(Connection connection, String plugin, String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
-        Javagen.instance = this;
     }
 
     public static FluentGen getPluginInstance() {
-        return instance;
+        // the plugin of the session processed on this thread, as the process may serve several sessions concurrently
+        return SessionContext.current().getPlugin(FluentGen.class);
     }
 
     @Override
     public boolean processInternal() {
         this.clear();
 
+        ClientModelUtil.setGetClientModelFunction(FluentUtils::getClientModel);
+
         try {
             JavaSettings settings = JavaSettings.getInstance();
+            if (settings.isGenerateRestProxyImplementation()) {
+                logger.warn("Option 'generate-rest-proxy-implementation' is not supported by Fluent, "
+                    + "the REST API interfaces are implemented by RestProxy.");
+            }
 
             List<String> files = listInputs().stream().filter(s -> s.contains("no-tags")).collect(Collectors.toList());
             if (files.size() != 1) {
@@ -118,25 +128,47 @@ public class FluentGen extends Javagen {
 
             // Print to files
             logger.info("Write Java");
-            for (JavaFile javaFile : javaPackage.getJavaFiles()) {
-                String content = javaFile.getContents().toString();
-                String path = javaFile.getFilePath();
-
+            // Same as Javagen, format the Java files in parallel on the common ForkJoinPool, and write them from a
+            // single thread as they are formatted.
+            FormatterCache formatterCache = JavaFormatter.createFormatterCache(settings.getFormatterCacheDirectory(),
+                settings.getFormatterMemoryCacheSize());
+            FormattingVerifier formattingVerifier = settings.isVerifyFormatting()
+                ? new FormattingVerifier(logger)
+                : null;
+            // bound on the worker threads, so that the warnings of the formatter are reported to this session
+            SessionContext sessionContext = SessionContext.current();
+            try (FileEmitter fileEmitter = new FileEmitter(this)) {
+                javaPackage.getJavaFiles().parallelStream().forEach(javaFile -> sessionContext.run(() -> {
+                    String content = javaFile.getContents().toString();
+                    String path = javaFile.getFilePath();
+
+                    if (!settings.isSkipFormatting()) {
+                        // formatter
+                        boolean isSampleOrTestJavaFile = path.contains("src/samples/java/") || path.contains("src/test/java/");
+                        String emittedContent = content;
+                        content = new JavaFormatter(content, path).format(!isSampleOrTestJavaFile, formatterCache);
+                        if (formattingVerifier != null) {
+                            formattingVerifier.verify(path, emittedContent, content);
+                        }
+                    }
+
+                    fileEmitter.submit(path, content);
+                }));
                 if (!settings.isSkipFormatting()) {
-                    // formatter
-                    boolean isSampleOrTestJavaFile = path.contains("src/samples/java/") || path.contains("src/test/java/");
-                    content = new JavaFormatter(content, path).format(!isSampleOrTestJavaFile);
+                    logger.info("Formatter cache: {} hits, {} misses", formatterCache.getHits(),
+                        formatterCache.getMisses());
+                    if (formattingVerifier != null) {
+                        formattingVerifier.logSummary();
+                    }
+                }
+                logger.info("Write Xml");
+                for (XmlFile xmlFile : javaPackage.getXmlFiles()) {
+                    fileEmitter.submit(xmlFile.getFilePath(), xmlFile.getContents().toString());
+                }
+                logger.info("Write Text");
+                for (TextFile textFile : javaPackage.getTextFiles()) {
+                    fileEmitter.submit(textFile.getFilePath(), textFile.getContents());
                 }
-
-                writeFile(path, content, null);
-            }
-            logger.info("Write Xml");
-            for (XmlFile xmlFile : javaPackage.getXmlFiles()) {
-                writeFile(xmlFile.getFilePath(), xmlFile.getContents().toString(), null);
-            }
-            logger.info("Write Text");
-            for (TextFile textFile : javaPackage.getTextFiles()) {
-                writeFile(textFile.getFilePath(), textFile.getContents(), null);
             }
             return true;
         } catch (Exception e) {
@@ -151,10 +183,24 @@ public class FluentGen extends Javagen {
         if (!tempFile.exists()) {
             tempFile.createNewFile();
         }
-        new FileOutputStream(tempFile).write(file.getBytes(StandardCharsets.UTF_8));
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            writer.write(file);
+        }
     }
 
     CodeModel handleYaml(String yamlContent) {
+        if (CodeModelJsonMapper.isJson(yamlContent)) {
+            // the fluentnamer passed the code model as JSON
+            try {
+                return CodeModelJsonMapper.read(new StringReader(yamlContent));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return handleYaml(new StringReader(yamlContent));
+    }
+
+    CodeModel handleYaml(Reader yamlReader) {
         Representer representer = new Representer() {
             @Override
             protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
@@ -172,7 +218,7 @@ public class FluentGen extends Javagen {
         loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
         loaderOptions.setNestingDepthLimit(Integer.MAX_VALUE);
         Yaml newYaml = new Yaml(new Constructor(loaderOptions), representer, new DumperOptions(), loaderOptions);
-        CodeModel codeModel = newYaml.loadAs(yamlContent, CodeModel.class);
+        CodeModel codeModel = newYaml.loadAs(yamlReader, CodeModel.class);
         return codeModel;
     }
 
@@ -3,6 +3,7 @@
 
 package com.azure.autorest.fluent.checker;
 
+import com.azure.autorest.extension.base.plugin.FormatterCache;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
 import com.azure.autorest.fluent.FluentGen;
 import com.azure.core.util.CoreUtils;
@@ -41,6 +42,29 @@ public class JavaFormatter {
         LOGGER.info("Java formatter {}", enabled ? "enabled" : "disabled");
     }
 
+    // the Formatter is loaded once and shared, it is safe to use from multiple threads
+    private static final class FormatterHolder {
+        private static final Object FORMATTER;
+        private static final Method FORMAT_SOURCE_METHOD;
+        private static final Exception LOAD_EXCEPTION;
+        static {
+            Object formatter = null;
+            Method formatSourceMethod = null;
+            Exception loadException = null;
+            try {
+                // fork https://github.com/weidongxu-microsoft/google-java-format/tree/tweak_format
+                Class<?> formatterClass = JavaFormatter.class.getClassLoader().loadClass("com.google.googlejavaformat.java.Formatter");
+                formatter = formatterClass.getConstructor().newInstance();
+                formatSourceMethod = formatterClass.getMethod("formatSourceAndFixImports", String.class);
+            } catch (Exception e) {
+                loadException = e;
+            }
+            FORMATTER = formatter;
+            FORMAT_SOURCE_METHOD = formatSourceMethod;
+            LOAD_EXCEPTION = loadException;
+        }
+    }
+
     private final String content;
     private final String path;
 
@@ -49,26 +73,43 @@ public class JavaFormatter {
         this.path = path;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    /**
+     * Creates the cache for the output of this formatter.
+     *
+     * @param directory the directory of the on-disk cache, or null to only cache in memory
+     * @return the formatter cache
+     */
+    public static FormatterCache createFormatterCache(String directory, int memoryCacheSize) {
+        // the formatter is not loaded if it is disabled
+        Class<?> formatterClass = !ENABLED || FormatterHolder.FORMATTER == null
+            ? JavaFormatter.class
+            : FormatterHolder.FORMATTER.getClass();
+        return new FormatterCache("fluent-google-java-format", formatterClass, directory, memoryCacheSize);
+    }
+
     public String format(boolean breakOverlongStringLiteral) {
+        return format(breakOverlongStringLiteral, null);
+    }
+
+    /**
+     * Formats the Java file.
+     *
+     * @param breakOverlongStringLiteral whether to break string literals longer than the line length limit
+     * @param formatterCache the formatter cache, or null to format without cache
+     * @return the formatted content, or the original content if it cannot be formatted
+     */
+    public String format(boolean breakOverlongStringLiteral, FormatterCache formatterCache) {
         if (!ENABLED) {
             return content;
         }
 
-        // fork https://github.com/weidongxu-microsoft/google-java-format/tree/tweak_format
-
         try {
-            //return new Formatter().formatSourceAndFixImports(content);
-
-            Class formatterClass = this.getClass().getClassLoader().loadClass("com.google.googlejavaformat.java.Formatter");
-            Object formatterInstance = formatterClass.getConstructor().newInstance();
-            Method formatSourceMethod = formatterClass.getMethod("formatSourceAndFixImports", String.class);
-            String formattedCode = (String) formatSourceMethod.invoke(formatterInstance, content);
-            if (breakOverlongStringLiteral) {
-                final int lengthLimit = 120;
-                formattedCode = fixOverlongStringLiteral(formattedCode, lengthLimit);
+            if (formatterCache == null) {
+                return format(content, breakOverlongStringLiteral);
+            } else {
+                return formatterCache.format(content, "break-overlong-string-literal=" + breakOverlongStringLiteral,
+                    source -> format(source, breakOverlongStringLiteral));
             }
-            return formattedCode;
         } catch (Exception e) {
             LOGGER.warn("Failed to parse Java file '{}', message: '{}'",
                     path,
@@ -77,6 +118,20 @@ public class JavaFormatter {
         }
     }
 
+    private static String format(String content, boolean breakOverlongStringLiteral) throws Exception {
+        //return new Formatter().formatSourceAndFixImports(content);
+
+        if (FormatterHolder.LOAD_EXCEPTION != null) {
+            throw FormatterHolder.LOAD_EXCEPTION;
+        }
+        String formattedCode = (String) FormatterHolder.FORMAT_SOURCE_METHOD.invoke(FormatterHolder.FORMATTER, content);
+        if (breakOverlongStringLiteral) {
+            final int lengthLimit = 120;
+            formattedCode = fixOverlongStringLiteral(formattedCode, lengthLimit);
+        }
+        return formattedCode;
+    }
+
     static String fixOverlongStringLiteral(String content, int lengthLimit) {
         final String quote = "\"";
 
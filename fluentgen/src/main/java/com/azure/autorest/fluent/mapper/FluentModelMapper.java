@@ -3,18 +3,20 @@
 
 package com.azure.autorest.fluent.mapper;
 
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.fluent.model.FluentType;
 import com.azure.autorest.mapper.ModelMapper;
 import com.azure.autorest.model.clientmodel.ClassType;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FluentModelMapper extends ModelMapper {
 
     private static final FluentModelMapper INSTANCE = new FluentModelMapper();
 
-    private final Set<String> removedModels = new HashSet<>();
+    private final Set<String> removedModels = Collections.newSetFromMap(SessionCaches.create(ConcurrentHashMap::new));
 
     public static FluentModelMapper getInstance() {
         return INSTANCE;
@@ -4,12 +4,14 @@
 package com.azure.autorest.fluent.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.fluent.model.FluentType;
 import com.azure.autorest.fluent.util.Utils;
 import com.azure.autorest.mapper.ObjectMapper;
 import com.azure.autorest.model.clientmodel.ClassType;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,7 +25,8 @@ public class FluentObjectMapper extends ObjectMapper {
         return INSTANCE;
     }
 
-    private final Set<ObjectSchema> innerModels = ConcurrentHashMap.newKeySet();
+    private final Set<ObjectSchema> innerModels =
+        Collections.newSetFromMap(SessionCaches.create(ConcurrentHashMap::new));
 
     @Override
     protected boolean isInnerModel(ObjectSchema compositeType) {
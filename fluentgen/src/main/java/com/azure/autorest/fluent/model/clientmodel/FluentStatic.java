@@ -3,8 +3,10 @@
 
 package com.azure.autorest.fluent.model.clientmodel;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
 import com.azure.autorest.model.clientmodel.Client;
+import com.azure.autorest.util.ClientModelHierarchy;
 
 /**
  * Convenient class for global variables.
@@ -13,45 +15,54 @@ import com.azure.autorest.model.clientmodel.Client;
  */
 public class FluentStatic {
 
-    private static Client client;
+    // the variables are global to the session being processed
+    private static final class State {
+        private Client client;
 
-    private static FluentClient fluentClient;
+        private FluentClient fluentClient;
 
-    private static FluentJavaSettings fluentJavaSettings;
+        private FluentJavaSettings fluentJavaSettings;
+    }
 
     private FluentStatic() {
     }
 
+    private static State state() {
+        return SessionContext.current().get(State.class, State::new);
+    }
+
     /**
      * @return the client on service client and method groups.
      */
     public static Client getClient() {
-        return client;
+        return state().client;
     }
 
     public static void setClient(Client client) {
-        FluentStatic.client = client;
+        state().client = client;
+        // parent models are resolved from the client from now on, see FluentUtils.getClientModel
+        ClientModelHierarchy.invalidate();
     }
 
     /**
      * @return the client on Fluent manager, resource collections and instances (models)
      */
     public static FluentManager getFluentManager() {
-        return fluentClient.getManager();
+        return state().fluentClient.getManager();
     }
 
     public static void setFluentClient(FluentClient fluentClient) {
-        FluentStatic.fluentClient = fluentClient;
+        state().fluentClient = fluentClient;
     }
 
     /**
      * @return settings for Fluent.
      */
     public static FluentJavaSettings getFluentJavaSettings() {
-        return fluentJavaSettings;
+        return state().fluentJavaSettings;
     }
 
     public static void setFluentJavaSettings(FluentJavaSettings fluentJavaSettings) {
-        FluentStatic.fluentJavaSettings = fluentJavaSettings;
+        state().fluentJavaSettings = fluentJavaSettings;
     }
 }
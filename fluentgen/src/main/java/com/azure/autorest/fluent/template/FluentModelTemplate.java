@@ -5,7 +5,6 @@ package com.azure.autorest.fluent.template;
 
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.fluent.model.FluentType;
-import com.azure.autorest.fluent.model.arm.ResourceClientModel;
 import com.azure.autorest.fluent.model.clientmodel.FluentStatic;
 import com.azure.autorest.model.clientmodel.ClientModel;
 import com.azure.autorest.model.clientmodel.ClientModelProperty;
@@ -19,7 +18,6 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,7 +25,8 @@ public class FluentModelTemplate extends ModelTemplate {
 
     private static final FluentModelTemplate INSTANCE = new FluentModelTemplate();
 
-    private static ModelNamer modelNamer;
+    // the default namer, not the namer of the session, which is FluentModelNamer for track1 naming
+    private static final ModelNamer MODEL_NAMER = new ModelNamer();
 
     protected FluentModelTemplate() {
     }
@@ -75,11 +74,7 @@ public class FluentModelTemplate extends ModelTemplate {
     protected String getGetterName(ClientModel model, ClientModelProperty property) {
         if (FluentType.ManagementError.getName().equals(model.getParentModelName())) {
             // subclass of ManagementError
-
-            if (modelNamer == null) {
-                modelNamer = new ModelNamer();
-            }
-            return modelNamer.modelPropertyGetterName(property);
+            return MODEL_NAMER.modelPropertyGetterName(property);
         } else {
             return super.getGetterName(model, property);
         }
@@ -89,37 +84,23 @@ public class FluentModelTemplate extends ModelTemplate {
     protected List<ClientModelPropertyReference> getClientModelPropertyReferences(ClientModel model) {
         List<ClientModelPropertyReference> propertyReferences = new ArrayList<>();
 
-        String lastParentName = model.getName();
-        String parentModelName = model.getParentModelName();
-        while (parentModelName != null && !lastParentName.equals(parentModelName)) {
-            ClientModel parentModel = ClientModelUtil.getClientModel(parentModelName);
-            if (parentModel == null) {
-                parentModel = getPredefinedModel(parentModelName).orElse(null);
+        // the predefined models, e.g. Resource, are resolved by FluentUtils.getClientModel
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
+            if (parentModel.getProperties() != null) {
+                propertyReferences.addAll(parentModel.getProperties().stream()
+                    .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
+                    .map(ClientModelPropertyReference::ofParentProperty)
+                    .collect(Collectors.toList()));
             }
-            if (parentModel != null) {
-                if (parentModel.getProperties() != null) {
-                    propertyReferences.addAll(parentModel.getProperties().stream()
-                        .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
-                        .map(ClientModelPropertyReference::ofParentProperty)
-                        .collect(Collectors.toList()));
-                }
 
-                if (parentModel.getPropertyReferences() != null) {
-                    propertyReferences.addAll(parentModel.getPropertyReferences().stream()
-                        .filter(ClientModelPropertyReference::isFromFlattenedProperty)
-                        .map(ClientModelPropertyReference::ofParentProperty)
-                        .collect(Collectors.toList()));
-                }
+            if (parentModel.getPropertyReferences() != null) {
+                propertyReferences.addAll(parentModel.getPropertyReferences().stream()
+                    .filter(ClientModelPropertyReference::isFromFlattenedProperty)
+                    .map(ClientModelPropertyReference::ofParentProperty)
+                    .collect(Collectors.toList()));
             }
-
-            lastParentName = parentModelName;
-            parentModelName = parentModel == null ? null : parentModel.getParentModelName();
         }
 
         return propertyReferences;
     }
-
-    private Optional<ClientModel> getPredefinedModel(String modelName) {
-        return ResourceClientModel.getResourceClientModel(modelName);
-    }
 }
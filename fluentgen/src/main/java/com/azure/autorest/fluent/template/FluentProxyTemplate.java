@@ -23,6 +23,12 @@ public class FluentProxyTemplate extends ProxyTemplate {
         return INSTANCE;
     }
 
+    @Override
+    public boolean isImplementationGenerationSupported() {
+        // the static Content-Type and Accept headers of the methods are not sent by the generated implementation
+        return false;
+    }
+
     @Override
     protected void writeProxyMethodHeaders(ProxyMethod restAPIMethod, JavaInterface interfaceBlock) {
         Map<String, String> headers = new HashMap<>();
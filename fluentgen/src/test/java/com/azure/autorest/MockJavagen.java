@@ -5,6 +5,7 @@ package com.azure.autorest;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 
 import java.lang.reflect.Type;
 import java.util.HashMap;
@@ -16,7 +17,7 @@ public class MockJavagen extends Javagen {
 
     public MockJavagen(Connection connection) {
         super(connection, "dummy", "dummy");
-        instance = this;
+        SessionContext.current().setPlugin(Javagen.class, this);
     }
 
     @Override
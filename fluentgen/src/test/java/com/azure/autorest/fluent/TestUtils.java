@@ -9,6 +9,7 @@ import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.Message;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.plugin.JavaSettingsAccessor;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.mapper.FluentMapperAccessor;
 import com.azure.autorest.fluent.mapper.ResourceParserTests;
 import com.azure.autorest.fluent.model.clientmodel.FluentClient;
@@ -16,10 +17,12 @@ import com.azure.autorest.fluent.model.clientmodel.FluentResourceCollection;
 import com.azure.autorest.fluent.model.clientmodel.FluentResourceModel;
 import com.azure.autorest.fluent.model.clientmodel.FluentStatic;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
+import com.azure.autorest.fluent.util.FluentUtils;
 import com.azure.autorest.model.clientmodel.Client;
 import com.azure.autorest.model.javamodel.JavaClass;
 import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.autorest.template.prototype.MethodTemplate;
+import com.azure.autorest.util.ClientModelUtil;
 import org.junit.jupiter.api.Assertions;
 
 import java.io.IOException;
@@ -62,7 +65,8 @@ public class TestUtils {
 
         public MockFluentGen() {
             super(new MockConnection(), "dummy", "dummy");
-            instance = this;
+            SessionContext.current().setPlugin(FluentGen.class, this);
+            ClientModelUtil.setGetClientModelFunction(FluentUtils::getClientModel);
 
             JavaSettingsAccessor.setHost(this);
 
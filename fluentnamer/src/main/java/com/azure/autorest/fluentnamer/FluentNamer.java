@@ -5,8 +5,10 @@ package com.azure.autorest.fluentnamer;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.namer.FluentNamerFactory;
 import com.azure.autorest.fluent.transformer.FluentTransformer;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
@@ -33,17 +35,15 @@ import java.util.stream.Collectors;
 public class FluentNamer extends Preprocessor {
 
     private final Logger logger = new PluginLogger(this, FluentNamer.class);
-    private static FluentNamer instance;
 
     public FluentNamer(Connection connection, String plugin,
                        String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
-        Preprocessor.instance = this;
     }
 
     public static FluentNamer getPluginInstance() {
-        return instance;
+        // the plugin of the session processed on this thread, as the process may serve several sessions concurrently
+        return SessionContext.current().getPlugin(FluentNamer.class);
     }
 
     @Override
@@ -65,8 +65,10 @@ public class FluentNamer extends Preprocessor {
             // Do necessary transformation
             codeModel = transform(codeModel);
             // Write to local file (for debugging)
-            Yaml newYaml = createYaml();
-            String output = newYaml.dump(codeModel);
+            // JSON is also valid YAML, so the file name is kept for the generator to find its input
+            String output = JavaSettings.getInstance().isPassCodeModelAsJson()
+                    ? CodeModelJsonMapper.write(codeModel)
+                    : createYaml().dump(codeModel);
             File fluentNamerFile = new File("code-model-fluentnamer-no-tags.yaml");
             if (!fluentNamerFile.exists()) {
                 fluentNamerFile.createNewFile();
@@ -5,9 +5,14 @@ package com.azure.autorest;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
+import com.azure.autorest.extension.base.plugin.FileEmitter;
+import com.azure.autorest.extension.base.plugin.FormatterCache;
+import com.azure.autorest.extension.base.plugin.FormattingVerifier;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.mapper.Mappers;
 import com.azure.autorest.mapper.PomMapper;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
@@ -32,6 +37,7 @@ import com.azure.autorest.model.projectmodel.Project;
 import com.azure.autorest.model.projectmodel.TextFile;
 import com.azure.autorest.model.xmlmodel.XmlFile;
 import com.azure.autorest.util.ClientModelUtil;
+import com.azure.autorest.util.GenerationCache;
 import com.azure.core.util.CoreUtils;
 import com.google.googlejavaformat.java.Formatter;
 import org.slf4j.Logger;
@@ -44,25 +50,25 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 
 public class Javagen extends NewPlugin {
     private final Logger logger = new PluginLogger(this, Javagen.class);
-    protected static Javagen instance;
 
     public Javagen(Connection connection, String plugin, String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
     }
 
     public static Javagen getPluginInstance() {
-        return instance;
+        // the plugin of the session processed on this thread, as the process may serve several sessions concurrently
+        return SessionContext.current().getPlugin(Javagen.class);
     }
 
     @Override
@@ -80,55 +86,101 @@ public class Javagen extends NewPlugin {
         try {
             // Step 1: Parse input yaml as CodeModel
             String fileName = files.get(0);
-            CodeModel codeModel = parseCodeModel(fileName);
+            CodeModel codeModel = readCodeModel(readFileAsReader(fileName));
 
             // Step 2: Map
             Client client = Mappers.getClientMapper().map(codeModel);
 
             // Step 3: Write to templates
-            JavaPackage javaPackage = writeToTemplates(codeModel, client, settings, true);
+            // the files whose template input is unchanged are loaded from the generation cache instead
+            GenerationCache generationCache = settings.getGenerationCacheDirectory() == null
+                ? null
+                : createGenerationCache(settings);
+            JavaPackage javaPackage = writeToTemplates(codeModel, client, settings, true, generationCache);
 
             //Step 4: Print to files
-            Map<String, String> formattedFiles = new ConcurrentHashMap<>();
             Formatter formatter = new Formatter();
+            FormatterCache formatterCache = new FormatterCache("google-java-format", Formatter.class,
+                settings.getFormatterCacheDirectory(), settings.getFormatterMemoryCacheSize());
+            FormattingVerifier formattingVerifier = settings.isVerifyFormatting()
+                ? new FormattingVerifier(logger)
+                : null;
 
             // Formatting Java source files can be expensive but can be run in parallel.
-            // Submit each file for formatting as a task on the common ForkJoinPool and then wait until all tasks
-            // complete.
+            // Submit each file for formatting as a task on the common ForkJoinPool. Each formatted file is handed to
+            // the FileEmitter, which writes the files from a single thread while the rest are still being formatted.
+            // If a file fails to be formatted, the emission is cancelled, so that neither the unformatted file nor the
+            // rest of the output is written.
             AtomicBoolean failedFormatting = new AtomicBoolean();
-            javaPackage.getJavaFiles().parallelStream().forEach(javaFile -> {
-                String formattedSource = javaFile.getContents().toString();
-                if (!settings.isSkipFormatting()) {
-                    try {
-                        formattedSource = formatter.formatSourceAndFixImports(formattedSource);
-                    } catch (Exception e) {
-                        logger.error("Unable to format output file " + javaFile.getFilePath(), e);
-                        failedFormatting.set(true);
+            // bound on the worker threads, so that the errors of the formatting are reported to this session
+            SessionContext sessionContext = SessionContext.current();
+            try (FileEmitter fileEmitter = new FileEmitter(this)) {
+                javaPackage.getJavaFiles().parallelStream().forEach(javaFile -> sessionContext.run(() -> {
+                    if (failedFormatting.get()) {
+                        return;
+                    }
+                    String cachedSource = javaPackage.getCachedContent(javaFile);
+                    if (cachedSource != null) {
+                        fileEmitter.submit(javaFile.getFilePath(), cachedSource);
+                        return;
+                    }
+                    String formattedSource = javaFile.getContents().toString();
+                    if (!settings.isSkipFormatting()) {
+                        try {
+                            String emittedSource = formattedSource;
+                            formattedSource = formatterCache.format(formattedSource,
+                                formatter::formatSourceAndFixImports);
+                            if (formattingVerifier != null) {
+                                formattingVerifier.verify(javaFile.getFilePath(), emittedSource, formattedSource);
+                            }
+                        } catch (Exception e) {
+                            logger.error("Unable to format output file " + javaFile.getFilePath(), e);
+                            failedFormatting.set(true);
+                            fileEmitter.cancel();
+                            return;
+                        }
                     }
-                }
 
-                formattedFiles.put(javaFile.getFilePath(), formattedSource);
-            });
+                    fileEmitter.submit(javaFile.getFilePath(), formattedSource);
+                    String generationCacheKey = javaPackage.getGenerationCacheKey(javaFile);
+                    if (generationCacheKey != null) {
+                        storeInGenerationCache(generationCache, generationCacheKey, formattedSource);
+                    }
+                }));
 
-            if (failedFormatting.get()) {
-                throw new RuntimeException("Failed to format Java files.");
-            }
+                if (!settings.isSkipFormatting()) {
+                    logger.info("Formatter cache: {} hits, {} misses", formatterCache.getHits(),
+                        formatterCache.getMisses());
+                    if (formattingVerifier != null) {
+                        formattingVerifier.logSummary();
+                    }
+                }
+                if (failedFormatting.get()) {
+                    throw new RuntimeException("Failed to format Java files.");
+                }
 
-            // Then for each formatted file write the file. This is done synchronously as there is potential race
-            // conditions that can lead to deadlocking.
-            formattedFiles.forEach((filePath, formattedSource) -> writeFile(filePath, formattedSource, null));
+                for (XmlFile xmlFile : javaPackage.getXmlFiles()) {
+                    fileEmitter.submit(xmlFile.getFilePath(), xmlFile.getContents().toString());
+                }
+                for (TextFile textFile : javaPackage.getTextFiles()) {
+                    fileEmitter.submit(textFile.getFilePath(), textFile.getContents());
+                }
 
-            for (XmlFile xmlFile : javaPackage.getXmlFiles()) {
-                writeFile(xmlFile.getFilePath(), xmlFile.getContents().toString(), null);
-            }
-            for (TextFile textFile : javaPackage.getTextFiles()) {
-                writeFile(textFile.getFilePath(), textFile.getContents(), null);
+                String artifactId = ClientModelUtil.getArtifactId();
+                if (!CoreUtils.isNullOrEmpty(artifactId)) {
+                    fileEmitter.submit("src/main/resources/" + artifactId + ".properties",
+                        "name=${project.artifactId}\nversion=${project" + ".version}\n");
+                }
             }
 
-            String artifactId = ClientModelUtil.getArtifactId();
-            if (!CoreUtils.isNullOrEmpty(artifactId)) {
-                writeFile("src/main/resources/" + artifactId + ".properties",
-                    "name=${project.artifactId}\nversion=${project" + ".version}\n", null);
+            if (generationCache != null) {
+                logger.info("Generation cache: {} hits, {} misses", generationCache.getHits(),
+                    generationCache.getMisses());
+                try {
+                    generationCache.saveIndex();
+                } catch (IOException e) {
+                    logger.warn("Unable to save the index of generation cache", e);
+                }
             }
         } catch (Exception ex) {
             logger.error("Failed to generate code.", ex);
@@ -137,8 +189,49 @@ public class Javagen extends NewPlugin {
         return true;
     }
 
+    private GenerationCache createGenerationCache(JavaSettings settings) {
+        try {
+            return GenerationCache.create(settings.getGenerationCacheDirectory(), settings, Javagen.class);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to use generation cache", e);
+            return null;
+        }
+    }
+
+    private void storeInGenerationCache(GenerationCache generationCache, String key, String content) {
+        try {
+            generationCache.store(key, content);
+        } catch (IOException e) {
+            logger.warn("Unable to store the generated file in generation cache", e);
+        }
+    }
+
     CodeModel parseCodeModel(String fileName) {
-        String file = readFile(fileName);
+        return readCodeModel(readFileAsReader(fileName));
+    }
+
+    private CodeModel readCodeModel(Reader reader) {
+        try {
+            if (CodeModelJsonMapper.isJson(reader)) {
+                // the preprocessor passed the code model as JSON
+                return CodeModelJsonMapper.read(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return parseCodeModel(reader);
+    }
+
+    /**
+     * Parses the YAML code model from a reader.
+     * <p>
+     * SnakeYAML consumes the reader in small chunks, so a code model read from a file or a stream does not need to
+     * be materialized as a single String first.
+     *
+     * @param reader the reader of the YAML code model
+     * @return the code model
+     */
+    CodeModel parseCodeModel(Reader reader) {
         Representer representer = new Representer() {
             @Override
             protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue,
@@ -157,12 +250,18 @@ public class Javagen extends NewPlugin {
         loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
         loaderOptions.setNestingDepthLimit(Integer.MAX_VALUE);
         Yaml newYaml = new Yaml(new Constructor(loaderOptions), representer, new DumperOptions(), loaderOptions);
-        return newYaml.loadAs(file, CodeModel.class);
+        return newYaml.loadAs(reader, CodeModel.class);
     }
 
     JavaPackage writeToTemplates(CodeModel codeModel, Client client, JavaSettings settings,
                                  boolean generateSwaggerMarkdown) {
+        return writeToTemplates(codeModel, client, settings, generateSwaggerMarkdown, null);
+    }
+
+    JavaPackage writeToTemplates(CodeModel codeModel, Client client, JavaSettings settings,
+                                 boolean generateSwaggerMarkdown, GenerationCache generationCache) {
         JavaPackage javaPackage = new JavaPackage(this);
+        javaPackage.setGenerationCache(generationCache);
         // Service client
         if (CoreUtils.isNullOrEmpty(client.getServiceClients())) {
             javaPackage
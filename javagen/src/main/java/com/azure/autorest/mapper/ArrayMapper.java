@@ -5,6 +5,7 @@ package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ArraySchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.IterableType;
 import com.azure.autorest.model.clientmodel.ListType;
@@ -17,7 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ArrayMapper implements IMapper<ArraySchema, IType> {
     private static final ArrayMapper INSTANCE = new ArrayMapper();
-    Map<ArraySchema, IType> parsed = new ConcurrentHashMap<>();
+    Map<ArraySchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private ArrayMapper() {
     }
@@ -49,7 +50,8 @@ public class ArrayMapper implements IMapper<ArraySchema, IType> {
             ? new IterableType(mappedType)
             : new ListType(mappedType);
 
-        parsed.put(sequenceType, arrayType);
-        return arrayType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(sequenceType, arrayType);
+        return existingType == null ? arrayType : existingType;
     }
 }
@@ -6,6 +6,7 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.ChoiceSchema;
 import com.azure.autorest.extension.base.model.codemodel.ChoiceValue;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.ClientEnumValue;
 import com.azure.autorest.model.clientmodel.EnumType;
@@ -25,7 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ChoiceMapper implements IMapper<ChoiceSchema, IType> {
     private static final ChoiceMapper INSTANCE = new ChoiceMapper();
-    Map<ChoiceSchema, IType> parsed = new ConcurrentHashMap<>();
+    Map<ChoiceSchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private ChoiceMapper() {
     }
@@ -51,9 +52,9 @@ public class ChoiceMapper implements IMapper<ChoiceSchema, IType> {
         }
 
         choiceType = createChoiceType(enumType);
-        parsed.put(enumType, choiceType);
-
-        return choiceType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(enumType, choiceType);
+        return existingType == null ? choiceType : existingType;
     }
 
     private IType createChoiceType(ChoiceSchema enumType) {
@@ -4,7 +4,6 @@
 package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ArraySchema;
-import com.azure.autorest.extension.base.model.codemodel.ChoiceSchema;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.model.codemodel.DictionarySchema;
 import com.azure.autorest.extension.base.model.codemodel.Header;
@@ -12,14 +11,15 @@ import com.azure.autorest.extension.base.model.codemodel.Language;
 import com.azure.autorest.extension.base.model.codemodel.Languages;
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.model.codemodel.Operation;
+import com.azure.autorest.extension.base.model.codemodel.OrSchema;
 import com.azure.autorest.extension.base.model.codemodel.Property;
 import com.azure.autorest.extension.base.model.codemodel.Response;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.model.codemodel.SchemaContext;
 import com.azure.autorest.extension.base.model.codemodel.Scheme;
-import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
 import com.azure.autorest.extension.base.model.extensionmodel.XmsExtensions;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.Client;
@@ -56,7 +56,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -83,75 +85,91 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         JavaSettings settings = JavaSettings.getInstance();
         Client.Builder builder = new Client.Builder();
 
-        // enum model
+        // the schemas are mapped on a pool of threads, if the parallelism is larger than 1
         final List<EnumType> enumTypes = new ArrayList<>();
-        Set<String> enumNames = new HashSet<>();
-        for (ChoiceSchema choiceSchema : codeModel.getSchemas().getChoices()) {
-            IType iType = Mappers.getChoiceMapper().map(choiceSchema);
-            if (iType != ClassType.String) {
-                EnumType enumType = (EnumType) iType;
-                if (!enumNames.contains(enumType.getName())) {
-                    enumTypes.add(enumType);
-                    enumNames.add(enumType.getName());
+        final List<ClientModel> clientModels;
+        final List<ClientResponse> responseModels;
+        ForkJoinPool mappingPool = settings.getMappingParallelism() > 1
+            ? SessionContext.current().newForkJoinPool(settings.getMappingParallelism())
+            : null;
+        try {
+            // enum model
+            Set<String> enumNames = new HashSet<>();
+            for (IType iType : mapSchemas(mappingPool, codeModel.getSchemas().getChoices(),
+                Mappers.getChoiceMapper()::map)) {
+                if (iType != ClassType.String) {
+                    EnumType enumType = (EnumType) iType;
+                    if (!enumNames.contains(enumType.getName())) {
+                        enumTypes.add(enumType);
+                        enumNames.add(enumType.getName());
+                    }
                 }
             }
-        }
-        for (SealedChoiceSchema choiceSchema : codeModel.getSchemas().getSealedChoices()) {
-            IType iType = Mappers.getSealedChoiceMapper().map(choiceSchema);
-            if (iType != ClassType.String) {
-                EnumType enumType = (EnumType) iType;
-                if (!enumNames.contains(enumType.getName())) {
-                    enumTypes.add(enumType);
-                    enumNames.add(enumType.getName());
+            for (IType iType : mapSchemas(mappingPool, codeModel.getSchemas().getSealedChoices(),
+                Mappers.getSealedChoiceMapper()::map)) {
+                if (iType != ClassType.String) {
+                    EnumType enumType = (EnumType) iType;
+                    if (!enumNames.contains(enumType.getName())) {
+                        enumTypes.add(enumType);
+                        enumNames.add(enumType.getName());
+                    }
                 }
             }
-        }
-        builder.enums(enumTypes);
-
-        // exception
-        builder.exceptions(codeModel.getOperationGroups().stream()
-                .flatMap(og -> og.getOperations().stream())
-                .flatMap(o -> o.getExceptions().stream())
-                .map(Response::getSchema)
-                .distinct()
-                .filter(s -> s instanceof ObjectSchema)
-                .map(s -> Mappers.getExceptionMapper().map((ObjectSchema) s))
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList()));
-
-        builder.xmlSequenceWrappers(parseXmlSequenceWrappers(codeModel));
-
-        // class model
-        Stream<ObjectSchema> autoRestModelTypes = Stream.concat(
-            codeModel.getSchemas().getObjects().stream(),
-            codeModel.getOperationGroups().stream().flatMap(og -> og.getOperations().stream())
-                .map(o -> parseHeader(o, settings)).filter(Objects::nonNull));
-
-        final List<ClientModel> clientModels = autoRestModelTypes
-                .distinct()
-                .map(autoRestCompositeType -> Mappers.getModelMapper().map(autoRestCompositeType))
-                .filter(Objects::nonNull)
+            builder.enums(enumTypes);
+
+            // exception
+            List<ObjectSchema> exceptionSchemas = codeModel.getOperationGroups().stream()
+                    .flatMap(og -> og.getOperations().stream())
+                    .flatMap(o -> o.getExceptions().stream())
+                    .map(Response::getSchema)
+                    .distinct()
+                    .filter(s -> s instanceof ObjectSchema)
+                    .map(s -> (ObjectSchema) s)
+                    .collect(Collectors.toList());
+            builder.exceptions(mapSchemas(mappingPool, exceptionSchemas, Mappers.getExceptionMapper()::map).stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList()));
+
+            builder.xmlSequenceWrappers(parseXmlSequenceWrappers(codeModel));
+
+            // class model
+            List<ObjectSchema> autoRestModelTypes = Stream.concat(
+                codeModel.getSchemas().getObjects().stream(),
+                codeModel.getOperationGroups().stream().flatMap(og -> og.getOperations().stream())
+                    .map(o -> parseHeader(o, settings)).filter(Objects::nonNull))
                 .distinct()
                 .collect(Collectors.toList());
-        builder.models(clientModels);
-
-        // union model (class)
-        builder.unionModels(codeModel.getSchemas().getOrs().stream().distinct()
-                .flatMap(schema -> Mappers.getUnionModelMapper().map(schema).stream())
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList()));
 
-        // response model (subclass of Response with headers)
-        final List<ClientResponse> responseModels = codeModel.getOperationGroups().stream()
-                .flatMap(og -> og.getOperations().stream())
-                .distinct()
-                .map(m -> parseResponse(m, clientModels, settings))
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList());
-        builder.responseModels(responseModels);
+            clientModels = mapSchemas(mappingPool, autoRestModelTypes, Mappers.getModelMapper()::map).stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            builder.models(clientModels);
+
+            // union model (class)
+            List<OrSchema> orSchemas = codeModel.getSchemas().getOrs().stream().distinct().collect(Collectors.toList());
+            builder.unionModels(mapSchemas(mappingPool, orSchemas, Mappers.getUnionModelMapper()::map).stream()
+                    .flatMap(List::stream)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList()));
+
+            // response model (subclass of Response with headers)
+            List<Operation> operations = codeModel.getOperationGroups().stream()
+                    .flatMap(og -> og.getOperations().stream())
+                    .distinct()
+                    .collect(Collectors.toList());
+            responseModels = mapSchemas(mappingPool, operations, m -> parseResponse(m, clientModels, settings)).stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            builder.responseModels(responseModels);
+        } finally {
+            if (mappingPool != null) {
+                mappingPool.shutdown();
+            }
+        }
 
         String serviceClientName = codeModel.getLanguage().getJava().getName();
         String serviceClientDescription = codeModel.getInfo().getDescription();
@@ -343,6 +361,26 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         return builder.build();
     }
 
+    /**
+     * Maps the items, in parallel if a pool is given.
+     * <p>
+     * The mapped items are in the order of the items, so the output does not depend on the parallelism.
+     *
+     * @param pool the pool mapping the items, or null to map the items on the calling thread.
+     * @param items the items.
+     * @param mapper the mapper of an item.
+     * @param <T> the type of the items.
+     * @param <R> the type of the mapped items.
+     * @return the mapped items.
+     */
+    private static <T, R> List<R> mapSchemas(ForkJoinPool pool, List<T> items, Function<T, R> mapper) {
+        if (pool == null) {
+            return items.stream().map(mapper).collect(Collectors.toList());
+        }
+        // the parallel stream runs on the pool of the task executing it
+        return pool.submit(() -> items.parallelStream().map(mapper).collect(Collectors.toList())).join();
+    }
+
     /**
      * Extension for processing multi-client. Supported in Cadl.
      *
@@ -17,6 +17,7 @@ import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.model.extensionmodel.XmsPageable;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.JavaSettings.SyncMethodsGeneration;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.ClientMethod;
 import com.azure.autorest.model.clientmodel.ClientMethod.Builder;
@@ -72,7 +73,7 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
 
     private static final Pattern ANYTHING_THEN_PERIOD = Pattern.compile(".*\\.");
 
-    private final Map<CacheKey, List<ClientMethod>> parsed = new ConcurrentHashMap<>();
+    private final Map<CacheKey, List<ClientMethod>> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private static class CacheKey {
         private final Operation operation;
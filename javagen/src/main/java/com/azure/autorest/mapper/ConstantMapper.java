@@ -4,6 +4,7 @@
 package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.IType;
 
 import java.util.Map;
@@ -14,7 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ConstantMapper implements IMapper<ConstantSchema, IType> {
     private static final ConstantMapper INSTANCE = new ConstantMapper();
-    Map<ConstantSchema, IType> parsed = new ConcurrentHashMap<>();
+    Map<ConstantSchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private ConstantMapper() {
     }
@@ -40,8 +41,8 @@ public class ConstantMapper implements IMapper<ConstantSchema, IType> {
         }
 
         constantType = Mappers.getSchemaMapper().map(constantSchema.getValueType());
-        parsed.put(constantSchema, constantType);
-
-        return constantType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(constantSchema, constantType);
+        return existingType == null ? constantType : existingType;
     }
 }
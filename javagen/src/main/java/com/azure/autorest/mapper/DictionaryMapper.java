@@ -4,6 +4,7 @@
 package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.DictionarySchema;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.MapType;
 
@@ -12,7 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class DictionaryMapper implements IMapper<DictionarySchema, IType> {
     private static final DictionaryMapper INSTANCE = new DictionaryMapper();
-    Map<DictionarySchema, IType> parsed = new ConcurrentHashMap<>();
+    Map<DictionarySchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private DictionaryMapper() {
     }
@@ -33,8 +34,8 @@ public class DictionaryMapper implements IMapper<DictionarySchema, IType> {
         }
 
         dictType = new MapType(Mappers.getSchemaMapper().map(dictionaryType.getElementType()));
-        parsed.put(dictionaryType, dictType);
-
-        return dictType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(dictionaryType, dictType);
+        return existingType == null ? dictType : existingType;
     }
 }
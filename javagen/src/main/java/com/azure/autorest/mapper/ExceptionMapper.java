@@ -5,6 +5,7 @@ package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClientException;
 
 import java.util.Map;
@@ -12,7 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ExceptionMapper implements IMapper<ObjectSchema, ClientException> {
     private static final ExceptionMapper INSTANCE = new ExceptionMapper();
-    Map<ObjectSchema, ClientException> parsed = new ConcurrentHashMap<>();
+    Map<ObjectSchema, ClientException> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     protected ExceptionMapper() {
     }
@@ -6,6 +6,7 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.Operation;
 import com.azure.autorest.extension.base.model.codemodel.OperationGroup;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClientMethod;
 import com.azure.autorest.model.clientmodel.ClientModels;
 import com.azure.autorest.model.clientmodel.IType;
@@ -26,7 +27,7 @@ import java.util.stream.Collectors;
 
 public class MethodGroupMapper implements IMapper<OperationGroup, MethodGroupClient> {
     private static final MethodGroupMapper INSTANCE = new MethodGroupMapper();
-    private final Map<OperationGroup, MethodGroupClient> parsed = new ConcurrentHashMap<>();
+    private final Map<OperationGroup, MethodGroupClient> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     protected MethodGroupMapper() {
     }
@@ -274,8 +274,7 @@ public class ModelMapper implements IMapper<ObjectSchema, ClientModel> {
             builder.properties(properties);
             builder.propertyReferences(propertyReferences);
 
-            result = builder.build();
-            serviceModels.addModel(result);
+            result = serviceModels.addModel(builder.build());
         }
 
         return result;
@@ -6,6 +6,7 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.model.codemodel.SchemaContext;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.util.SchemaUtil;
@@ -16,7 +17,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ObjectMapper implements IMapper<ObjectSchema, IType> {
     private static final ObjectMapper INSTANCE = new ObjectMapper();
-    Map<ObjectSchema, ClassType> parsed = new ConcurrentHashMap<>();
+    Map<ObjectSchema, ClassType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     protected ObjectMapper() {
     }
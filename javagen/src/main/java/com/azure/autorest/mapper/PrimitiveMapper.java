@@ -8,17 +8,18 @@ import com.azure.autorest.extension.base.model.codemodel.DateTimeSchema;
 import com.azure.autorest.extension.base.model.codemodel.NumberSchema;
 import com.azure.autorest.extension.base.model.codemodel.PrimitiveSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ArrayType;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.PrimitiveType;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PrimitiveMapper implements IMapper<PrimitiveSchema, IType> {
     private static final PrimitiveMapper INSTANCE = new PrimitiveMapper();
-    protected Map<PrimitiveSchema, IType> parsed = new HashMap<>();
+    protected Map<PrimitiveSchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     protected PrimitiveMapper() {
     }
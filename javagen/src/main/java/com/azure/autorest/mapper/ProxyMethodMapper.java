@@ -11,6 +11,7 @@ import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocatio
 import com.azure.autorest.extension.base.model.codemodel.Response;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.ClientModels;
 import com.azure.autorest.model.clientmodel.EnumType;
@@ -62,7 +63,7 @@ public class ProxyMethodMapper implements IMapper<Operation, Map<Request, List<P
 
     private static final Pattern APOSTROPHE = Pattern.compile("'");
 
-    private final Map<Request, List<ProxyMethod>> parsed = new ConcurrentHashMap<>();
+    private final Map<Request, List<ProxyMethod>> parsed = SessionCaches.create(ConcurrentHashMap::new);
     protected ProxyMethodMapper() {
     }
 
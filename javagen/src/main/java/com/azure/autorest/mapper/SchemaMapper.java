@@ -14,6 +14,7 @@ import com.azure.autorest.extension.base.model.codemodel.OrSchema;
 import com.azure.autorest.extension.base.model.codemodel.PrimitiveSchema;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.IType;
 
 import java.util.Map;
@@ -21,7 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class SchemaMapper implements IMapper<Schema, IType> {
     private static final SchemaMapper INSTANCE = new SchemaMapper();
-    Map<Schema, IType> parsed = new ConcurrentHashMap<>();
+    Map<Schema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private SchemaMapper() {
     }
@@ -42,9 +43,9 @@ public class SchemaMapper implements IMapper<Schema, IType> {
         }
 
         schemaType = createSchemaType(value);
-        parsed.put(value, schemaType);
-
-        return schemaType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(value, schemaType);
+        return existingType == null ? schemaType : existingType;
     }
 
     private IType createSchemaType(Schema value) {
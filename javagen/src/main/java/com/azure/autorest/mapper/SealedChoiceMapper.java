@@ -6,6 +6,7 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.ChoiceValue;
 import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.ClientEnumValue;
 import com.azure.autorest.model.clientmodel.EnumType;
@@ -22,7 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class SealedChoiceMapper implements IMapper<SealedChoiceSchema, IType> {
     private static final SealedChoiceMapper INSTANCE = new SealedChoiceMapper();
-    Map<SealedChoiceSchema, IType> parsed = new ConcurrentHashMap<>();
+    Map<SealedChoiceSchema, IType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     private SealedChoiceMapper() {
     }
@@ -43,9 +44,9 @@ public class SealedChoiceMapper implements IMapper<SealedChoiceSchema, IType> {
         }
 
         sealedChoiceType = createSealedChoiceType(enumType);
-        parsed.put(enumType, sealedChoiceType);
-
-        return sealedChoiceType;
+        // another thread may have mapped the same schema concurrently, use the type mapped first
+        IType existingType = parsed.putIfAbsent(enumType, sealedChoiceType);
+        return existingType == null ? sealedChoiceType : existingType;
     }
 
     private IType createSealedChoiceType(SealedChoiceSchema enumType) {
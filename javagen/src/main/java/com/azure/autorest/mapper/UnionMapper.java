@@ -5,6 +5,7 @@ package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.OrSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.IType;
 
@@ -13,7 +14,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class UnionMapper implements IMapper<OrSchema, IType> {
     private static final UnionMapper INSTANCE = new UnionMapper();
-    Map<OrSchema, ClassType> parsed = new ConcurrentHashMap<>();
+    Map<OrSchema, ClassType> parsed = SessionCaches.create(ConcurrentHashMap::new);
 
     protected UnionMapper() {
     }
@@ -74,7 +74,7 @@ public class UnionModelMapper implements IMapper<OrSchema, List<UnionModel>> {
                 models.add(builder.build());
             }
 
-            serviceModels.addModel(models);
+            models = serviceModels.addModel(models);
         }
         return models;
     }
@@ -37,8 +37,6 @@ public class ClientBuilderTrait {
 
     public static final ClientBuilderTrait TOKEN_CREDENTIAL_TRAIT = createTokenCredentialTrait();
 
-    private static ClientBuilderTrait endpointTrait;
-
     private String traitInterfaceName;
     private List<String> importPackages;
     private List<ClientBuilderTraitMethod> clientBuilderTraitMethods;
@@ -212,40 +210,44 @@ public class ClientBuilderTrait {
         return configurationTrait;
     }
 
+    /**
+     * Creates the endpoint trait of the client builder, whose endpoint property is the given property.
+     * <p>
+     * Unlike the other traits, it isn't a constant, as the endpoint property differs between the clients.
+     *
+     * @param property the endpoint property of the client
+     * @return the endpoint trait
+     */
     public static ClientBuilderTrait getEndpointTrait(ServiceClientProperty property) {
-        ClientBuilderTrait endpointTrait = ClientBuilderTrait.endpointTrait;
-        if (endpointTrait == null) {
-            endpointTrait = new ClientBuilderTrait();
-            endpointTrait.setTraitInterfaceName(EndpointTrait.class.getSimpleName());
-
-            List<String> importPackages = new ArrayList<>();
-            endpointTrait.setImportPackages(importPackages);
-            importPackages.add(EndpointTrait.class.getName());
-
-            List<ClientBuilderTraitMethod> endpointClientBuilderTraitMethods = new ArrayList<>();
-            endpointTrait.setTraitMethods(endpointClientBuilderTraitMethods);
-
-            String propertyName = "endpoint";
-            ServiceClientProperty endpointProperty = new ServiceClientProperty.Builder()
-                    .name(propertyName)
-                    .type(ClassType.String)
-                    .description("The service endpoint")
-                    .readOnly(false)
-                    .required(property.isRequired())
-                    .defaultValueExpression(property.getDefaultValueExpression())
-                    .requestParameterName(property.getRequestParameterName())
-                    .build();
-
-            Consumer<JavaBlock> endpointMethodImpl = function -> {
-                function.line(String.format("this.%1$s = %2$s;", propertyName, propertyName));
-                function.methodReturn("this");
-            };
-            ClientBuilderTraitMethod endpointMethod = createTraitMethod(propertyName, propertyName, ClassType.String,
-                    endpointProperty, "{@inheritDoc}", endpointMethodImpl);
-
-            endpointClientBuilderTraitMethods.add(endpointMethod);
-            ClientBuilderTrait.endpointTrait = endpointTrait;
-        }
+        ClientBuilderTrait endpointTrait = new ClientBuilderTrait();
+        endpointTrait.setTraitInterfaceName(EndpointTrait.class.getSimpleName());
+
+        List<String> importPackages = new ArrayList<>();
+        endpointTrait.setImportPackages(importPackages);
+        importPackages.add(EndpointTrait.class.getName());
+
+        List<ClientBuilderTraitMethod> endpointClientBuilderTraitMethods = new ArrayList<>();
+        endpointTrait.setTraitMethods(endpointClientBuilderTraitMethods);
+
+        String propertyName = "endpoint";
+        ServiceClientProperty endpointProperty = new ServiceClientProperty.Builder()
+                .name(propertyName)
+                .type(ClassType.String)
+                .description("The service endpoint")
+                .readOnly(false)
+                .required(property.isRequired())
+                .defaultValueExpression(property.getDefaultValueExpression())
+                .requestParameterName(property.getRequestParameterName())
+                .build();
+
+        Consumer<JavaBlock> endpointMethodImpl = function -> {
+            function.line(String.format("this.%1$s = %2$s;", propertyName, propertyName));
+            function.methodReturn("this");
+        };
+        ClientBuilderTraitMethod endpointMethod = createTraitMethod(propertyName, propertyName, ClassType.String,
+                endpointProperty, "{@inheritDoc}", endpointMethodImpl);
+
+        endpointClientBuilderTraitMethods.add(endpointMethod);
         return endpointTrait;
     }
 
@@ -3,23 +3,27 @@
 
 package com.azure.autorest.model.clientmodel;
 
+import com.azure.autorest.extension.base.plugin.SessionCaches;
+import com.azure.autorest.util.ClientModelHierarchy;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The collection of all client models stored for inheritance lookup.
  */
 public class ClientModels {
     private static final ClientModels INSTANCE = new ClientModels();
-    private final Map<String, ClientModel> nameMap = new HashMap<>();
+    private final Map<String, ClientModel> nameMap = SessionCaches.create(ConcurrentHashMap::new);
 //    private final Map<String, ArrayList<ClientModel>> derivedTypesMap = new HashMap<String, ArrayList<ClientModel>>();
     private ClientModels() {
     }
 
     public final void clear() {
         nameMap.clear();
+        ClientModelHierarchy.invalidate();
     }
 
     public static ClientModels getInstance() {
@@ -35,11 +39,26 @@ public class ClientModels {
      * @return the ClientModel instance.
      */
     public final ClientModel getModel(String modelName) {
-        return nameMap.get(modelName);
+        // the name of the parent of a root model is null, which a ConcurrentHashMap does not accept as a key
+        return modelName == null ? null : nameMap.get(modelName);
     }
 
-    public final void addModel(ClientModel model) {
-        nameMap.put(model.getName(), model);
+    /**
+     * Adds the ClientModel instance, unless a model of the same name is already added.
+     * <p>
+     * Models can be mapped concurrently, hence the model mapped first is kept, and returned to all the callers.
+     *
+     * @param model the ClientModel instance.
+     * @return the ClientModel instance of the name.
+     */
+    public final ClientModel addModel(ClientModel model) {
+        ClientModel existingModel = nameMap.putIfAbsent(model.getName(), model);
+        if (existingModel != null) {
+            return existingModel;
+        }
+
+        ClientModelHierarchy.invalidate();
+        return model;
 
 //        String parentModel = model.getParentModelName();
 //        if (parentModel != null) {
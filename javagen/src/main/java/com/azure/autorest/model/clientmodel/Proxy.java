@@ -4,6 +4,7 @@
 package com.azure.autorest.model.clientmodel;
 
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.util.ProxyUtil;
 
 import java.util.List;
 import java.util.Set;
@@ -69,6 +70,10 @@ public class Proxy {
         if (includeImplementationImports) {
             imports.add("com.azure.core.annotation.Host");
             imports.add("com.azure.core.annotation.ServiceInterface");
+
+            if (ProxyUtil.isImplementationGenerated(this, settings)) {
+                ProxyUtil.addImplementationImportsTo(this, imports, settings);
+            }
         }
 
         for (ProxyMethod method : getMethods()) {
@@ -3,14 +3,16 @@
 
 package com.azure.autorest.model.clientmodel;
 
-import java.util.HashMap;
+import com.azure.autorest.extension.base.plugin.SessionCaches;
+
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UnionModels {
 
     private static final UnionModels INSTANCE = new UnionModels();
-    private final Map<String, List<UnionModel>> nameMap = new HashMap<>();
+    private final Map<String, List<UnionModel>> nameMap = SessionCaches.create(ConcurrentHashMap::new);
 
     private UnionModels() {
     }
@@ -30,10 +32,19 @@ public class UnionModels {
      * @return the UnionModel instance.
      */
     public final List<UnionModel> getModel(String modelName) {
-        return nameMap.get(modelName);
+        return modelName == null ? null : nameMap.get(modelName);
     }
 
-    public final void addModel(List<UnionModel> models) {
-        nameMap.put(models.iterator().next().getName(), models);
+    /**
+     * Adds the UnionModel instances, unless models of the same name are already added.
+     * <p>
+     * Models can be mapped concurrently, hence the models mapped first are kept, and returned to all the callers.
+     *
+     * @param models the UnionModel instances.
+     * @return the UnionModel instances of the name.
+     */
+    public final List<UnionModel> addModel(List<UnionModel> models) {
+        List<UnionModel> existingModels = nameMap.putIfAbsent(models.iterator().next().getName(), models);
+        return existingModels == null ? models : existingModels;
     }
 }
@@ -19,12 +19,10 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class JavaFileContents {
     private static final String SINGLE_INDENT = "    ";
-    private static final Pattern QUOTED_NEW_LINE = Pattern.compile(Pattern.quote("\n"));
 
     private StringBuilder contents;
     private StringBuilder linePrefix;
@@ -56,7 +54,8 @@ public class JavaFileContents {
     }
 
     public final String[] getLines() {
-        return QUOTED_NEW_LINE.split(toString(), -1);
+        // String.split does not compile a Pattern for a single character
+        return toString().split("\n", -1);
     }
 
     public final void addToPrefix(String toAdd) {
@@ -120,6 +119,11 @@ public class JavaFileContents {
     }
 
     private void text(String text, boolean addPrefix) {
+        if (wordWrapWidth == null) {
+            appendLines(text, addPrefix);
+            return;
+        }
+
         ArrayList<String> lines = new ArrayList<String>();
 
         if (text == null || text.isEmpty()) {
@@ -154,6 +158,47 @@ public class JavaFileContents {
         }
     }
 
+    /**
+     * Appends the text, line by line, straight to the contents.
+     * <p>
+     * This is the path of all the text that is not word wrapped, i.e. nearly all the code. It writes the same output
+     * as the word wrapping path with no wrap width, without the substring and the list of lines allocated per call.
+     */
+    private void appendLines(String text, boolean addPrefix) {
+        boolean hasPrefix = addPrefix && linePrefix.length() > 0;
+        // a blank prefix, i.e. indentation, is not added to blank lines
+        boolean blankPrefix = hasPrefix && isBlank(linePrefix, 0, linePrefix.length());
+
+        if (text == null || text.isEmpty()) {
+            if (hasPrefix && !blankPrefix) {
+                contents.append(linePrefix);
+            }
+            return;
+        }
+
+        int lineStartIndex = 0;
+        int textLength = text.length();
+        while (lineStartIndex < textLength) {
+            int newLineCharacterIndex = text.indexOf('\n', lineStartIndex);
+            int nextLineStartIndex = newLineCharacterIndex == -1 ? textLength : newLineCharacterIndex + 1;
+            if (hasPrefix && (!blankPrefix || !isBlank(text, lineStartIndex, nextLineStartIndex))) {
+                contents.append(linePrefix);
+            }
+            contents.append(text, lineStartIndex, nextLineStartIndex);
+            lineStartIndex = nextLineStartIndex;
+        }
+    }
+
+    // same as String.trim().isEmpty(), without the allocation
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public final void text(String text) {
         if (currentLineType == CurrentLineType.Empty) {
             text(text, true);
@@ -167,7 +212,7 @@ public class JavaFileContents {
     }
 
     private void line(String text, boolean addPrefix) {
-        text(String.format("%s%s", text, System.lineSeparator()), addPrefix);
+        text(text + System.lineSeparator(), addPrefix);
         currentLineType = CurrentLineType.Empty;
     }
 
@@ -210,8 +255,15 @@ public class JavaFileContents {
         if (imports != null && !imports.isEmpty()) {
             Set<String> importSet = new TreeSet<>(new JavaImportComparer());
             importSet.addAll(imports);
+            boolean afterStaticImport = false;
             for (String toImport : importSet) {
                 if (toImport != null && !toImport.isEmpty()) {
+                    // as google-java-format, a blank line separates the static imports from the others
+                    boolean isStaticImport = toImport.startsWith(JavaImportComparer.STATIC_PREFIX);
+                    if (afterStaticImport && !isStaticImport) {
+                        line();
+                    }
+                    afterStaticImport = isStaticImport;
                     line("import %s;", toImport);
                 }
             }
@@ -4,17 +4,16 @@
 package com.azure.autorest.model.javamodel;
 
 import java.util.Comparator;
-import java.util.Locale;
 import java.util.Objects;
 
+/**
+ * Orders the imports as google-java-format does: the static imports first, then the other imports, each in the
+ * lexicographic order of the imported names.
+ * <p>
+ * The generated files are then in the import order of the formatter even if formatting is skipped.
+ */
 public class JavaImportComparer implements Comparator<String> {
-    private static String[] getImportParts(String importKeyword) {
-        return importKeyword.split("\\.", -1);
-    }
-
-    private static boolean isLastPart(int importIndex, String[] importParts) {
-        return importIndex == importParts.length - 1;
-    }
+    static final String STATIC_PREFIX = "static ";
 
     public final int compare(String lhsImport, String rhsImport) {
         int result;
@@ -26,26 +25,12 @@ public class JavaImportComparer implements Comparator<String> {
         } else if (rhsImport == null) {
             result = 1;
         } else {
-            result = 0;
-
-            String[] lhsImportParts = getImportParts(lhsImport);
-            String[] rhsImportParts = getImportParts(rhsImport);
-
-            int minimumImportPartCount = Math.min(lhsImportParts.length, rhsImportParts.length);
-            for (int i = 0; i < minimumImportPartCount; ++i) {
-                String lhsImportPart = lhsImportParts[i].toLowerCase(Locale.ROOT);
-                String rhsImportPart = rhsImportParts[i].toLowerCase(Locale.ROOT);
-
-                if (!lhsImportPart.equals(rhsImportPart)) {
-                    boolean isLastLhsPart = isLastPart(i, lhsImportParts);
-                    boolean isLastRhsPart = isLastPart(i, rhsImportParts);
-                    if (isLastLhsPart != isLastRhsPart) {
-                        result = isLastLhsPart ? -1 : 1;
-                    } else {
-                        result = lhsImportPart.compareTo(rhsImportPart);
-                    }
-                    break;
-                }
+            boolean isLhsStatic = lhsImport.startsWith(STATIC_PREFIX);
+            boolean isRhsStatic = rhsImport.startsWith(STATIC_PREFIX);
+            if (isLhsStatic != isRhsStatic) {
+                result = isLhsStatic ? -1 : 1;
+            } else {
+                result = lhsImport.compareTo(rhsImport);
             }
         }
 
@@ -10,7 +10,9 @@ public enum JavaModifier {
     Final("final"),
 
     Static("static"),
-    Abstract("abstract");
+    Abstract("abstract"),
+
+    Synchronized("synchronized");
 
     private final String keyword;
 
@@ -6,6 +6,7 @@ package com.azure.autorest.model.javamodel;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
 import com.azure.autorest.model.clientmodel.ClientBuilder;
 import com.azure.autorest.model.clientmodel.ClientException;
@@ -26,21 +27,29 @@ import com.azure.autorest.model.projectmodel.Project;
 import com.azure.autorest.model.projectmodel.TextFile;
 import com.azure.autorest.model.xmlmodel.XmlFile;
 import com.azure.autorest.template.ChangelogTemplate;
+import com.azure.autorest.template.IJavaTemplate;
+import com.azure.autorest.template.JsonSerializationUtilsTemplate;
 import com.azure.autorest.template.ModelTestTemplate;
 import com.azure.autorest.template.ProtocolSampleBlankTemplate;
 import com.azure.autorest.template.ProtocolTestBaseTemplate;
 import com.azure.autorest.template.ProtocolTestTemplate;
 import com.azure.autorest.template.ReadmeTemplate;
 import com.azure.autorest.template.ServiceSyncClientTemplate;
+import com.azure.autorest.template.StreamSerializationModelTemplate;
 import com.azure.autorest.template.SwaggerReadmeTemplate;
 import com.azure.autorest.template.Templates;
+import com.azure.autorest.util.GenerationCache;
 import com.azure.autorest.util.PossibleCredentialException;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class JavaPackage {
     private final Logger logger;
@@ -54,6 +63,17 @@ public class JavaPackage {
 
     private final Set<String> filePaths = new HashSet<>();
 
+    // the files added, with their templates not yet rendered
+    private final List<Runnable> pendingRenders = new ArrayList<>();
+
+    // the JsonSerializationUtils class is added with the first model using it
+    private boolean jsonSerializationUtilsAdded;
+
+    private GenerationCache generationCache;
+    // the content of the files loaded from the generation cache, and the key of the files rendered by their template
+    private final Map<JavaFile, String> cachedContents = new ConcurrentHashMap<>();
+    private final Map<JavaFile, String> generationCacheKeys = new ConcurrentHashMap<>();
+
     public JavaPackage(NewPlugin host) {
         this.settings = JavaSettings.getInstance();
         this.javaFiles = new ArrayList<>();
@@ -67,9 +87,42 @@ public class JavaPackage {
     }
 
     public List<JavaFile> getJavaFiles() {
+        renderPendingFiles();
         return javaFiles;
     }
 
+    /**
+     * Sets the generation cache, from which the files rendered by a template afterwards are loaded if their template
+     * input is unchanged.
+     *
+     * @param generationCache the generation cache.
+     */
+    public void setGenerationCache(GenerationCache generationCache) {
+        this.generationCache = generationCache;
+    }
+
+    /**
+     * Gets the content of a Java file loaded from the generation cache. The content is as it was emitted, so it is not
+     * formatted again.
+     *
+     * @param javaFile the Java file.
+     * @return the content of the Java file, or null if it is not loaded from the generation cache.
+     */
+    public String getCachedContent(JavaFile javaFile) {
+        return cachedContents.get(javaFile);
+    }
+
+    /**
+     * Gets the generation cache key of a Java file rendered by its template, under which its emitted content is
+     * stored.
+     *
+     * @param javaFile the Java file.
+     * @return the key of the Java file, or null if the file is not cached.
+     */
+    public String getGenerationCacheKey(JavaFile javaFile) {
+        return generationCacheKeys.get(javaFile);
+    }
+
     public List<XmlFile> getXmlFiles() {
         return xmlFiles;
     }
@@ -80,20 +133,17 @@ public class JavaPackage {
 
     public final void addServiceClient(String packageKeyword, String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getServiceClientTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientTemplate(), model);
     }
 
     public final void addAsyncServiceClient(String packageKeyWord, AsyncSyncClient asyncClient) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyWord, asyncClient.getClassName());
-        Templates.getServiceAsyncClientTemplate().write(asyncClient, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceAsyncClientTemplate(), asyncClient);
     }
 
     public final void addSyncServiceClient(String packageKeyWord, AsyncSyncClient syncClient) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyWord, syncClient.getClassName());
-        Templates.getServiceSyncClientTemplate().write(syncClient, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceSyncClientTemplate(), syncClient);
     }
 
     public final void addSyncServiceClient(String packageKeyWord, AsyncSyncClient syncClient, boolean syncClientWrapAsync) {
@@ -101,104 +151,97 @@ public class JavaPackage {
         ServiceSyncClientTemplate template = syncClientWrapAsync
                 ? Templates.getServiceSyncClientWrapAsyncClientTemplate()
                 : Templates.getServiceSyncClientTemplate();
-        template.write(syncClient, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, template, syncClient);
     }
 
     public final void addServiceClientInterface(String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(settings.getPackage(), name);
-        Templates.getServiceClientInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientInterfaceTemplate(), model);
     }
 
     public final void addServiceClientInterface(String packageKeyword, String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getServiceClientInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientInterfaceTemplate(), model);
     }
 
     public final void addServiceClientBuilder(ClientBuilder model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(model.getPackageName(), model.getClassName());
-        Templates.getServiceClientBuilderTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientBuilderTemplate(), model);
     }
 
     public final void addServiceVersion(String packageKeyword, ServiceVersion serviceVersion) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, serviceVersion.getClassName());
-        Templates.getServiceVersionTemplate().write(serviceVersion, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceVersionTemplate(), serviceVersion);
     }
 
     public final void addMethodGroup(String packageKeyword, String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getMethodGroupTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupTemplate(), model);
     }
 
     public final void addMethodGroupInterface(String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(settings.getPackage(), name);
-        Templates.getMethodGroupInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupInterfaceTemplate(), model);
     }
 
     public final void addMethodGroupInterface(String packageKeyword, String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getMethodGroupInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupInterfaceTemplate(), model);
     }
 
     public final void addModel(String packageKeyword, String name, ClientModel model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
 
         if (settings.isStreamStyleSerialization()) {
-            Templates.getStreamStyleModelTemplate().write(model, javaFile);
+            addJavaFile(javaFile, Templates.getStreamStyleModelTemplate(), model);
+            if (!jsonSerializationUtilsAdded && StreamSerializationModelTemplate.usesJsonSerializationUtils(model, settings)) {
+                addJsonSerializationUtils();
+            }
         } else {
-            Templates.getModelTemplate().write(model, javaFile);
+            addJavaFile(javaFile, Templates.getModelTemplate(), model);
         }
+    }
 
-        addJavaFile(javaFile);
+    private void addJsonSerializationUtils() {
+        JavaFile javaFile = javaFileFactory.createSourceFile(JsonSerializationUtilsTemplate.getPackageName(settings),
+            JsonSerializationUtilsTemplate.CLASS_NAME);
+        addJavaFile(javaFile, JsonSerializationUtilsTemplate.getInstance(), null);
+        jsonSerializationUtilsAdded = true;
     }
 
     public final void addException(String packageKeyword, String name, ClientException model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getExceptionTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getExceptionTemplate(), model);
     }
 
     public final void addEnum(String packageKeyword, String name, EnumType model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getEnumTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getEnumTemplate(), model);
     }
 
     public final void addClientResponse(String packageKeyword, String name, ClientResponse model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getResponseTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getResponseTemplate(), model);
     }
 
     public final void addXmlSequenceWrapper(String packageKeyword, String name, XmlSequenceWrapper model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyword, name);
-        Templates.getXmlSequenceWrapperTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getXmlSequenceWrapperTemplate(), model);
     }
 
     public final void addUnionModel(UnionModel model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(model.getPackage(), model.getName());
-        Templates.getUnionModelTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getUnionModelTemplate(), model);
     }
 
     public final void addPackageInfo(String packageKeyword, String name, PackageInfo model) {
         JavaFile javaFile = javaFileFactory.createEmptySourceFile(packageKeyword, name);
-        Templates.getPackageInfoTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getPackageInfoTemplate(), model);
     }
 
     public final void addModuleInfo(ModuleInfo moduleInfo) {
         JavaFile javaFile = javaFileFactory.createEmptySourceFile("", "module-info");
-        Templates.getModuleInfoTemplate().write(moduleInfo, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getModuleInfoTemplate(), moduleInfo);
     }
 
     public final void addPom(String name, Pom pom) {
@@ -214,6 +257,60 @@ public class JavaPackage {
         javaFiles.add(javaFile);
     }
 
+    /**
+     * Adds a Java file, rendered by the template.
+     * <p>
+     * If the rendering parallelism is larger than 1, the template is rendered when the files are got, together with
+     * the templates of the other files added, on a pool of threads. The file is added in place, so the order of the
+     * files does not depend on the parallelism.
+     *
+     * @param javaFile the Java file.
+     * @param template the template.
+     * @param model the model rendered by the template.
+     * @param <T> the type of the model.
+     */
+    private <T> void addJavaFile(JavaFile javaFile, IJavaTemplate<T, JavaFile> template, T model) {
+        if (settings.getRenderingParallelism() > 1) {
+            pendingRenders.add(() -> render(javaFile, template, model));
+        } else {
+            render(javaFile, template, model);
+        }
+        addJavaFile(javaFile);
+    }
+
+    private <T> void render(JavaFile javaFile, IJavaTemplate<T, JavaFile> template, T model) {
+        if (generationCache != null) {
+            try {
+                String key = generationCache.getKey(template.getClass().getName(), javaFile.getFilePath(), model);
+                String content = generationCache.load(key);
+                if (content != null) {
+                    cachedContents.put(javaFile, content);
+                    return;
+                }
+                generationCacheKeys.put(javaFile, key);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Unable to read generation cache for " + javaFile.getFilePath(), e);
+            }
+        }
+        template.write(model, javaFile);
+    }
+
+    private void renderPendingFiles() {
+        if (pendingRenders.isEmpty()) {
+            return;
+        }
+
+        List<Runnable> renders = new ArrayList<>(pendingRenders);
+        pendingRenders.clear();
+        // the templates read the settings and client models of the session, bound on the threads of the pool
+        ForkJoinPool pool = SessionContext.current().newForkJoinPool(settings.getRenderingParallelism());
+        try {
+            pool.submit(() -> renders.parallelStream().forEach(Runnable::run)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     public void addProtocolExamples(ProtocolExample protocolExample) {
         JavaFile javaFile = javaFileFactory.createSampleFile(settings.getPackage("generated"), protocolExample.getFilename());
         Templates.getProtocolSampleTemplate().write(protocolExample, javaFile);
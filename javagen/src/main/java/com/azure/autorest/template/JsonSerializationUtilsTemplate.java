@@ -0,0 +1,225 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.javamodel.JavaClass;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaModifier;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+import com.azure.json.JsonProviders;
+import com.azure.json.JsonReader;
+import com.azure.json.JsonToken;
+import com.azure.json.JsonWriter;
+import com.azure.json.ReadValueCallback;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Writes the JsonSerializationUtils class, the stream-style serialization shared by the models of the package, in the
+ * implementation package.
+ */
+public class JsonSerializationUtilsTemplate implements IJavaTemplate<Void, JavaFile> {
+    public static final String CLASS_NAME = "JsonSerializationUtils";
+
+    private static final JsonSerializationUtilsTemplate INSTANCE = new JsonSerializationUtilsTemplate();
+
+    protected JsonSerializationUtilsTemplate() {
+    }
+
+    public static JsonSerializationUtilsTemplate getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the package of the JsonSerializationUtils class.
+     *
+     * @param settings The Autorest generation settings.
+     * @return The package of the JsonSerializationUtils class.
+     */
+    public static String getPackageName(JavaSettings settings) {
+        return settings.getPackage(settings.getImplementationSubpackage());
+    }
+
+    @Override
+    public void write(Void model, JavaFile javaFile) {
+        javaFile.declareImport(Arrays.asList(ByteArrayOutputStream.class.getName(), IOException.class.getName(),
+            UncheckedIOException.class.getName(), AbstractList.class.getName(), ArrayList.class.getName(),
+            Iterator.class.getName(), List.class.getName(), NoSuchElementException.class.getName(),
+            Spliterator.class.getName(), Spliterators.class.getName(), JsonProviders.class.getName(),
+            JsonReader.class.getName(), JsonToken.class.getName(), JsonWriter.class.getName(),
+            ReadValueCallback.class.getName()));
+
+        javaFile.javadocComment(comment ->
+            comment.description("The stream-style serialization shared by the models."));
+        javaFile.publicFinalClass(CLASS_NAME, classBlock -> {
+            classBlock.privateConstructor(CLASS_NAME + "()", constructor -> {
+            });
+
+            classBlock.javadocComment(comment -> {
+                comment.description("Copies the JSON value the reader is pointing to, as is, to the writer. Numbers "
+                    + "keep their exact text, and the reader is left pointing to the end of the value.");
+                comment.param("reader", "The JsonReader pointing to the value.");
+                comment.param("writer", "The JsonWriter the value is written to.");
+                comment.methodThrows("IOException", "If an error occurs while reading or writing the value.");
+            });
+            classBlock.staticMethod(JavaVisibility.Public,
+                "void copyJsonValue(JsonReader reader, JsonWriter writer) throws IOException",
+                methodBlock -> methodBlock.line(String.join("\n",
+                    "JsonToken token = reader.currentToken();",
+                    "if (token == JsonToken.START_OBJECT) {",
+                    "    writer.writeStartObject();",
+                    "    while (reader.nextToken() != JsonToken.END_OBJECT) {",
+                    "        writer.writeFieldName(reader.getFieldName());",
+                    "        reader.nextToken();",
+                    "        copyJsonValue(reader, writer);",
+                    "    }",
+                    "    writer.writeEndObject();",
+                    "} else if (token == JsonToken.START_ARRAY) {",
+                    "    writer.writeStartArray();",
+                    "    while (reader.nextToken() != JsonToken.END_ARRAY) {",
+                    "        copyJsonValue(reader, writer);",
+                    "    }",
+                    "    writer.writeEndArray();",
+                    "} else if (token == JsonToken.STRING) {",
+                    "    writer.writeString(reader.getString());",
+                    "} else {",
+                    "    writer.writeRawValue(reader.getText());",
+                    "}")));
+
+            classBlock.javadocComment(comment -> {
+                comment.description("Reads the JSON array the reader is pointing to as a read-only List, which "
+                    + "deserializes the elements on demand.");
+                comment.param("jsonReader", "The JsonReader pointing to the array.");
+                comment.param("elementReader", "The deserializer of the elements.");
+                comment.param("<E>", "The type of the elements.");
+                comment.methodReturns("The List of the elements, or null if the reader was pointing to JSON null.");
+                comment.methodThrows("IOException", "If an error occurs while reading the array.");
+            });
+            classBlock.staticMethod(JavaVisibility.Public, "<E> List<E> readLazyArray(JsonReader jsonReader, "
+                + "ReadValueCallback<JsonReader, E> elementReader) throws IOException", methodBlock -> {
+                methodBlock.ifBlock("jsonReader.currentToken() == JsonToken.NULL",
+                    ifAction -> ifAction.methodReturn("null"));
+                methodBlock.line();
+                methodBlock.line("ByteArrayOutputStream json = new ByteArrayOutputStream();");
+                methodBlock.line("try (JsonWriter writer = JsonProviders.createWriter(json)) {");
+                methodBlock.indent(() -> methodBlock.line("copyJsonValue(jsonReader, writer);"));
+                methodBlock.line("}");
+                methodBlock.methodReturn("new LazyJsonArrayList<>(json.toByteArray(), elementReader)");
+            });
+
+            writeLazyJsonArrayList(classBlock);
+        });
+    }
+
+    /**
+     * Writes the nested class LazyJsonArrayList, the List of the array properties deserialized on demand.
+     * <p>
+     * The list keeps the JSON array, and deserializes its elements in order, once, as far as they are accessed. The
+     * elements deserialized are kept, so every access gets the same instances. Iterating the list only deserializes
+     * the elements iterated, getting its size deserializes all of them. The reader of the JSON array is closed once
+     * all elements are deserialized. The list is read-only.
+     *
+     * @param classBlock The JsonSerializationUtils class.
+     */
+    private static void writeLazyJsonArrayList(JavaClass classBlock) {
+        classBlock.privateStaticFinalClass("LazyJsonArrayList<E> extends AbstractList<E>", listClass -> {
+            listClass.privateFinalMemberVariable("ReadValueCallback<JsonReader, E>", "elementReader");
+            listClass.privateFinalMemberVariable("List<E>", "elements", "new ArrayList<>()");
+            listClass.lineComment("the JSON array, until its reader is created");
+            listClass.privateMemberVariable("byte[]", "json");
+            listClass.lineComment("the reader of the JSON array, until all elements are deserialized");
+            listClass.privateMemberVariable("JsonReader", "reader");
+
+            listClass.privateConstructor("LazyJsonArrayList(byte[] json, ReadValueCallback<JsonReader, E> elementReader)",
+                constructor -> {
+                    constructor.line("this.json = json;");
+                    constructor.line("this.elementReader = elementReader;");
+                });
+
+            listClass.annotation("Override");
+            listClass.method(JavaVisibility.Public, Collections.singletonList(JavaModifier.Synchronized),
+                "E get(int index)", methodBlock -> {
+                    methodBlock.line("readElements(index);");
+                    methodBlock.methodReturn("elements.get(index)");
+                });
+
+            listClass.annotation("Override");
+            listClass.method(JavaVisibility.Public, Collections.singletonList(JavaModifier.Synchronized),
+                "int size()", methodBlock -> {
+                    methodBlock.line("readElements(Integer.MAX_VALUE);");
+                    methodBlock.methodReturn("elements.size()");
+                });
+
+            listClass.annotation("Override");
+            listClass.publicMethod("boolean isEmpty()", methodBlock -> methodBlock.methodReturn("!hasElement(0)"));
+
+            listClass.annotation("Override");
+            listClass.publicMethod("Iterator<E> iterator()", methodBlock -> {
+                methodBlock.line("return new Iterator<E>() {");
+                methodBlock.indent(() -> {
+                    methodBlock.line("private int index;");
+                    methodBlock.line();
+                    methodBlock.annotation("Override");
+                    methodBlock.block("public boolean hasNext()",
+                        hasNext -> hasNext.methodReturn("hasElement(index)"));
+                    methodBlock.line();
+                    methodBlock.annotation("Override");
+                    methodBlock.block("public E next()", next -> {
+                        next.ifBlock("!hasNext()", ifAction -> ifAction.line("throw new NoSuchElementException();"));
+                        next.line();
+                        next.methodReturn("get(index++)");
+                    });
+                });
+                methodBlock.line("};");
+            });
+
+            listClass.annotation("Override");
+            listClass.publicMethod("Spliterator<E> spliterator()", methodBlock -> methodBlock.methodReturn(
+                "Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED)"));
+
+            listClass.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Synchronized),
+                "boolean hasElement(int index)", methodBlock -> {
+                    methodBlock.line("readElements(index);");
+                    methodBlock.methodReturn("index < elements.size()");
+                });
+
+            listClass.lineComment("deserializes the elements up to the index, or all the elements if there are fewer");
+            listClass.privateMethod("void readElements(int index)", methodBlock -> {
+                methodBlock.line(String.join("\n",
+                    "try {",
+                    "    while (elements.size() <= index && (json != null || reader != null)) {",
+                    "        if (reader == null) {",
+                    "            reader = JsonProviders.createReader(json);",
+                    "            json = null;",
+                    "            reader.nextToken(); // Prepare for reading",
+                    "            reader.nextToken();",
+                    "        }",
+                    "",
+                    "        if (reader.currentToken() == JsonToken.END_ARRAY) {",
+                    "            reader.close();",
+                    "            reader = null;",
+                    "        } else {",
+                    "            elements.add(elementReader.read(reader));",
+                    "            reader.nextToken();",
+                    "        }",
+                    "    }",
+                    "} catch (IOException e) {",
+                    "    throw new UncheckedIOException(e);",
+                    "}"));
+            });
+        });
+    }
+}
@@ -12,6 +12,7 @@ import com.azure.autorest.model.javamodel.JavaClass;
 import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.autorest.model.javamodel.JavaVisibility;
 import com.azure.autorest.util.ClientModelUtil;
+import com.azure.autorest.util.ProxyUtil;
 import com.azure.autorest.util.TemplateUtil;
 
 import java.util.HashSet;
@@ -97,6 +98,12 @@ public class MethodGroupTemplate implements IJavaTemplate<MethodGroupClient, Jav
     }
 
     protected void writeServiceProxyConstruction(JavaBlock constructor, MethodGroupClient methodGroupClient) {
+        if (ProxyUtil.isImplementationGenerated(methodGroupClient.getProxy(), JavaSettings.getInstance())) {
+            constructor.line(String.format("this.service = new %1$s(client.getHttpPipeline(), client.getSerializerAdapter());",
+                ProxyUtil.getImplementationName(methodGroupClient.getProxy())));
+            return;
+        }
+
         ClassType proxyType = ClassType.RestProxy;
         constructor.line(String.format("this.service = %1$s.create(%2$s.class, client.getHttpPipeline(), client.getSerializerAdapter());",
                 proxyType.getName(), methodGroupClient.getProxy().getName()));
@@ -155,7 +155,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                     ? JavaVisibility.Private
                     : JavaVisibility.Public;
 
-                generateGetterJavadoc(classBlock, model, property);
+                generateGetterJavadoc(classBlock, model, property, getGetterJavadocNote(model, property, settings));
                 if (property.isAdditionalProperties() && !settings.isStreamStyleSerialization()) {
                     classBlock.annotation("JsonAnyGetter");
                 }
@@ -227,7 +227,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                     final IType propertyClientTypeFinal = propertyClientType;
 
                     // getter
-                    generateGetterJavadoc(classBlock, model, property);
+                    generateGetterJavadoc(classBlock, model, property, null);
                     classBlock.publicMethod(String.format("%1$s %2$s()", propertyClientType, propertyReference.getGetterName()), methodBlock -> {
                         // use ternary operator to avoid directly return null
                         String ifClause = String.format("this.%1$s() == null", targetProperty.getGetterName());
@@ -296,12 +296,8 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             imports.add(JacksonAdapter.class.getName());
         }
 
-        String lastParentName = model.getName();
-        ClientModel parentModel = ClientModelUtil.getClientModel(model.getParentModelName());
-        while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
             imports.addAll(parentModel.getImports());
-            lastParentName = parentModel.getName();
-            parentModel = ClientModelUtil.getClientModel(parentModel.getParentModelName());
         }
 
         model.addImportsTo(imports, settings);
@@ -889,6 +885,18 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
         return property.getGetterName();
     }
 
+    /**
+     * Extension for a note in the Javadoc of the property getter, on the value it gets.
+     *
+     * @param model the model
+     * @param property the property
+     * @param settings Autorest generation settings.
+     * @return The note, or null if there is none.
+     */
+    protected String getGetterJavadocNote(ClientModel model, ClientModelProperty property, JavaSettings settings) {
+        return null;
+    }
+
     /**
      * Extension for Fluent list of client model property reference.
      *
@@ -897,28 +905,20 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
      */
     protected List<ClientModelPropertyReference> getClientModelPropertyReferences(ClientModel model) {
         List<ClientModelPropertyReference> propertyReferences = new ArrayList<>();
-        String lastParentName = model.getName();
-        String parentModelName = model.getParentModelName();
-        while (parentModelName != null && !lastParentName.equals(parentModelName)) {
-            ClientModel parentModel = ClientModelUtil.getClientModel(parentModelName);
-            if (parentModel != null) {
-                if (parentModel.getProperties() != null) {
-                    parentModel.getProperties().stream()
-                        .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
-                        .map(ClientModelPropertyReference::ofParentProperty)
-                        .forEach(propertyReferences::add);
-                }
-
-                if (parentModel.getPropertyReferences() != null) {
-                    parentModel.getPropertyReferences().stream()
-                        .filter(ClientModelPropertyReference::isFromFlattenedProperty)
-                        .map(ClientModelPropertyReference::ofParentProperty)
-                        .forEach(propertyReferences::add);
-                }
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
+            if (parentModel.getProperties() != null) {
+                parentModel.getProperties().stream()
+                    .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
+                    .map(ClientModelPropertyReference::ofParentProperty)
+                    .forEach(propertyReferences::add);
             }
 
-            lastParentName = parentModelName;
-            parentModelName = parentModel == null ? null : parentModel.getParentModelName();
+            if (parentModel.getPropertyReferences() != null) {
+                parentModel.getPropertyReferences().stream()
+                    .filter(ClientModelPropertyReference::isFromFlattenedProperty)
+                    .map(ClientModelPropertyReference::ofParentProperty)
+                    .forEach(propertyReferences::add);
+            }
         }
         return propertyReferences;
     }
@@ -937,9 +937,12 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
 
     // Javadoc for getter method
     private static void generateGetterJavadoc(JavaClass classBlock, ClientModel model,
-        ClientModelPropertyAccess property) {
+        ClientModelPropertyAccess property, String note) {
         classBlock.javadocComment(JavaSettings.getInstance().getMaximumJavadocCommentWidth(), comment -> {
             comment.description(String.format("Get the %1$s property: %2$s", property.getName(), property.getDescription()));
+            if (note != null) {
+                comment.description(note);
+            }
             comment.methodReturns(String.format("the %1$s value", property.getName()));
         });
     }
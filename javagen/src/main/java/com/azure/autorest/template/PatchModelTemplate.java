@@ -62,12 +62,8 @@ public class PatchModelTemplate implements IJavaTemplate<ClientModel, JavaFile>
             imports.add(JsonSetter.class.getName());
         }
 
-        String lastParentName = model.getName();
-        ClientModel parentModel = ClientModelUtil.getClientModel(model.getParentModelName());
-        while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
             imports.addAll(parentModel.getImports());
-            lastParentName = parentModel.getName();
-            parentModel = ClientModelUtil.getClientModel(parentModel.getParentModelName());
         }
 
         List<ClientModelPropertyReference> propertyReferences = this.getClientModelPropertyReferences(model);
@@ -198,28 +194,20 @@ public class PatchModelTemplate implements IJavaTemplate<ClientModel, JavaFile>
      */
     protected List<ClientModelPropertyReference> getClientModelPropertyReferences(ClientModel model) {
         List<ClientModelPropertyReference> propertyReferences = new ArrayList<>();
-        String lastParentName = model.getName();
-        String parentModelName = model.getParentModelName();
-        while (parentModelName != null && !lastParentName.equals(parentModelName)) {
-            ClientModel parentModel = ClientModelUtil.getClientModel(parentModelName);
-            if (parentModel != null) {
-                if (parentModel.getProperties() != null) {
-                    propertyReferences.addAll(parentModel.getProperties().stream()
-                            .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
-                            .map(ClientModelPropertyReference::ofParentProperty)
-                            .collect(Collectors.toList()));
-                }
-
-                if (parentModel.getPropertyReferences() != null) {
-                    propertyReferences.addAll(parentModel.getPropertyReferences().stream()
-                            .filter(ClientModelPropertyReference::isFromFlattenedProperty)
-                            .map(ClientModelPropertyReference::ofParentProperty)
-                            .collect(Collectors.toList()));
-                }
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
+            if (parentModel.getProperties() != null) {
+                propertyReferences.addAll(parentModel.getProperties().stream()
+                        .filter(p -> !p.getClientFlatten() && !p.isAdditionalProperties())
+                        .map(ClientModelPropertyReference::ofParentProperty)
+                        .collect(Collectors.toList()));
             }
 
-            lastParentName = parentModelName;
-            parentModelName = parentModel == null ? null : parentModel.getParentModelName();
+            if (parentModel.getPropertyReferences() != null) {
+                propertyReferences.addAll(parentModel.getPropertyReferences().stream()
+                        .filter(ClientModelPropertyReference::isFromFlattenedProperty)
+                        .map(ClientModelPropertyReference::ofParentProperty)
+                        .collect(Collectors.toList()));
+            }
         }
         return propertyReferences;
     }
@@ -0,0 +1,338 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.clientmodel.Proxy;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ProxyMethodParameter;
+import com.azure.autorest.model.javamodel.JavaBlock;
+import com.azure.autorest.model.javamodel.JavaClass;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+import com.azure.autorest.util.ProxyUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the generated implementation of a Proxy to a JavaClass block.
+ * <p>
+ * The implementation sends the requests to the HTTP pipeline directly, so the client doesn't need RestProxy, which
+ * parses the annotations of the interface by reflection and creates a dynamic proxy of it. It is only written for a
+ * Proxy supported by {@link ProxyUtil#isImplementationGenerated(Proxy, JavaSettings)}.
+ */
+public class ProxyImplementationTemplate implements IJavaTemplate<Proxy, JavaClass> {
+    private static final ProxyImplementationTemplate INSTANCE = new ProxyImplementationTemplate();
+
+    protected ProxyImplementationTemplate() {
+    }
+
+    public static ProxyImplementationTemplate getInstance() {
+        return INSTANCE;
+    }
+
+    public final void write(Proxy restAPI, JavaClass classBlock) {
+        JavaSettings settings = JavaSettings.getInstance();
+        String implementationName = ProxyUtil.getImplementationName(restAPI);
+
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+            comment.description(String.format("The implementation of %1$s that sends the requests to the HTTP pipeline directly, instead of by %2$s.",
+                restAPI.getName(), ClassType.RestProxy.getName())));
+        classBlock.privateStaticFinalClass(String.format("%1$s implements %2$s", implementationName, restAPI.getName()), implementationBlock -> {
+            // the characters RestProxy doesn't escape, besides letters and digits, as its UrlEscapers
+            if (hasEscapedParameter(restAPI, RequestParameterLocation.PATH)) {
+                implementationBlock.privateStaticFinalVariable("String PATH_SAFE_CHARACTERS = \"-._~!$&'()*+,;=:@\"");
+            }
+            if (hasEscapedParameter(restAPI, RequestParameterLocation.QUERY)) {
+                implementationBlock.privateStaticFinalVariable("String QUERY_SAFE_CHARACTERS = \"-._~/?\"");
+            }
+
+            implementationBlock.privateFinalMemberVariable(ClassType.HttpPipeline.getName(), "httpPipeline");
+            implementationBlock.privateFinalMemberVariable(ClassType.SerializerAdapter.getName(), "serializer");
+
+            implementationBlock.packagePrivateConstructor(String.format("%1$s(%2$s httpPipeline, %3$s serializer)", implementationName,
+                ClassType.HttpPipeline.getName(), ClassType.SerializerAdapter.getName()), constructor -> {
+                constructor.line("this.httpPipeline = httpPipeline;");
+                constructor.line("this.serializer = serializer;");
+            });
+
+            for (ProxyMethod restAPIMethod : restAPI.getMethods()) {
+                writeProxyMethod(restAPI, restAPIMethod, implementationBlock, settings);
+            }
+
+            writeHelperMethods(restAPI, implementationBlock);
+        });
+    }
+
+    private static void writeProxyMethod(Proxy restAPI, ProxyMethod restAPIMethod, JavaClass implementationBlock,
+        JavaSettings settings) {
+        String parameterDeclarations = restAPIMethod.getParameters().stream()
+            .map(parameter -> parameter.getWireType() + " " + parameter.getName())
+            .collect(Collectors.joining(", "));
+
+        implementationBlock.annotation("Override");
+        implementationBlock.publicMethod(String.format("%1$s %2$s(%3$s)", restAPIMethod.getReturnType().getClientType(),
+            restAPIMethod.getName(), parameterDeclarations), function -> {
+            writeRequest(restAPI, restAPIMethod, function);
+
+            String context = restAPIMethod.getParameters().stream()
+                .filter(parameter -> parameter.getWireType() == ClassType.Context)
+                .map(ProxyMethodParameter::getName)
+                .findFirst()
+                .orElse("Context.NONE");
+            ClassType responseBodyType = ProxyUtil.getResponseBodyType(restAPIMethod);
+            String unexpectedStatusCode = getUnexpectedStatusCodeCondition(restAPIMethod);
+            String exception = getExceptionExpression(restAPIMethod, settings);
+
+            if (restAPIMethod.isSync()) {
+                function.line("HttpResponse httpResponse = this.httpPipeline.sendSync(httpRequest, %1$s);", context);
+                function.line("int statusCode = httpResponse.getStatusCode();");
+                function.ifBlock(unexpectedStatusCode, ifBlock -> {
+                    ifBlock.line("String responseBody = getBodyAsString(httpResponse);");
+                    ifBlock.line("throw %1$s;", exception);
+                });
+                if (responseBodyType == ClassType.Void) {
+                    function.line("httpResponse.close();");
+                    function.methodReturn("toResponse(httpResponse, null)");
+                } else {
+                    function.methodReturn(String.format("toResponse(httpResponse, deserialize(httpResponse, getBodyAsString(httpResponse), %1$s.class))",
+                        responseBodyType));
+                }
+            } else {
+                function.line("return this.httpPipeline.send(httpRequest, %1$s).flatMap(httpResponse -> {", context);
+                function.indent(() -> {
+                    function.line("int statusCode = httpResponse.getStatusCode();");
+                    function.ifBlock(unexpectedStatusCode, ifBlock -> {
+                        ifBlock.line("return httpResponse.getBodyAsString().defaultIfEmpty(\"\")");
+                        ifBlock.line("    .flatMap(responseBody -> Mono.error(%1$s));", exception);
+                    });
+                    if (responseBodyType == ClassType.Void) {
+                        function.line("httpResponse.close();");
+                        function.methodReturn("Mono.just(toResponse(httpResponse, null))");
+                    } else {
+                        function.line("return httpResponse.getBodyAsString()");
+                        function.line("    .map(responseBody -> toResponse(httpResponse, deserialize(httpResponse, responseBody, %1$s.class)))",
+                            responseBodyType);
+                        function.line("    .switchIfEmpty(Mono.fromCallable(() -> toResponse(httpResponse, null)));");
+                    }
+                });
+                function.line("});");
+            }
+        });
+    }
+
+    private static void writeRequest(Proxy restAPI, ProxyMethod restAPIMethod, JavaBlock function) {
+        Map<String, String> hostValues = new HashMap<>();
+        Map<String, String> pathValues = new HashMap<>();
+        for (ProxyMethodParameter parameter : restAPIMethod.getParameters()) {
+            if (parameter.getRequestParameterLocation() == RequestParameterLocation.URI) {
+                hostValues.put(parameter.getRequestParameterName(), getStringValue(parameter));
+            } else if (parameter.getRequestParameterLocation() == RequestParameterLocation.PATH) {
+                pathValues.put(parameter.getRequestParameterName(), getEncodedValue(parameter));
+            }
+        }
+        function.line("StringBuilder requestUrl = createUrl(%1$s, %2$s);", getTemplateExpression(restAPI.getBaseURL(), hostValues),
+            getTemplateExpression(restAPIMethod.getUrlPath(), pathValues));
+
+        for (ProxyMethodParameter parameter : restAPIMethod.getParameters()) {
+            if (parameter.getRequestParameterLocation() == RequestParameterLocation.QUERY) {
+                function.line("appendQueryParameter(requestUrl, \"%1$s\", %2$s);", parameter.getRequestParameterName(),
+                    getEncodedValue(parameter));
+            }
+        }
+
+        function.line("HttpRequest httpRequest = new HttpRequest(HttpMethod.%1$s, requestUrl.toString());",
+            restAPIMethod.getHttpMethod());
+        for (ProxyMethodParameter parameter : restAPIMethod.getParameters()) {
+            if (parameter.getRequestParameterLocation() == RequestParameterLocation.HEADER) {
+                function.line("setHeader(httpRequest, \"%1$s\", %2$s);", parameter.getRequestParameterName(),
+                    getStringValue(parameter));
+            }
+        }
+        // as RestProxy, a request without a body has a Content-Length of 0
+        ProxyMethodParameter bodyParameter = restAPIMethod.getParameters().stream()
+            .filter(parameter -> parameter.getRequestParameterLocation() == RequestParameterLocation.BODY)
+            .findFirst()
+            .orElse(null);
+        if (bodyParameter == null) {
+            function.line("httpRequest.setHeader(\"Content-Length\", \"0\");");
+        } else {
+            Runnable setBody = () -> {
+                function.line("httpRequest.setHeader(\"Content-Type\", \"%1$s\");", restAPIMethod.getRequestContentType());
+                function.line("httpRequest.setBody(serialize(%1$s));", bodyParameter.getName());
+            };
+            if (bodyParameter.getWireType() instanceof PrimitiveType) {
+                setBody.run();
+            } else {
+                function.ifBlock(bodyParameter.getName() + " != null", ifBlock -> setBody.run())
+                    .elseBlock(elseBlock -> elseBlock.line("httpRequest.setHeader(\"Content-Length\", \"0\");"));
+            }
+        }
+    }
+
+    private static void writeHelperMethods(Proxy restAPI, JavaClass implementationBlock) {
+        implementationBlock.javadocComment("Creates the URL of the request. An absolute path, as the next link of a page, replaces the host.");
+        implementationBlock.staticMethod(JavaVisibility.Private, "StringBuilder createUrl(String host, String path)", function -> {
+            function.ifBlock("path.startsWith(\"http://\") || path.startsWith(\"https://\")",
+                ifBlock -> ifBlock.methodReturn("new StringBuilder(path)"));
+            function.ifBlock("host.endsWith(\"/\") && path.startsWith(\"/\")",
+                ifBlock -> ifBlock.methodReturn("new StringBuilder(host).append(path, 1, path.length())"));
+            function.methodReturn("new StringBuilder(host).append(path)");
+        });
+
+        if (hasParameter(restAPI, ProxyUtil::isEscaped)) {
+            // UrlEscapers of RestProxy is in a package azure-core doesn't export
+            implementationBlock.javadocComment("Escapes the value as RestProxy does, percent-encoding the UTF-8 bytes of the characters other than letters, digits and the safe characters.");
+            implementationBlock.staticMethod(JavaVisibility.Private, "String escape(String value, String safeCharacters)", function -> {
+                function.ifBlock("value == null", ifBlock -> ifBlock.methodReturn("null"));
+                function.line("StringBuilder escaped = new StringBuilder(value.length());");
+                function.block("for (byte b : value.getBytes(StandardCharsets.UTF_8))", forBlock -> {
+                    forBlock.line("char c = (char) (b & 0xFF);");
+                    forBlock.ifBlock("(c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || safeCharacters.indexOf(c) >= 0",
+                        ifBlock -> ifBlock.line("escaped.append(c);"))
+                        .elseBlock(elseBlock -> elseBlock.line("escaped.append('%').append(\"0123456789ABCDEF\".charAt(c >> 4)).append(\"0123456789ABCDEF\".charAt(c & 0xF));"));
+                });
+                function.methodReturn("escaped.toString()");
+            });
+        }
+
+        if (hasParameter(restAPI, parameter -> parameter.getRequestParameterLocation() == RequestParameterLocation.QUERY)) {
+            implementationBlock.staticMethod(JavaVisibility.Private, "void appendQueryParameter(StringBuilder requestUrl, String name, String value)", function -> {
+                function.ifBlock("value != null", ifBlock ->
+                    ifBlock.line("requestUrl.append(requestUrl.indexOf(\"?\") < 0 ? '?' : '&').append(name).append('=').append(value);"));
+            });
+        }
+
+        if (hasParameter(restAPI, parameter -> parameter.getRequestParameterLocation() == RequestParameterLocation.HEADER)) {
+            implementationBlock.staticMethod(JavaVisibility.Private, "void setHeader(HttpRequest httpRequest, String name, String value)", function -> {
+                function.ifBlock("value != null", ifBlock -> ifBlock.line("httpRequest.setHeader(name, value);"));
+            });
+        }
+
+        if (hasParameter(restAPI, parameter -> parameter.getRequestParameterLocation() == RequestParameterLocation.BODY)) {
+            implementationBlock.privateMethod("String serialize(Object value)", function -> {
+                function.tryBlock(tryBlock -> tryBlock.methodReturn("this.serializer.serialize(value, SerializerEncoding.JSON)"))
+                    .catchBlock("IOException e", catchBlock -> catchBlock.line("throw new UncheckedIOException(e);"));
+            });
+        }
+
+        if (restAPI.getMethods().stream().anyMatch(method -> ProxyUtil.getResponseBodyType(method) != ClassType.Void)) {
+            implementationBlock.privateMethod("<T> T deserialize(HttpResponse httpResponse, String responseBody, Class<T> type)", function -> {
+                function.tryBlock(tryBlock -> tryBlock.methodReturn("this.serializer.deserialize(responseBody, type, SerializerEncoding.fromHeaders(httpResponse.getHeaders()))"))
+                    .catchBlock("IOException e", catchBlock -> catchBlock.line("throw new UncheckedIOException(e);"));
+            });
+        }
+
+        if (restAPI.getMethods().stream().anyMatch(ProxyMethod::isSync)) {
+            implementationBlock.staticMethod(JavaVisibility.Private, "String getBodyAsString(HttpResponse httpResponse)", function -> {
+                function.line("BinaryData responseBody = httpResponse.getBodyAsBinaryData();");
+                function.methodReturn("responseBody == null ? \"\" : responseBody.toString()");
+            });
+        }
+
+        implementationBlock.staticMethod(JavaVisibility.Private, "<T> Response<T> toResponse(HttpResponse httpResponse, T value)", function ->
+            function.methodReturn("new SimpleResponse<>(httpResponse.getRequest(), httpResponse.getStatusCode(), httpResponse.getHeaders(), value)"));
+
+        implementationBlock.staticMethod(JavaVisibility.Private, "String errorMessage(HttpResponse httpResponse, String responseBody)", function ->
+            function.methodReturn("\"Status code \" + httpResponse.getStatusCode() + \", \" + (responseBody.isEmpty() ? \"(empty body)\" : \"\\\"\" + responseBody + \"\\\"\")"));
+
+        implementationBlock.javadocComment("Deserializes the body of an unexpected response, null if it can't be deserialized.");
+        implementationBlock.privateMethod("Object errorValue(HttpResponse httpResponse, String responseBody)", function -> {
+            function.tryBlock(tryBlock -> tryBlock.methodReturn("this.serializer.deserialize(responseBody, Object.class, SerializerEncoding.fromHeaders(httpResponse.getHeaders()))"))
+                .catchBlock("IOException e", catchBlock -> catchBlock.methodReturn("null"));
+        });
+    }
+
+    /*
+     * Gets the expression of the URL template, e.g. "/pets/{petId}", with its variables replaced by the expressions
+     * of their values. A variable without a value is kept as is.
+     */
+    private static String getTemplateExpression(String template, Map<String, String> values) {
+        List<String> expressions = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < template.length()) {
+            int variableStart = template.indexOf('{', index);
+            int variableEnd = variableStart < 0 ? -1 : template.indexOf('}', variableStart);
+            if (variableEnd < 0) {
+                literal.append(template, index, template.length());
+                break;
+            }
+
+            String value = values.get(template.substring(variableStart + 1, variableEnd));
+            if (value == null) {
+                literal.append(template, index, variableEnd + 1);
+            } else {
+                literal.append(template, index, variableStart);
+                if (literal.length() > 0) {
+                    expressions.add(quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                expressions.add(value);
+            }
+            index = variableEnd + 1;
+        }
+        if (literal.length() > 0 || expressions.isEmpty()) {
+            expressions.add(quote(literal.toString()));
+        }
+        return String.join(" + ", expressions);
+    }
+
+    private static String getUnexpectedStatusCodeCondition(ProxyMethod restAPIMethod) {
+        if (restAPIMethod.getResponseExpectedStatusCodes().isEmpty()) {
+            return "statusCode >= 400";
+        }
+        return restAPIMethod.getResponseExpectedStatusCodes().stream()
+            .map(statusCode -> "statusCode != " + statusCode)
+            .collect(Collectors.joining(" && "));
+    }
+
+    private static String getExceptionExpression(ProxyMethod restAPIMethod, JavaSettings settings) {
+        String arguments = "(errorMessage(httpResponse, responseBody), httpResponse, errorValue(httpResponse, responseBody))";
+        StringBuilder expression = new StringBuilder();
+        for (Map.Entry<ClassType, List<Integer>> exception : ProxyUtil.getUnexpectedResponseExceptionTypes(restAPIMethod, settings).entrySet()) {
+            expression.append(exception.getValue().stream().map(statusCode -> "statusCode == " + statusCode).collect(Collectors.joining(" || ")))
+                .append(" ? new ").append(exception.getKey().getName()).append(arguments).append(" : ");
+        }
+        return expression.append("new ").append(ProxyUtil.getUnexpectedResponseExceptionType(restAPIMethod, settings).getName())
+            .append(arguments).toString();
+    }
+
+    private static String getEncodedValue(ProxyMethodParameter parameter) {
+        if (!ProxyUtil.isEscaped(parameter)) {
+            return getStringValue(parameter);
+        }
+        return String.format("escape(%1$s, %2$s)", getStringValue(parameter),
+            parameter.getRequestParameterLocation() == RequestParameterLocation.PATH ? "PATH_SAFE_CHARACTERS" : "QUERY_SAFE_CHARACTERS");
+    }
+
+    private static String getStringValue(ProxyMethodParameter parameter) {
+        if (parameter.getWireType() == ClassType.String) {
+            return parameter.getName();
+        } else if (parameter.getWireType() instanceof PrimitiveType) {
+            return "String.valueOf(" + parameter.getName() + ")";
+        } else {
+            return "this.serializer.serializeRaw(" + parameter.getName() + ")";
+        }
+    }
+
+    private static boolean hasEscapedParameter(Proxy restAPI, RequestParameterLocation location) {
+        return hasParameter(restAPI, parameter -> parameter.getRequestParameterLocation() == location && ProxyUtil.isEscaped(parameter));
+    }
+
+    private static boolean hasParameter(Proxy restAPI, Predicate<ProxyMethodParameter> predicate) {
+        return restAPI.getMethods().stream().flatMap(method -> method.getParameters().stream()).anyMatch(predicate);
+    }
+
+    private static String quote(String literal) {
+        return "\"" + literal.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -14,6 +14,7 @@ import com.azure.autorest.model.javamodel.JavaClass;
 import com.azure.autorest.model.javamodel.JavaInterface;
 import com.azure.autorest.model.javamodel.JavaVisibility;
 import com.azure.autorest.util.CodeNamer;
+import com.azure.autorest.util.ProxyUtil;
 import com.azure.core.http.ContentType;
 
 import java.util.ArrayList;
@@ -72,7 +73,7 @@ public class ProxyTemplate implements IJavaTemplate<Proxy, JavaClass> {
                         }
                     }
 
-                    if (!settings.isDataPlaneClient() || isExceptionCustomized()) {
+                    if (ProxyUtil.isUnexpectedResponseExceptionTypeUsed(settings)) {
                         // write @UnexpectedResponseExceptionType
 
                         if (restAPIMethod.getUnexpectedResponseExceptionTypes() != null) {
@@ -149,9 +150,23 @@ public class ProxyTemplate implements IJavaTemplate<Proxy, JavaClass> {
                     writeProxyMethodSignature(parameterDeclarationList, restAPIMethod, interfaceBlock);
                 }
             });
+
+            if (ProxyUtil.isImplementationGenerated(restAPI, settings)) {
+                ProxyImplementationTemplate.getInstance().write(restAPI, classBlock);
+            }
         }
     }
 
+    /**
+     * Whether the REST API interface may be implemented by generated code, instead of by RestProxy, see
+     * {@link ProxyUtil#isImplementationGenerated(Proxy, JavaSettings)}.
+     *
+     * @return whether the REST API interface may be implemented by generated code
+     */
+    public boolean isImplementationGenerationSupported() {
+        return true;
+    }
+
     protected void writeUnexpectedExceptions(ProxyMethod restAPIMethod, JavaInterface interfaceBlock) {
         for (Map.Entry<ClassType, List<Integer>> exception : restAPIMethod.getUnexpectedResponseExceptionTypes().entrySet()) {
             interfaceBlock.annotation(String.format("UnexpectedResponseExceptionType(value = %1$s.class, code = {%2$s})",
@@ -185,11 +200,4 @@ public class ProxyTemplate implements IJavaTemplate<Proxy, JavaClass> {
      */
     protected void writeProxyMethodHeaders(ProxyMethod restAPIMethod, JavaInterface interfaceBlock) {
     }
-
-    private static boolean isExceptionCustomized() {
-        JavaSettings settings = JavaSettings.getInstance();
-        return settings.getDefaultHttpExceptionType() != null
-                || settings.isUseDefaultHttpStatusCodeToExceptionTypeMapping()
-                || settings.getHttpStatusCodeToExceptionTypeMapping() != null;
-    }
 }
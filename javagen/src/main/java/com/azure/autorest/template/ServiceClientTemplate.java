@@ -26,6 +26,7 @@ import com.azure.autorest.template.prototype.MethodTemplate;
 import com.azure.autorest.util.ClientModelUtil;
 import com.azure.autorest.util.CodeNamer;
 import com.azure.autorest.util.ModelNamer;
+import com.azure.autorest.util.ProxyUtil;
 import com.azure.autorest.util.TemplateUtil;
 
 import java.util.ArrayList;
@@ -229,7 +230,7 @@ public class ServiceClientTemplate implements IJavaTemplate<ServiceClient, JavaF
                             }
 
                             if (serviceClient.getProxy() != null) {
-                                constructorBlock.line(String.format("this.service = %1$s.create(%2$s.class, this.httpPipeline, %3$s);", ClassType.RestProxy.getName(), serviceClient.getProxy().getName(), getSerializerPhrase()));
+                                writeServiceProxyConstruction(constructorBlock, serviceClient);
                             }
                         }
                     } else {
@@ -272,7 +273,7 @@ public class ServiceClientTemplate implements IJavaTemplate<ServiceClient, JavaF
                             }
 
                             if (serviceClient.getProxy() != null) {
-                                constructorBlock.line("this.service = %s.create(%s.class, this.httpPipeline, %s);", ClassType.RestProxy.getName(), serviceClient.getProxy().getName(), getSerializerPhrase());
+                                writeServiceProxyConstruction(constructorBlock, serviceClient);
                             }
                         }
                     }
@@ -293,6 +294,14 @@ public class ServiceClientTemplate implements IJavaTemplate<ServiceClient, JavaF
         });
     }
 
+    protected void writeServiceProxyConstruction(JavaBlock constructorBlock, ServiceClient serviceClient) {
+        if (ProxyUtil.isImplementationGenerated(serviceClient.getProxy(), JavaSettings.getInstance())) {
+            constructorBlock.line("this.service = new %s(this.httpPipeline, %s);", ProxyUtil.getImplementationName(serviceClient.getProxy()), getSerializerPhrase());
+        } else {
+            constructorBlock.line("this.service = %s.create(%s.class, this.httpPipeline, %s);", ClassType.RestProxy.getName(), serviceClient.getProxy().getName(), getSerializerPhrase());
+        }
+    }
+
     protected String getSerializerPhrase() {
         return "this.getSerializerAdapter()";
     }
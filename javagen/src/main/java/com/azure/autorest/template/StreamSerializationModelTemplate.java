@@ -21,6 +21,7 @@ import com.azure.autorest.model.javamodel.JavaIfBlock;
 import com.azure.autorest.model.javamodel.JavaVisibility;
 import com.azure.autorest.util.CodeNamer;
 import com.azure.core.util.CoreUtils;
+import com.azure.json.JsonProviders;
 import com.azure.json.JsonReader;
 import com.azure.json.JsonSerializable;
 import com.azure.json.JsonToken;
@@ -32,6 +33,7 @@ import com.azure.xml.XmlWriter;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -83,6 +85,16 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
             imports.add(JsonWriter.class.getName());
             imports.add(JsonReader.class.getName());
             imports.add(JsonToken.class.getName());
+
+            if (settings.isStreamStyleDeferPolymorphicFields() && isSuperTypeWithDiscriminator(model)) {
+                imports.add(ByteArrayOutputStream.class.getName());
+                imports.add(JsonProviders.class.getName());
+            }
+
+            if (usesJsonSerializationUtils(model, settings)) {
+                imports.add(JsonSerializationUtilsTemplate.getPackageName(settings) + "."
+                    + JsonSerializationUtilsTemplate.CLASS_NAME);
+            }
         }
 
         imports.add(CoreUtils.class.getName());
@@ -101,6 +113,13 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
         // no-op as stream-style serialization doesn't need to add anything for polymorphic types.
     }
 
+    @Override
+    protected String getGetterJavadocNote(ClientModel model, ClientModelProperty property, JavaSettings settings) {
+        return isLazyArrayProperty(model, property, settings)
+            ? "The list deserialized by fromJson is read-only, and deserializes its elements on demand."
+            : null;
+    }
+
     @Override
     protected void addClassLevelAnnotations(ClientModel model, JavaFile javaFile, JavaSettings settings) {
         // no-op as stream-style serialization doesn't add any class-level annotations.
@@ -508,88 +527,173 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
         // type as the field.
         String fieldNameVariableName = propertiesManager.getJsonReaderFieldNameVariableName();
         ClientModelProperty discriminatorProperty = propertiesManager.getDiscriminatorProperty();
-        readJsonObject(classBlock, propertiesManager, false, methodBlock -> {
-            methodBlock.line(String.join("\n",
-                "String discriminatorValue = null;",
-                "JsonReader readerToUse = null;",
-                "",
-                "// Read the first field name and determine if it's the discriminator field.",
-                "reader.nextToken();",
-                "if (\"" + discriminatorProperty.getSerializedName() + "\".equals(reader.getFieldName())) {",
-                "    reader.nextToken();",
-                "    discriminatorValue = reader.getString();",
-                "    readerToUse = reader;",
-                "} else {",
-                "    // If it isn't the discriminator field buffer the JSON to make it replayable and find the discriminator field value.",
-                "    JsonReader replayReader = reader.bufferObject();",
-                "    replayReader.nextToken(); // Prepare for reading",
-                "    while (replayReader.nextToken() != JsonToken.END_OBJECT) {",
-                "        String " + fieldNameVariableName + " = replayReader.getFieldName();",
-                "        replayReader.nextToken();",
-                "        if (\"" + discriminatorProperty.getSerializedName() + "\".equals(" + fieldNameVariableName + ")) {",
-                "            discriminatorValue = replayReader.getString();",
-                "            break;",
-                "        } else {",
-                "            replayReader.skipChildren();",
-                "        }",
-                "    }",
-                "",
-                "    if (discriminatorValue != null) {",
-                "        readerToUse = replayReader.reset();",
-                "    }",
-                "}"
-            ));
-
-            methodBlock.line("// Use the discriminator value to determine which subtype should be deserialized.");
-
-            // Add a throw statement if the discriminator value didn't match anything known.
-            StringBuilder exceptionMessage = new StringBuilder("Discriminator field '")
-                .append(discriminatorProperty.getSerializedName())
-                .append("' didn't match one of the expected values ");
-
-            if (!CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) {
-                exceptionMessage.append("'").append(propertiesManager.getExpectedDiscriminator()).append("'");
+        boolean deferredFields = settings.isStreamStyleDeferPolymorphicFields();
+        readJsonObject(classBlock, propertiesManager, false, false, methodBlock -> {
+            if (deferredFields) {
+                writeDeferredDiscriminatorLookup(methodBlock, discriminatorProperty, fieldNameVariableName);
+
+                // The subtype has read the deferred fields once it returns, close their reader then.
+                methodBlock.tryBlock(tryBlock -> writeSubtypeDeserialization(tryBlock, model, propertiesManager,
+                    discriminatorProperty, true))
+                    .finallyBlock(finallyBlock -> finallyBlock.ifBlock("deferredFieldsReader != null",
+                        ifBlock -> ifBlock.line("deferredFieldsReader.close();")));
+            } else {
+                writeBufferedDiscriminatorLookup(methodBlock, discriminatorProperty, fieldNameVariableName);
+                writeSubtypeDeserialization(methodBlock, model, propertiesManager, discriminatorProperty, false);
             }
+        });
 
-            // Add deserialization for the super type itself.
-            JavaIfBlock ifBlock = (CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) ? null
-                : methodBlock.ifBlock("discriminatorValue == null || \"" + propertiesManager.getExpectedDiscriminator() + "\".equals(discriminatorValue)",
-                ifStatement -> ifStatement.methodReturn("fromJsonKnownDiscriminator(readerToUse)"));
+        if (!CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) {
+            readJsonObject(classBlock, propertiesManager, true, deferredFields,
+                methodBlock -> writeFromJsonDeserialization(methodBlock, propertiesManager, deferredFields, settings));
+        }
+    }
 
-            // Add deserialization for all child types.
-            List<ClientModel> childTypes = getAllChildTypes(model, new ArrayList<>());
-            for (int i = 0; i < childTypes.size(); i++) {
-                ClientModel childType = childTypes.get(i);
+    /*
+     * Writes the deserialization of the subtype, or the super type itself, the discriminator value names.
+     */
+    private static void writeSubtypeDeserialization(JavaBlock methodBlock, ClientModel model,
+        ClientModelPropertiesManager propertiesManager, ClientModelProperty discriminatorProperty,
+        boolean deferredFields) {
+        methodBlock.line("// Use the discriminator value to determine which subtype should be deserialized.");
+        String readerArguments = deferredFields ? "(readerToUse, deferredReader)" : "(readerToUse)";
 
-                ifBlock = ifOrElseIf(methodBlock, ifBlock, "\"" + childType.getSerializedName() + "\".equals(discriminatorValue)",
-                    ifStatement -> ifStatement.methodReturn(childType.getName() + (isSuperTypeWithDiscriminator(childType)
-                        ? ".fromJsonKnownDiscriminator(readerToUse)"
-                        : ".fromJson(readerToUse)")));
+        // Add a throw statement if the discriminator value didn't match anything known.
+        StringBuilder exceptionMessage = new StringBuilder("Discriminator field '")
+            .append(discriminatorProperty.getSerializedName())
+            .append("' didn't match one of the expected values ");
 
-                if (CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue()) && i == 0) {
-                    exceptionMessage.append("'").append(childType.getSerializedName()).append("'");
-                } else if (i < childTypes.size() - 1) {
-                    exceptionMessage.append(", '").append(childType.getSerializedName()).append("'");
-                } else {
-                    ((childTypes.size() == 1) ? exceptionMessage.append(" or '") : exceptionMessage.append(", or '"))
-                        .append(childType.getSerializedName())
-                        .append("'. It was: '\" + discriminatorValue + \"'.");
-                }
-            }
+        if (!CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) {
+            exceptionMessage.append("'").append(propertiesManager.getExpectedDiscriminator()).append("'");
+        }
 
-            if (ifBlock == null) {
-                methodBlock.line("throw new IllegalStateException(\"" + exceptionMessage + "\");");
+        // Add deserialization for the super type itself.
+        JavaIfBlock ifBlock = (CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) ? null
+            : methodBlock.ifBlock("discriminatorValue == null || \"" + propertiesManager.getExpectedDiscriminator() + "\".equals(discriminatorValue)",
+            ifStatement -> ifStatement.methodReturn("fromJsonKnownDiscriminator" + readerArguments));
+
+        // Add deserialization for all child types.
+        List<ClientModel> childTypes = getAllChildTypes(model, new ArrayList<>());
+        for (int i = 0; i < childTypes.size(); i++) {
+            ClientModel childType = childTypes.get(i);
+
+            ifBlock = ifOrElseIf(methodBlock, ifBlock, "\"" + childType.getSerializedName() + "\".equals(discriminatorValue)",
+                ifStatement -> ifStatement.methodReturn(childType.getName() + (isSuperTypeWithDiscriminator(childType)
+                    ? ".fromJsonKnownDiscriminator"
+                    : ".fromJson") + readerArguments));
+
+            if (CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue()) && i == 0) {
+                exceptionMessage.append("'").append(childType.getSerializedName()).append("'");
+            } else if (i < childTypes.size() - 1) {
+                exceptionMessage.append(", '").append(childType.getSerializedName()).append("'");
             } else {
-                ifBlock.elseBlock(elseBlock -> elseBlock.line("throw new IllegalStateException(\"" + exceptionMessage + "\");"));
+                ((childTypes.size() == 1) ? exceptionMessage.append(" or '") : exceptionMessage.append(", or '"))
+                    .append(childType.getSerializedName())
+                    .append("'. It was: '\" + discriminatorValue + \"'.");
             }
-        });
+        }
 
-        if (!CoreUtils.isNullOrEmpty(discriminatorProperty.getDefaultValue())) {
-            readJsonObject(classBlock, propertiesManager, true,
-                methodBlock -> writeFromJsonDeserialization(methodBlock, propertiesManager, settings));
+        if (ifBlock == null) {
+            methodBlock.line("throw new IllegalStateException(\"" + exceptionMessage + "\");");
+        } else {
+            ifBlock.elseBlock(elseBlock -> elseBlock.line("throw new IllegalStateException(\"" + exceptionMessage + "\");"));
         }
     }
 
+    /*
+     * Writes the lookup of the discriminator value which buffers the JSON object, if the discriminator isn't the first
+     * field, to replay it for the subtype.
+     */
+    private static void writeBufferedDiscriminatorLookup(JavaBlock methodBlock,
+        ClientModelProperty discriminatorProperty, String fieldNameVariableName) {
+        methodBlock.line(String.join("\n",
+            "String discriminatorValue = null;",
+            "JsonReader readerToUse = null;",
+            "",
+            "// Read the first field name and determine if it's the discriminator field.",
+            "reader.nextToken();",
+            "if (\"" + discriminatorProperty.getSerializedName() + "\".equals(reader.getFieldName())) {",
+            "    reader.nextToken();",
+            "    discriminatorValue = reader.getString();",
+            "    readerToUse = reader;",
+            "} else {",
+            "    // If it isn't the discriminator field buffer the JSON to make it replayable and find the discriminator field value.",
+            "    JsonReader replayReader = reader.bufferObject();",
+            "    replayReader.nextToken(); // Prepare for reading",
+            "    while (replayReader.nextToken() != JsonToken.END_OBJECT) {",
+            "        String " + fieldNameVariableName + " = replayReader.getFieldName();",
+            "        replayReader.nextToken();",
+            "        if (\"" + discriminatorProperty.getSerializedName() + "\".equals(" + fieldNameVariableName + ")) {",
+            "            discriminatorValue = replayReader.getString();",
+            "            break;",
+            "        } else {",
+            "            replayReader.skipChildren();",
+            "        }",
+            "    }",
+            "",
+            "    if (discriminatorValue != null) {",
+            "        readerToUse = replayReader.reset();",
+            "    }",
+            "}"
+        ));
+    }
+
+    /*
+     * Writes the lookup of the discriminator value which reads the fields before the discriminator into a small
+     * JSON object, deferredReader, that the subtype deserializes before the remaining fields of the reader. Unlike
+     * bufferObject, this doesn't copy the fields after the discriminator, which is most of a large object. The fields
+     * are copied as is, token by token, so their values keep the exact text of the numbers. Not with readChildren,
+     * which doesn't escape the strings of the nested objects.
+     *
+     * If the JSON object has no discriminator all its fields are deferred, and the subtype deserializes deferredReader
+     * only.
+     */
+    private static void writeDeferredDiscriminatorLookup(JavaBlock methodBlock,
+        ClientModelProperty discriminatorProperty, String fieldNameVariableName) {
+        methodBlock.line(String.join("\n",
+            "String discriminatorValue = null;",
+            "JsonReader readerToUse = null;",
+            "JsonReader deferredReader = null;",
+            "JsonReader deferredFieldsReader = null;",
+            "",
+            "// Read the first field name and determine if it's the discriminator field.",
+            "reader.nextToken();",
+            "if (\"" + discriminatorProperty.getSerializedName() + "\".equals(reader.getFieldName())) {",
+            "    reader.nextToken();",
+            "    discriminatorValue = reader.getString();",
+            "    readerToUse = reader;",
+            "} else {",
+            "    // If it isn't the discriminator field defer the fields before it, the subtype reads them before the remaining fields.",
+            "    ByteArrayOutputStream deferredFields = new ByteArrayOutputStream();",
+            "    try (JsonWriter deferredWriter = JsonProviders.createWriter(deferredFields)) {",
+            "        deferredWriter.writeStartObject();",
+            "        while (reader.currentToken() == JsonToken.FIELD_NAME) {",
+            "            String " + fieldNameVariableName + " = reader.getFieldName();",
+            "            reader.nextToken();",
+            "            if (\"" + discriminatorProperty.getSerializedName() + "\".equals(" + fieldNameVariableName + ")) {",
+            "                discriminatorValue = reader.getString();",
+            "                break;",
+            "            }",
+            "",
+            "            deferredWriter.writeFieldName(" + fieldNameVariableName + ");",
+            "            " + JsonSerializationUtilsTemplate.CLASS_NAME + ".copyJsonValue(reader, deferredWriter);",
+            "            reader.nextToken();",
+            "        }",
+            "        deferredWriter.writeEndObject();",
+            "    }",
+            "",
+            "    deferredFieldsReader = JsonProviders.createReader(deferredFields.toByteArray());",
+            "    deferredFieldsReader.nextToken(); // Prepare for reading",
+            "    if (discriminatorValue != null) {",
+            "        readerToUse = reader;",
+            "        deferredReader = deferredFieldsReader;",
+            "    } else {",
+            "        readerToUse = deferredFieldsReader;",
+            "    }",
+            "}"
+        ));
+    }
+
     private static List<ClientModel> getAllChildTypes(ClientModel model, List<ClientModel> childTypes) {
         for (ClientModel childType : model.getDerivedModels()) {
             childTypes.add(childType);
@@ -612,12 +716,21 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
      */
     private static void writeTerminalTypeFromJson(JavaClass classBlock, ClientModelPropertiesManager propertiesManager,
         JavaSettings settings) {
-        readJsonObject(classBlock, propertiesManager, false,
-            methodBlock -> writeFromJsonDeserialization(methodBlock, propertiesManager, settings));
+        boolean deferredFields = isDeferredFieldsReading(propertiesManager, settings);
+        readJsonObject(classBlock, propertiesManager, false, deferredFields,
+            methodBlock -> writeFromJsonDeserialization(methodBlock, propertiesManager, deferredFields, settings));
+    }
+
+    /*
+     * Whether the fromJson of a polymorphic model takes the fields its super type read before the discriminator.
+     */
+    private static boolean isDeferredFieldsReading(ClientModelPropertiesManager propertiesManager,
+        JavaSettings settings) {
+        return settings.isStreamStyleDeferPolymorphicFields() && propertiesManager.getDiscriminatorProperty() != null;
     }
 
     private static void writeFromJsonDeserialization(JavaBlock methodBlock,
-        ClientModelPropertiesManager propertiesManager, JavaSettings settings) {
+        ClientModelPropertiesManager propertiesManager, boolean deferredFields, JavaSettings settings) {
         // Add the deserialization logic.
         methodBlock.indent(() -> {
             // Initialize local variables to track what has been deserialized.
@@ -625,31 +738,38 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
 
             // Add the outermost while loop to read the JSON object.
             String fieldNameVariableName = propertiesManager.getJsonReaderFieldNameVariableName();
+            if (deferredFields) {
+                // The fields the super type read before the discriminator are read first, then the remaining fields.
+                methodBlock.line("JsonReader[] readers = (deferredReader == null) ? new JsonReader[] { objectReader }");
+                methodBlock.line("    : new JsonReader[] { deferredReader, objectReader };");
+                methodBlock.line("for (JsonReader reader : readers) {");
+                methodBlock.increaseIndent();
+            }
+
             addReaderWhileLoop(methodBlock, true, fieldNameVariableName, false, whileBlock -> {
+                Map<String, Consumer<JavaBlock>> fieldCases = getJsonFieldCases(propertiesManager, settings);
+                if (fieldCases != null) {
+                    writeJsonFieldSwitch(whileBlock, fieldCases, propertiesManager.getAdditionalProperties(),
+                        fieldNameVariableName);
+                    return;
+                }
+
                 JavaIfBlock ifBlock = null;
 
                 if (propertiesManager.getDiscriminatorProperty() != null) {
                     ClientModelProperty discriminatorProperty = propertiesManager.getDiscriminatorProperty();
-                    String discriminatorConstant = CodeNamer.getEnumMemberName(discriminatorProperty.getName());
                     String ifStatement = String.format("\"%s\".equals(%s)", discriminatorProperty.getSerializedName(),
                         fieldNameVariableName);
 
-                    ifBlock = methodBlock.ifBlock(ifStatement, ifAction -> {
-                        ifAction.line("String %s = reader.getString();", discriminatorProperty.getName());
-                        String ifStatement2 = String.format("!%s.equals(%s)", discriminatorConstant,
-                            discriminatorProperty.getName());
-                        ifAction.ifBlock(ifStatement2, ifAction2 -> ifAction2.line(
-                            "throw new IllegalStateException(\"'%s' was expected to be non-null and equal to '\" + %s + \"'. "
-                                + "The found '%s' was '\" + %s + \"'.\");",
-                            discriminatorProperty.getSerializedName(), discriminatorConstant,
-                            discriminatorProperty.getSerializedName(), discriminatorProperty.getName()));
-                    });
+                    ifBlock = methodBlock.ifBlock(ifStatement,
+                        ifAction -> writeDiscriminatorValidation(ifAction, discriminatorProperty));
                 }
 
                 // Loop over all properties and generate their deserialization handling.
                 AtomicReference<JavaIfBlock> ifBlockReference = new AtomicReference<>(ifBlock);
                 Consumer<ClientModelProperty> consumer = property -> handleJsonPropertyDeserialization(property,
-                    whileBlock, ifBlockReference, fieldNameVariableName, settings);
+                    whileBlock, ifBlockReference, fieldNameVariableName,
+                    isLazyArrayProperty(propertiesManager.getModel(), property, settings), settings);
                 propertiesManager.forEachSuperRequiredProperty(consumer);
                 propertiesManager.forEachSuperSetterProperty(consumer);
                 propertiesManager.forEachRequiredProperty(consumer);
@@ -666,12 +786,123 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
                 handleUnknownJsonFieldDeserialization(whileBlock, ifBlock, propertiesManager.getAdditionalProperties(),
                     propertiesManager.getJsonReaderFieldNameVariableName());
             });
+
+            if (deferredFields) {
+                methodBlock.decreaseIndent();
+                methodBlock.line("}");
+            }
         });
 
         // Add the validation and return logic.
         handleReadReturn(methodBlock, propertiesManager.getModel().getName(), propertiesManager, settings);
     }
 
+    private static void writeDiscriminatorValidation(JavaBlock methodBlock, ClientModelProperty discriminatorProperty) {
+        String discriminatorConstant = CodeNamer.getEnumMemberName(discriminatorProperty.getName());
+        methodBlock.line("String %s = reader.getString();", discriminatorProperty.getName());
+        String ifStatement = String.format("!%s.equals(%s)", discriminatorConstant, discriminatorProperty.getName());
+        methodBlock.ifBlock(ifStatement, ifAction -> ifAction.line(
+            "throw new IllegalStateException(\"'%s' was expected to be non-null and equal to '\" + %s + \"'. "
+                + "The found '%s' was '\" + %s + \"'.\");",
+            discriminatorProperty.getSerializedName(), discriminatorConstant,
+            discriminatorProperty.getSerializedName(), discriminatorProperty.getName()));
+    }
+
+    /**
+     * Gets the deserialization of each JSON field of the model, by field name, if {@code fromJson} dispatches on the
+     * field name with a {@code switch}.
+     * <p>
+     * A {@code switch} is used once the model has {@link JavaSettings#getStreamStyleSwitchThreshold()} fields. For
+     * fewer fields, or if two fields share a name, the if-else chain is used.
+     *
+     * @param propertiesManager The properties for the model.
+     * @param settings The Autorest generation settings.
+     * @return The deserialization of each JSON field by field name, in the order of the if-else chain, or null if the
+     * if-else chain is used.
+     */
+    private static Map<String, Consumer<JavaBlock>> getJsonFieldCases(ClientModelPropertiesManager propertiesManager,
+        JavaSettings settings) {
+        int threshold = settings.getStreamStyleSwitchThreshold();
+        if (threshold <= 0) {
+            return null;
+        }
+
+        Map<String, Consumer<JavaBlock>> fieldCases = new LinkedHashMap<>();
+        AtomicReference<Boolean> duplicateField = new AtomicReference<>(false);
+        BiConsumer<String, Consumer<JavaBlock>> addFieldCase = (fieldName, deserialization) -> {
+            if (fieldCases.putIfAbsent(fieldName, deserialization) != null) {
+                duplicateField.set(true);
+            }
+        };
+
+        ClientModelProperty discriminatorProperty = propertiesManager.getDiscriminatorProperty();
+        if (discriminatorProperty != null) {
+            addFieldCase.accept(discriminatorProperty.getSerializedName(),
+                caseBlock -> writeDiscriminatorValidation(caseBlock, discriminatorProperty));
+        }
+
+        Consumer<ClientModelProperty> consumer = property -> {
+            // Property will be handled by flattened deserialization.
+            if (!property.getNeedsFlatten() && !CoreUtils.isNullOrEmpty(property.getSerializedName())) {
+                boolean lazyArray = isLazyArrayProperty(propertiesManager.getModel(), property, settings);
+                addFieldCase.accept(property.getSerializedName(),
+                    caseBlock -> generateJsonDeserializationLogic(caseBlock, property, lazyArray, settings));
+            }
+        };
+        propertiesManager.forEachSuperRequiredProperty(consumer);
+        propertiesManager.forEachSuperSetterProperty(consumer);
+        propertiesManager.forEachRequiredProperty(consumer);
+        propertiesManager.forEachSetterProperty(consumer);
+
+        ClientModelProperty additionalProperties = propertiesManager.getAdditionalProperties();
+        String fieldNameVariableName = propertiesManager.getJsonReaderFieldNameVariableName();
+        for (JsonFlattenedPropertiesTree structure
+            : propertiesManager.getJsonFlattenedPropertiesTree().getChildrenNodes().values()) {
+            if (structure.getProperty() != null) {
+                addFieldCase.accept(structure.getNodeName(), caseBlock -> generateJsonDeserializationLogic(caseBlock,
+                    structure.getProperty().getProperty(), false, settings));
+            } else {
+                // As the if-else chain, a field of the flattened object that isn't an object is an unknown field.
+                addFieldCase.accept(structure.getNodeName(), caseBlock -> {
+                    JavaIfBlock ifBlock = caseBlock.ifBlock("reader.currentToken() == JsonToken.START_OBJECT",
+                        ifAction -> addReaderWhileLoop(ifAction, false, fieldNameVariableName, false, whileBlock -> {
+                            JavaIfBlock innerIfBlock = null;
+                            for (JsonFlattenedPropertiesTree child : structure.getChildrenNodes().values()) {
+                                innerIfBlock = handleFlattenedPropertiesDeserializationHelper(child, whileBlock,
+                                    innerIfBlock, additionalProperties, fieldNameVariableName, settings);
+                            }
+
+                            handleUnknownJsonFieldDeserialization(whileBlock, innerIfBlock, additionalProperties,
+                                fieldNameVariableName);
+                        }));
+                    handleUnknownJsonFieldDeserialization(caseBlock, ifBlock, additionalProperties,
+                        fieldNameVariableName);
+                });
+            }
+        }
+
+        return (fieldCases.size() < threshold || duplicateField.get()) ? null : fieldCases;
+    }
+
+    private static void writeJsonFieldSwitch(JavaBlock methodBlock, Map<String, Consumer<JavaBlock>> fieldCases,
+        ClientModelProperty additionalProperties, String fieldNameVariableName) {
+        methodBlock.block("switch (" + fieldNameVariableName + ")", switchBlock -> {
+            for (Map.Entry<String, Consumer<JavaBlock>> fieldCase : fieldCases.entrySet()) {
+                switchBlock.line("case \"" + fieldCase.getKey() + "\":");
+                switchBlock.indent(() -> {
+                    fieldCase.getValue().accept(switchBlock);
+                    switchBlock.line("break;");
+                });
+            }
+
+            switchBlock.line("default:");
+            switchBlock.indent(() -> {
+                handleUnknownJsonFieldDeserialization(switchBlock, null, additionalProperties, fieldNameVariableName);
+                switchBlock.line("break;");
+            });
+        });
+    }
+
     /**
      * Adds a static method to the class with the signature that handles reading the JSON string into the object type.
      * <p>
@@ -682,14 +913,19 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
      * {@code fromJson} as this will be a circular call and if the specific type being deserialized is an intermediate
      * type (a type having both super and subclasses) it will attempt to perform discriminator validation which has
      * already been done.
+     * <p>
+     * If {@code deferredFields} is true the method delegates to a package-private overload also taking
+     * {@code JsonReader deferredReader}, the fields the super type read before the discriminator, or null. The
+     * overload names the reader of the JSON object {@code objectReader}.
      *
      * @param classBlock The class where the {@code fromJson} method is being written.
      * @param propertiesManager Properties information about the object being deserialized.
      * @param superTypeReading Whether the object reading is for a super type.
+     * @param deferredFields Whether the object reading takes the fields deferred by the super type.
      * @param deserializationBlock Logic for deserializing the object.
      */
     private static void readJsonObject(JavaClass classBlock, ClientModelPropertiesManager propertiesManager,
-        boolean superTypeReading, Consumer<JavaBlock> deserializationBlock) {
+        boolean superTypeReading, boolean deferredFields, Consumer<JavaBlock> deserializationBlock) {
         JavaVisibility visibility = superTypeReading ? JavaVisibility.PackagePrivate : JavaVisibility.Public;
         String methodName = superTypeReading ? "fromJsonKnownDiscriminator" : "fromJson";
 
@@ -724,6 +960,21 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
             });
         }
 
+        if (deferredFields) {
+            classBlock.staticMethod(visibility, modelName + " " + methodName + "(JsonReader jsonReader) throws IOException",
+                methodBlock -> methodBlock.methodReturn(methodName + "(jsonReader, null)"));
+
+            classBlock.staticMethod(JavaVisibility.PackagePrivate, modelName + " " + methodName
+                + "(JsonReader jsonReader, JsonReader deferredReader) throws IOException", methodBlock -> {
+                methodBlock.line("return jsonReader.readObject(objectReader -> {");
+
+                deserializationBlock.accept(methodBlock);
+
+                methodBlock.line("});");
+            });
+            return;
+        }
+
         classBlock.staticMethod(visibility, modelName + " " + methodName + "(JsonReader jsonReader) throws IOException", methodBlock -> {
             // For now, use the basic readObject which will return null if the JsonReader is pointing to JsonToken.NULL.
             //
@@ -808,27 +1059,30 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
     }
 
     private static void handleJsonPropertyDeserialization(ClientModelProperty property, JavaBlock methodBlock,
-        AtomicReference<JavaIfBlock> ifBlockReference, String fieldNameVariableName, JavaSettings settings) {
+        AtomicReference<JavaIfBlock> ifBlockReference, String fieldNameVariableName, boolean lazyArray,
+        JavaSettings settings) {
         // Property will be handled later by flattened deserialization.
         if (property.getNeedsFlatten()) {
             return;
         }
 
         JavaIfBlock ifBlock = ifBlockReference.get();
-        ifBlock = handleJsonPropertyDeserialization(property, methodBlock, ifBlock, fieldNameVariableName, settings);
+        ifBlock = handleJsonPropertyDeserialization(property, methodBlock, ifBlock, fieldNameVariableName, lazyArray,
+            settings);
 
         ifBlockReference.set(ifBlock);
     }
 
     private static JavaIfBlock handleJsonPropertyDeserialization(ClientModelProperty property, JavaBlock methodBlock,
-        JavaIfBlock ifBlock, String fieldNameVariableName, JavaSettings settings) {
+        JavaIfBlock ifBlock, String fieldNameVariableName, boolean lazyArray, JavaSettings settings) {
         String jsonPropertyName = property.getSerializedName();
         if (CoreUtils.isNullOrEmpty(jsonPropertyName)) {
             return ifBlock;
         }
 
         return ifOrElseIf(methodBlock, ifBlock, "\"" + jsonPropertyName + "\".equals(" + fieldNameVariableName + ")",
-            deserializationBlock -> generateJsonDeserializationLogic(deserializationBlock, property, settings));
+            deserializationBlock -> generateJsonDeserializationLogic(deserializationBlock, property, lazyArray,
+                settings));
     }
 
     private static void handleFlattenedPropertiesDeserialization(
@@ -849,7 +1103,7 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
             return ifOrElseIf(methodBlock, ifBlock,
                 "\"" + flattenedProperties.getNodeName() + "\".equals(" + fieldNameVariableName + ")", deserializationBlock ->
                     generateJsonDeserializationLogic(deserializationBlock,
-                        flattenedProperties.getProperty().getProperty(), settings));
+                        flattenedProperties.getProperty().getProperty(), false, settings));
         } else {
             // Otherwise this is an intermediate location and a while loop reader needs to be added.
             return ifOrElseIf(methodBlock, ifBlock,
@@ -868,7 +1122,7 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
     }
 
     private static void generateJsonDeserializationLogic(JavaBlock deserializationBlock, ClientModelProperty property,
-        JavaSettings settings) {
+        boolean lazyArray, JavaSettings settings) {
         IType wireType = property.getWireType();
         IType clientType = property.getClientType();
 
@@ -879,6 +1133,12 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
             deserializationBlock.line(property.getName() + " = " + simpleDeserialization + ";");
         } else if (wireType == ClassType.Object) {
             deserializationBlock.line(property.getName() + " = reader.readUntyped();");
+        } else if (lazyArray) {
+            deserializationBlock.line(property.getName() + " = " + JsonSerializationUtilsTemplate.CLASS_NAME
+                + ".readLazyArray(reader, reader1 -> ");
+            deserializationBlock.indent(() -> deserializeJsonContainerElement(deserializationBlock, wireType,
+                ((IterableType) wireType).getElementType(), 0));
+            deserializationBlock.line(");");
         } else if (wireType instanceof IterableType) {
             deserializationBlock.text(property.getName() + " = ");
             deserializeJsonContainerProperty(deserializationBlock, "readArray", wireType,
@@ -914,27 +1174,9 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
         IType elementType, int depth) {
         String callingReaderName = depth == 0 ? "reader" : "reader" + depth;
         String lambdaReaderName = "reader" + (depth + 1);
-        String valueDeserializationMethod = getSimpleJsonDeserialization(elementType, elementType, lambdaReaderName);
 
         methodBlock.line(callingReaderName + "." + utilityMethod + "(" + lambdaReaderName + " -> ");
-        methodBlock.indent(() -> {
-            if (valueDeserializationMethod != null) {
-                methodBlock.line(valueDeserializationMethod);
-            } else if (elementType == ClassType.Object) {
-                methodBlock.line(lambdaReaderName + ".readUntyped()");
-            } else if (elementType instanceof IterableType) {
-                deserializeJsonContainerProperty(methodBlock, "readArray", elementType,
-                    ((IterableType) elementType).getElementType(), depth + 1);
-            } else if (elementType instanceof MapType) {
-                // Assumption is that the key type for the Map is a String. This may not always hold true and when that
-                // becomes reality this will need to be reworked to handle that case.
-                deserializeJsonContainerProperty(methodBlock, "readMap", elementType,
-                    ((MapType) elementType).getValueType(), depth + 1);
-            } else {
-                throw new RuntimeException("Unknown value type " + elementType + " in " + containerType
-                    + " serialization. Need to add support for it.");
-            }
-        });
+        methodBlock.indent(() -> deserializeJsonContainerElement(methodBlock, containerType, elementType, depth));
 
         if (depth > 0) {
             methodBlock.line(")");
@@ -943,6 +1185,43 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
         }
     }
 
+    private static void deserializeJsonContainerElement(JavaBlock methodBlock, IType containerType, IType elementType,
+        int depth) {
+        String lambdaReaderName = "reader" + (depth + 1);
+        String valueDeserializationMethod = getSimpleJsonDeserialization(elementType, elementType, lambdaReaderName);
+        if (valueDeserializationMethod != null) {
+            methodBlock.line(valueDeserializationMethod);
+        } else if (elementType == ClassType.Object) {
+            methodBlock.line(lambdaReaderName + ".readUntyped()");
+        } else if (elementType instanceof IterableType) {
+            deserializeJsonContainerProperty(methodBlock, "readArray", elementType,
+                ((IterableType) elementType).getElementType(), depth + 1);
+        } else if (elementType instanceof MapType) {
+            // Assumption is that the key type for the Map is a String. This may not always hold true and when that
+            // becomes reality this will need to be reworked to handle that case.
+            deserializeJsonContainerProperty(methodBlock, "readMap", elementType,
+                ((MapType) elementType).getValueType(), depth + 1);
+        } else {
+            throw new RuntimeException("Unknown value type " + elementType + " in " + containerType
+                + " serialization. Need to add support for it.");
+        }
+    }
+
+    /*
+     * Whether the array property, declared by the model, is deserialized on demand by JsonSerializationUtils.
+     */
+    private static boolean isLazyArrayProperty(ClientModel model, ClientModelProperty property,
+        JavaSettings settings) {
+        return property.getWireType() instanceof IterableType
+            && !property.getNeedsFlatten()
+            && settings.isStreamStyleLazyArrayProperty(model.getName(), property.getName())
+            && model.getProperties().contains(property);
+    }
+
+    private static boolean hasLazyArrayProperties(ClientModel model, JavaSettings settings) {
+        return model.getProperties().stream().anyMatch(property -> isLazyArrayProperty(model, property, settings));
+    }
+
     private static String getSimpleJsonDeserialization(IType wireType, IType clientType, String readerName) {
         String wireTypeDeserialization;
         if (wireType instanceof ClassType && ((ClassType) wireType).isSwaggerType()) {
@@ -1091,6 +1370,19 @@ public class StreamSerializationModelTemplate extends ModelTemplate {
         }
     }
 
+    /**
+     * Whether the stream-style serialization of the model uses the JsonSerializationUtils class of the package.
+     *
+     * @param model The Autorest representation of the model.
+     * @param settings The Autorest generation settings.
+     * @return Whether the model uses the JsonSerializationUtils class.
+     */
+    public static boolean usesJsonSerializationUtils(ClientModel model, JavaSettings settings) {
+        return settings.isStreamStyleSerialization() && !model.isStronglyTypedHeader()
+            && ((settings.isStreamStyleDeferPolymorphicFields() && isSuperTypeWithDiscriminator(model))
+                || hasLazyArrayProperties(model, settings));
+    }
+
     private static boolean isSuperTypeWithDiscriminator(ClientModel model) {
         return !CoreUtils.isNullOrEmpty(model.getPolymorphicDiscriminator())
             && !CoreUtils.isNullOrEmpty(model.getDerivedModels());
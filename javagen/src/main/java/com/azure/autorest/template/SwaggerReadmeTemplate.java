@@ -28,6 +28,7 @@ public class SwaggerReadmeTemplate {
     private static final Pattern MARKDOWN_YAML_BLOCK =
             Pattern.compile("```\\s?(?:yaml|YAML).*?\\n(.*?)```", Pattern.DOTALL);
 
+    // never modified, the options from the settings are added to a copy in getOverrideOptions
     private static final Map<String, Object> OVERRIDE_OPTIONS = new LinkedHashMap<>();
     static {
         OVERRIDE_OPTIONS.put("output-folder", "../");
@@ -42,8 +43,8 @@ public class SwaggerReadmeTemplate {
     public String write(Project project) {
         JavaSettings settings = JavaSettings.getInstance();
 
-        // prepare OVERRIDE_SETTINGS
-        updateOverrideOptions(settings);
+        // prepare override options
+        Map<String, Object> overrideOptions = getOverrideOptions(settings);
 
         // prepare YAML object
         DumperOptions dumperOptions = new DumperOptions();
@@ -53,14 +54,14 @@ public class SwaggerReadmeTemplate {
         Map<String, Object> objectNode = new LinkedHashMap<>();
         addRequireOrInputFile(objectNode, settings.getAutorestSettings());
         // settings from internal
-        for (Map.Entry<String, Object> entry : OVERRIDE_OPTIONS.entrySet()) {
+        for (Map.Entry<String, Object> entry : overrideOptions.entrySet()) {
             if (entry.getValue() != null) {
                 objectNode.put(entry.getKey(), entry.getValue());
             }
         }
         // settings from external
         for (Map.Entry<String, Object> entry : settings.getSimpleJavaSettings().entrySet()) {
-            if (!OVERRIDE_OPTIONS.containsKey(entry.getKey()) && entry.getValue() != null) {
+            if (!overrideOptions.containsKey(entry.getKey()) && entry.getValue() != null) {
                 objectNode.put(entry.getKey(), entry.getValue());
             }
         }
@@ -139,19 +140,21 @@ public class SwaggerReadmeTemplate {
         return defaultOptions;
     }
 
-    private static void updateOverrideOptions(JavaSettings settings) {
+    private static Map<String, Object> getOverrideOptions(JavaSettings settings) {
+        Map<String, Object> overrideOptions = new LinkedHashMap<>(OVERRIDE_OPTIONS);
         settings.getAutorestSettings().getTitle()
-                .ifPresent(value -> OVERRIDE_OPTIONS.putIfAbsent("title", value));
+                .ifPresent(value -> overrideOptions.putIfAbsent("title", value));
         if (!settings.getAutorestSettings().getSecurity().isEmpty()) {
-            OVERRIDE_OPTIONS.putIfAbsent("security",
+            overrideOptions.putIfAbsent("security",
                     stringOrArray(settings.getAutorestSettings().getSecurity()));
         }
         if (!settings.getAutorestSettings().getSecurityScopes().isEmpty()) {
-            OVERRIDE_OPTIONS.putIfAbsent("security-scopes",
+            overrideOptions.putIfAbsent("security-scopes",
                     stringOrArray(settings.getAutorestSettings().getSecurityScopes()));
         }
         settings.getAutorestSettings().getSecurityHeaderName()
-                .ifPresent(value -> OVERRIDE_OPTIONS.putIfAbsent("security-header-name", value));
+                .ifPresent(value -> overrideOptions.putIfAbsent("security-header-name", value));
+        return overrideOptions;
     }
 
     private void line(String text) {
@@ -3,114 +3,119 @@
 
 package com.azure.autorest.template;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
+
 /**
  * A collection of templates for writing JV models to Java files and contexts.
  */
 public class Templates {
 
-    private static TemplateFactory factory = new DefaultTemplateFactory();
-
     public static void setFactory(TemplateFactory templateFactory) {
-        factory = templateFactory;
+        // per session, as concurrent sessions of a plugin may set different factories
+        SessionContext.current().set(Templates.class, templateFactory);
+    }
+
+    private static TemplateFactory factory() {
+        return SessionContext.current().get(Templates.class, DefaultTemplateFactory::new);
     }
 
     public static ServiceClientInterfaceTemplate getServiceClientInterfaceTemplate() {
-        return factory.getServiceClientInterfaceTemplate();
+        return factory().getServiceClientInterfaceTemplate();
     }
 
     public static ServiceClientTemplate getServiceClientTemplate() {
-        return factory.getServiceClientTemplate();
+        return factory().getServiceClientTemplate();
     }
 
     public static ServiceClientBuilderTemplate getServiceClientBuilderTemplate() {
-        return factory.getServiceClientBuilderTemplate();
+        return factory().getServiceClientBuilderTemplate();
     }
 
     public static ServiceVersionTemplate getServiceVersionTemplate() {
-        return factory.getServiceVersionTemplate();
+        return factory().getServiceVersionTemplate();
     }
 
     public static MethodGroupInterfaceTemplate getMethodGroupInterfaceTemplate() {
-        return factory.getMethodGroupInterfaceTemplate();
+        return factory().getMethodGroupInterfaceTemplate();
     }
 
     public static MethodGroupTemplate getMethodGroupTemplate() {
-        return factory.getMethodGroupTemplate();
+        return factory().getMethodGroupTemplate();
     }
 
     public static ProxyTemplate getProxyTemplate() {
-        return factory.getProxyTemplate();
+        return factory().getProxyTemplate();
     }
 
     public static ClientMethodTemplate getClientMethodTemplate() {
-        return factory.getClientMethodTemplate();
+        return factory().getClientMethodTemplate();
     }
 
     public static ModelTemplate getModelTemplate() {
-        return factory.getModelTemplate();
+        return factory().getModelTemplate();
     }
 
     public static StreamSerializationModelTemplate getStreamStyleModelTemplate() {
-        return factory.getStreamStyleModelTemplate();
+        return factory().getStreamStyleModelTemplate();
     }
 
     public static ExceptionTemplate getExceptionTemplate() {
-        return factory.getExceptionTemplate();
+        return factory().getExceptionTemplate();
     }
 
     public static EnumTemplate getEnumTemplate() {
-        return factory.getEnumTemplate();
+        return factory().getEnumTemplate();
     }
 
     public static ResponseTemplate getResponseTemplate() {
-        return factory.getResponseTemplate();
+        return factory().getResponseTemplate();
     }
 
     public static XmlSequenceWrapperTemplate getXmlSequenceWrapperTemplate() {
-        return factory.getXmlSequenceWrapperTemplate();
+        return factory().getXmlSequenceWrapperTemplate();
     }
 
     public static PackageInfoTemplate getPackageInfoTemplate() {
-        return factory.getPackageInfoTemplate();
+        return factory().getPackageInfoTemplate();
     }
 
     public static ServiceAsyncClientTemplate getServiceAsyncClientTemplate() {
-        return factory.getServiceAsyncClientTemplate();
+        return factory().getServiceAsyncClientTemplate();
     }
 
     public static WrapperClientMethodTemplate getWrapperClientMethodTemplate() {
-        return factory.getWrapperClientMethodTemplate();
+        return factory().getWrapperClientMethodTemplate();
     }
 
     public static ServiceSyncClientTemplate getServiceSyncClientTemplate() {
-        return factory.getServiceSynClientTemplate();
+        return factory().getServiceSynClientTemplate();
     }
 
     public static ServiceSyncClientTemplate getServiceSyncClientWrapAsyncClientTemplate() {
-        return factory.getServiceSyncClientWrapAsyncClientTemplate();
+        return factory().getServiceSyncClientWrapAsyncClientTemplate();
     }
 
     public static PomTemplate getPomTemplate() {
-        return factory.getPomTemplate();
+        return factory().getPomTemplate();
     }
 
     public static ModuleInfoTemplate getModuleInfoTemplate() {
-        return factory.getModuleInfoTemplate();
+        return factory().getModuleInfoTemplate();
     }
 
     public static ProtocolSampleTemplate getProtocolSampleTemplate() {
-        return factory.getProtocolSampleTemplate();
+        return factory().getProtocolSampleTemplate();
     }
 
     public static ConvenienceAsyncMethodTemplate getConvenienceAsyncMethodTemplate() {
-        return factory.getConvenienceAsyncMethodTemplate();
+        return factory().getConvenienceAsyncMethodTemplate();
     }
 
     public static ConvenienceSyncMethodTemplate getConvenienceSyncMethodTemplate() {
-        return factory.getConvenienceSyncMethodTemplate();
+        return factory().getConvenienceSyncMethodTemplate();
     }
 
     public static UnionModelTemplate getUnionModelTemplate() {
-        return factory.getUnionModelTemplate();
+        return factory().getUnionModelTemplate();
     }
 }
@@ -0,0 +1,128 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable index of the inheritance hierarchy of the client models.
+ * <p>
+ * The templates look up the parent models of a model, and the properties these define, many times for every model
+ * they write. The index resolves the parent chain of each model once, after the code model is mapped, rather than by
+ * name on every lookup.
+ * <p>
+ * The derived models are not indexed, as {@link ClientModel#getDerivedModels()} already holds them.
+ */
+public final class ClientModelHierarchy {
+
+    private final Map<String, Node> nodes;
+
+    private ClientModelHierarchy(Map<String, Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Gets the hierarchy of the client models of the current session.
+     * <p>
+     * The hierarchy is built on first use, and is built again once a model is added to {@link ClientModels}.
+     *
+     * @return the hierarchy of the client models.
+     */
+    public static ClientModelHierarchy getInstance() {
+        return SessionContext.current().get(ClientModelHierarchy.class,
+            () -> build(ClientModels.getInstance().getModels()));
+    }
+
+    /**
+     * Discards the hierarchy of the client models of the current session, as the models changed.
+     */
+    public static void invalidate() {
+        SessionContext.current().set(ClientModelHierarchy.class, null);
+    }
+
+    private static ClientModelHierarchy build(List<ClientModel> models) {
+        Map<String, Node> nodes = new HashMap<>();
+        for (ClientModel model : models) {
+            nodes.put(model.getName(), new Node(model));
+        }
+        return new ClientModelHierarchy(Collections.unmodifiableMap(nodes));
+    }
+
+    /**
+     * Gets the parent models of the model.
+     *
+     * @param model the client model.
+     * @return the parent models, the nearest parent first.
+     */
+    public List<ClientModel> getParentModels(ClientModel model) {
+        return getNode(model).parentModels;
+    }
+
+    /**
+     * Gets the properties defined by the parent models of the model.
+     *
+     * @param model the client model.
+     * @return the properties of the parent models, the properties of the root model first.
+     */
+    public List<ClientModelProperty> getParentProperties(ClientModel model) {
+        return getNode(model).parentProperties;
+    }
+
+    /**
+     * Gets the required, writable properties defined by the parent models of the model.
+     *
+     * @param model the client model.
+     * @return the required, writable properties of the parent models, the properties of the root model first.
+     */
+    public List<ClientModelProperty> getRequiredWritableParentProperties(ClientModel model) {
+        return getNode(model).requiredWritableParentProperties;
+    }
+
+    private Node getNode(ClientModel model) {
+        Node node = nodes.get(model.getName());
+        // a model not in ClientModels, e.g. one provided by azure-core-management in Fluent, is resolved on demand
+        return (node != null && node.model == model) ? node : new Node(model);
+    }
+
+    private static final class Node {
+        private final ClientModel model;
+        private final List<ClientModel> parentModels;
+        private final List<ClientModelProperty> parentProperties;
+        private final List<ClientModelProperty> requiredWritableParentProperties;
+
+        private Node(ClientModel model) {
+            this.model = model;
+
+            List<ClientModel> parentModels = new ArrayList<>();
+            String lastParentName = model.getName();
+            ClientModel parentModel = ClientModelUtil.getClientModel(model.getParentModelName());
+            while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
+                parentModels.add(parentModel);
+                lastParentName = parentModel.getName();
+                parentModel = ClientModelUtil.getClientModel(parentModel.getParentModelName());
+            }
+            this.parentModels = Collections.unmodifiableList(parentModels);
+
+            List<ClientModelProperty> parentProperties = new ArrayList<>();
+            for (int i = parentModels.size() - 1; i >= 0; i--) {
+                parentProperties.addAll(parentModels.get(i).getProperties());
+            }
+            this.parentProperties = Collections.unmodifiableList(parentProperties);
+
+            this.requiredWritableParentProperties = Collections.unmodifiableList(parentProperties.stream()
+                .filter(property -> property.isRequired() && !property.isConstant() && !property.isReadOnly())
+                .collect(Collectors.toList()));
+        }
+    }
+}
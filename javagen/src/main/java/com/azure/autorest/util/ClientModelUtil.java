@@ -9,6 +9,7 @@ import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
 import com.azure.autorest.extension.base.model.codemodel.Parameter;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.mapper.Mappers;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
 import com.azure.autorest.model.clientmodel.ClassType;
@@ -343,10 +344,14 @@ public class ClientModelUtil {
         return Arrays.asList(values);
     }
 
-    private static Function<String, ClientModel> getClientModelFunction = name -> ClientModels.getInstance().getModel(name);
+    // key of the function of the session
+    private static final Object GET_CLIENT_MODEL_FUNCTION_KEY = new Object();
+
+    private static final Function<String, ClientModel> DEFAULT_GET_CLIENT_MODEL_FUNCTION =
+        name -> ClientModels.getInstance().getModel(name);
 
     /**
-     * Replace the default function of getting ClientModel by name.
+     * Replace the default function of getting ClientModel by name, for the current session.
      * <p>
      * Used in Fluent for providing additional ClientModel that exists in azure-core-management,
      * e.g. Resource, ManagementError
@@ -354,7 +359,8 @@ public class ClientModelUtil {
      * @param function the function of getting ClientModel by name
      */
     public static void setGetClientModelFunction(Function<String, ClientModel> function) {
-        getClientModelFunction = function;
+        SessionContext.current().set(GET_CLIENT_MODEL_FUNCTION_KEY, function);
+        ClientModelHierarchy.invalidate();
     }
 
     /**
@@ -364,7 +370,9 @@ public class ClientModelUtil {
      * @return the ClientModel instance. <code>null</code> if not found.
      */
     public static ClientModel getClientModel(String name) {
-        return getClientModelFunction.apply(name);
+        Function<String, ClientModel> function =
+            SessionContext.current().get(GET_CLIENT_MODEL_FUNCTION_KEY, () -> DEFAULT_GET_CLIENT_MODEL_FUNCTION);
+        return function.apply(name);
     }
 
     /**
@@ -383,49 +391,35 @@ public class ClientModelUtil {
         }
     }
 
+    /**
+     * Gets all parent models.
+     *
+     * @param model The client model.
+     * @return Returns the super types of the client model, the nearest super type first. The list is unmodifiable.
+     */
+    public static List<ClientModel> getParentModels(ClientModel model) {
+        return ClientModelHierarchy.getInstance().getParentModels(model);
+    }
+
     /**
      * Gets all parent properties.
      *
      * @param model The client model.
-     * @return Returns all properties that are defined by super types of the client model.
+     * @return Returns all properties that are defined by super types of the client model. The list is unmodifiable.
      */
     public static List<ClientModelProperty> getParentProperties(ClientModel model) {
-        String lastParentName = model.getName();
-        ClientModel parentModel = getClientModel(model.getParentModelName());
-        List<ClientModelProperty> parentProperties = new ArrayList<>();
-        while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
-            // Add the properties in inverse order as they be reverse at the end.
-            List<ClientModelProperty> parentProps = new ArrayList<>(parentModel.getProperties());
-            for (int i = parentProps.size() - 1; i >= 0; i--) {
-                parentProperties.add(parentProps.get(i));
-            }
-
-            lastParentName = parentModel.getName();
-            parentModel = getClientModel(parentModel.getParentModelName());
-        }
-        Collections.reverse(parentProperties);
-        return parentProperties;
+        return ClientModelHierarchy.getInstance().getParentProperties(model);
     }
 
+    /**
+     * Gets all required and writable parent properties.
+     *
+     * @param model The client model.
+     * @return Returns the required properties, which are neither constant nor read-only, that are defined by super
+     * types of the client model. The list is unmodifiable.
+     */
     public static List<ClientModelProperty> getRequiredWritableParentProperties(ClientModel model) {
-        String lastParentName = model.getName();
-        ClientModel parentModel = getClientModel(model.getParentModelName());
-        List<ClientModelProperty> requiredParentProperties = new ArrayList<>();
-        while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
-            // Add the properties in inverse order as they be reverse at the end.
-            List<ClientModelProperty> ctorArgs = parentModel.getProperties().stream()
-                .filter(property -> property.isRequired() && !property.isConstant() && !property.isReadOnly())
-                .collect(Collectors.toList());
-
-            for (int i = ctorArgs.size() - 1; i >= 0; i--) {
-                requiredParentProperties.add(ctorArgs.get(i));
-            }
-
-            lastParentName = parentModel.getName();
-            parentModel = getClientModel(parentModel.getParentModelName());
-        }
-        Collections.reverse(requiredParentProperties);
-        return requiredParentProperties;
+        return ClientModelHierarchy.getInstance().getRequiredWritableParentProperties(model);
     }
 
     /**
@@ -3,6 +3,7 @@
 
 package com.azure.autorest.util;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import org.atteo.evo.inflector.English;
 
 import java.util.ArrayList;
@@ -80,8 +81,6 @@ public class CodeNamer {
             "String", "Object", "header", "_"
     ));
 
-    private static NamerFactory factory = new DefaultNamerFactory();
-
     private static final Pattern CAMEL_CASE_SPLIT = Pattern.compile("[_\\- ]");
     private static final Pattern ESCAPE_COMMENT = Pattern.compile(Pattern.quote("*/"));
     private static final Pattern MERGE_UNDERSCORES = Pattern.compile("_{2,}");
@@ -89,11 +88,17 @@ public class CodeNamer {
     private static final Pattern NEW_LINE = Pattern.compile("\r?\n");
 
     public static void setFactory(NamerFactory templateFactory) {
-        factory = templateFactory;
+        // per session, as concurrent sessions of a plugin may set different factories, e.g. FluentNamerFactory
+        // picks the model namer from the track1-naming setting of its session
+        SessionContext.current().set(CodeNamer.class, templateFactory);
+    }
+
+    private static NamerFactory factory() {
+        return SessionContext.current().get(CodeNamer.class, DefaultNamerFactory::new);
     }
 
     public static ModelNamer getModelNamer() {
-        return factory.getModelNamer();
+        return factory().getModelNamer();
     }
 
     private CodeNamer() {
@@ -0,0 +1,328 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.plugin.CacheUtils;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache of the Java files rendered from the inputs of the templates, e.g. a model, a client or a method group.
+ * <p>
+ * The key of an entry is a SHA-256 hash of the template, the path of the file, the template input, the
+ * {@link JavaSettings}, and the build of the generator. The settings that do not change the generated files, e.g. the
+ * cache directories and the parallelism, are not part of the key. If the build of the generator cannot be identified,
+ * the cache is not used.
+ * <p>
+ * A template also reads the client models that its input refers to, e.g. the properties of the parent model, or the
+ * model of a parameter. Hence the key includes the client models whose name is a value of the input, recursively, so
+ * that a change to a model misses the entries of the files that use it, while the files of the unchanged models and
+ * method groups hit.
+ * <p>
+ * The content of the files is stored by its own hash, so that the files unchanged between two versions of a service
+ * are stored once. The entries used by a run are recorded in the index of its settings, which replaces the index of
+ * the previous run with the same settings. The content no longer referenced by any index is then removed. The layout
+ * of the cache directory is:
+ * <ul>
+ *     <li>{@code indexes/<hash of the settings>.json}, the content hash of each key used by the last run</li>
+ *     <li>{@code contents/<hash>}, the content of a file</li>
+ * </ul>
+ * <p>
+ * The cache is safe to use from multiple threads. If a content is removed while another run still uses it, that run
+ * misses the entry.
+ */
+public final class GenerationCache {
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private static final TypeReference<TreeMap<String, String>> INDEX_TYPE =
+        new TypeReference<TreeMap<String, String>>() {
+        };
+
+    private final Path directory;
+    private final String settingsHash;
+    private final String buildIdentity;
+
+    // the content hash of each key, in the index of the previous run
+    private final Map<String, String> previousIndex;
+    // the content hash of each key used by this run
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // the client models by name and full name, from the first key computed, as the models are mapped by then
+    private volatile Map<String, ClientModel> clientModels;
+
+    private GenerationCache(Path directory, String settingsHash, String buildIdentity,
+        Map<String, String> previousIndex) {
+        this.directory = directory;
+        this.settingsHash = settingsHash;
+        this.buildIdentity = buildIdentity;
+        this.previousIndex = previousIndex;
+    }
+
+    /**
+     * Creates the cache, and reads the index of the previous run with the same settings.
+     *
+     * @param directory the directory of the cache
+     * @param settings the settings
+     * @param generator a class of the generator, used to identify its build
+     * @return the cache
+     * @throws IOException if the build of the generator cannot be identified, or the index cannot be read
+     */
+    public static GenerationCache create(String directory, JavaSettings settings, Class<?> generator)
+        throws IOException {
+        String buildIdentity = CacheUtils.getBuildIdentity(generator);
+        if (buildIdentity == null) {
+            // the output of another build of the generator could be reused
+            throw new IOException("Unable to identify the build of " + generator.getName());
+        }
+
+        // the index is per settings, not per build, so that a new build replaces the index of the previous one
+        String settingsHash = CacheUtils.hash(MAPPER.writeValueAsString(settings));
+        Path indexPath = getIndexPath(Paths.get(directory), settingsHash);
+        Map<String, String> previousIndex = Files.exists(indexPath)
+            ? MAPPER.readValue(indexPath.toFile(), INDEX_TYPE)
+            : Collections.emptyMap();
+        return new GenerationCache(Paths.get(directory), settingsHash, buildIdentity, previousIndex);
+    }
+
+    /**
+     * Computes the key of the file rendered by a template.
+     *
+     * @param template the name of the template
+     * @param filePath the path of the file
+     * @param input the input of the template
+     * @return the key
+     * @throws IOException if the input cannot be serialized
+     */
+    public String getKey(String template, String filePath, Object input) throws IOException {
+        MessageDigest digest = CacheUtils.sha256();
+        CacheUtils.update(digest, settingsHash);
+        CacheUtils.update(digest, buildIdentity);
+        CacheUtils.update(digest, template);
+        CacheUtils.update(digest, filePath);
+        byte[] serializedInput = MAPPER.writeValueAsBytes(input);
+        CacheUtils.update(digest, serializedInput);
+
+        // the client models referred to by the input, in a stable order
+        Map<String, ClientModel> models = getClientModels();
+        Map<String, byte[]> referencedModels = new TreeMap<>();
+        Deque<byte[]> pending = new ArrayDeque<>();
+        pending.push(serializedInput);
+        while (!pending.isEmpty()) {
+            Set<String> values = new HashSet<>();
+            collectTextValues(MAPPER.readTree(pending.pop()), values);
+            for (String value : values) {
+                ClientModel model = models.get(value);
+                if (model != null && model != input && !referencedModels.containsKey(model.getFullName())) {
+                    byte[] serializedModel = MAPPER.writeValueAsBytes(model);
+                    referencedModels.put(model.getFullName(), serializedModel);
+                    pending.push(serializedModel);
+                }
+            }
+        }
+        for (Map.Entry<String, byte[]> model : referencedModels.entrySet()) {
+            CacheUtils.update(digest, model.getKey());
+            CacheUtils.update(digest, model.getValue());
+        }
+        return CacheUtils.toHex(digest.digest());
+    }
+
+    /**
+     * Loads the content of a file from the cache.
+     *
+     * @param key the key of the file
+     * @return the content of the file, or null if the cache has no entry for the key
+     * @throws IOException if the content cannot be read
+     */
+    public String load(String key) throws IOException {
+        String hash = previousIndex.get(key);
+        Path contentPath = hash == null ? null : getContentPath(hash);
+        if (contentPath == null || !Files.exists(contentPath)) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        String content = new String(Files.readAllBytes(contentPath), StandardCharsets.UTF_8);
+        index.put(key, hash);
+        hits.incrementAndGet();
+        return content;
+    }
+
+    /**
+     * Stores the content of a file in the cache.
+     *
+     * @param key the key of the file
+     * @param content the content of the file
+     * @throws IOException if the content cannot be stored
+     */
+    public void store(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        MessageDigest digest = CacheUtils.sha256();
+        digest.update(bytes);
+        String hash = CacheUtils.toHex(digest.digest());
+
+        Path contentPath = getContentPath(hash);
+        if (!Files.exists(contentPath)) {
+            CacheUtils.writeAtomically(contentPath, bytes);
+        }
+        index.put(key, hash);
+    }
+
+    /**
+     * Writes the index of the entries loaded and stored by this run, replacing the index of the previous run with the
+     * same settings, then removes the content that no index refers to.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    public void saveIndex() throws IOException {
+        // the index is written after all of its content is stored, so that it only refers to the stored content
+        CacheUtils.writeAtomically(getIndexPath(directory, settingsHash),
+            MAPPER.writeValueAsBytes(new TreeMap<>(index)));
+
+        Set<String> referencedHashes = new HashSet<>();
+        try (DirectoryStream<Path> indexPaths = Files.newDirectoryStream(directory.resolve("indexes"), "*.json")) {
+            for (Path indexPath : indexPaths) {
+                referencedHashes.addAll(MAPPER.readValue(indexPath.toFile(), INDEX_TYPE).values());
+            }
+        }
+        Path contentsDirectory = directory.resolve("contents");
+        if (Files.isDirectory(contentsDirectory)) {
+            try (DirectoryStream<Path> contentPaths = Files.newDirectoryStream(contentsDirectory)) {
+                for (Path contentPath : contentPaths) {
+                    String name = contentPath.getFileName().toString();
+                    // the temporary files are being written by another run
+                    if (!name.endsWith(".tmp") && !referencedHashes.contains(name)) {
+                        Files.deleteIfExists(contentPath);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of files loaded from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of files not found in the cache.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private Map<String, ClientModel> getClientModels() {
+        Map<String, ClientModel> models = clientModels;
+        if (models == null) {
+            models = new HashMap<>();
+            for (ClientModel model : ClientModels.getInstance().getModels()) {
+                models.put(model.getName(), model);
+                models.put(model.getFullName(), model);
+            }
+            clientModels = models;
+        }
+        return models;
+    }
+
+    private static void collectTextValues(JsonNode node, Set<String> values) {
+        if (node.isTextual()) {
+            values.add(node.textValue());
+        } else {
+            for (JsonNode child : node) {
+                collectTextValues(child, values);
+            }
+        }
+    }
+
+    private static Path getIndexPath(Path directory, String settingsHash) {
+        return directory.resolve("indexes").resolve(settingsHash + ".json");
+    }
+
+    private Path getContentPath(String hash) {
+        return directory.resolve("contents").resolve(hash);
+    }
+
+    /**
+     * The settings that are not part of the key, as they do not change the generated files.
+     */
+    @JsonIgnoreProperties({
+        "generationCacheDirectory", "formatterCacheDirectory", "mappingParallelism", "renderingParallelism",
+        "verifyFormatting", "passCodeModelAsJson", "inProcessCustomization", "customizationStartupTimeout",
+        "reuseCustomizationLanguageServer", "formatterMemoryCacheSize"})
+    private abstract static class JavaSettingsKey {
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ObjectMapper createMapper() {
+        // JavaSettings is serialized from its fields, in a stable order
+        ObjectMapper mapper = JsonMapper.builder()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .addMixIn(JavaSettings.class, JavaSettingsKey.class)
+            .build();
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+            .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+            .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+            .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+            .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE));
+        // the iteration order of a HashSet can differ between runs
+        mapper.registerModule(new SimpleModule().addSerializer(Set.class, new JsonSerializer<Set>() {
+            @Override
+            public void serialize(Set value, JsonGenerator generator, SerializerProvider serializers)
+                throws IOException {
+                Set<String> sorted = new TreeSet<>();
+                for (Object item : value) {
+                    sorted.add(String.valueOf(item));
+                }
+                generator.writeStartArray();
+                for (String item : sorted) {
+                    generator.writeString(item);
+                }
+                generator.writeEndArray();
+            }
+        }));
+        return mapper;
+    }
+}
@@ -20,7 +20,6 @@ import com.azure.autorest.model.clientmodel.examplemodel.LiteralNode;
 import com.azure.autorest.model.clientmodel.examplemodel.MapNode;
 import com.azure.autorest.model.clientmodel.examplemodel.ObjectNode;
 import com.azure.core.util.Base64Url;
-import com.azure.core.util.CoreUtils;
 import com.azure.core.util.DateTimeRfc1123;
 import org.slf4j.Logger;
 
@@ -238,15 +237,7 @@ public class ModelExampleUtil {
         Map<String, ModelProperty> propertiesMap = new LinkedHashMap<>();
         List<ModelProperty> properties = new ArrayList<>();
 
-        List<ClientModel> parentModels = new ArrayList<>();
-        String parentModelName = model.getParentModelName();
-        while (!CoreUtils.isNullOrEmpty(parentModelName)) {
-            ClientModel parentModel = ClientModelUtil.getClientModel(parentModelName);
-            if (parentModel != null) {
-                parentModels.add(parentModel);
-            }
-            parentModelName = parentModel == null ? null : parentModel.getParentModelName();
-        }
+        List<ClientModel> parentModels = ClientModelUtil.getParentModels(model);
 
         List<List<ModelProperty>> propertiesFromTypeAndParents = new ArrayList<>();
         propertiesFromTypeAndParents.add(new ArrayList<>());
@@ -11,7 +11,6 @@ import com.azure.autorest.model.clientmodel.EnumType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.ListType;
 import com.azure.autorest.model.clientmodel.MapType;
-import com.azure.core.util.CoreUtils;
 import com.azure.core.util.DateTimeRfc1123;
 
 import java.io.UnsupportedEncodingException;
@@ -76,15 +75,10 @@ public class ModelTestCaseUtil {
         }
 
         // superclasses
-        String parentModelName = model.getParentModelName();
-        while (!CoreUtils.isNullOrEmpty(parentModelName)) {
-            ClientModel parentModel = ClientModelUtil.getClientModel(parentModelName);
-            if (parentModel != null) {
-                for (ClientModelProperty property : parentModel.getProperties()) {
-                    addForProperty(depth, jsonObject, property, parentModel.getNeedsFlatten());
-                }
+        for (ClientModel parentModel : ClientModelUtil.getParentModels(model)) {
+            for (ClientModelProperty property : parentModel.getProperties()) {
+                addForProperty(depth, jsonObject, property, parentModel.getNeedsFlatten());
             }
-            parentModelName = parentModel == null ? null : parentModel.getParentModelName();
         }
 
         return jsonObject;
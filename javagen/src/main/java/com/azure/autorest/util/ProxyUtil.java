@@ -0,0 +1,265 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.GenericType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.clientmodel.Proxy;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ProxyMethodParameter;
+import com.azure.autorest.template.Templates;
+import com.azure.core.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utilities for the implementation of the REST API interface.
+ */
+public class ProxyUtil {
+
+    /**
+     * The names of the local variables of a generated proxy method, which a parameter must not have.
+     */
+    public static final Set<String> IMPLEMENTATION_LOCAL_VARIABLE_NAMES = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList("requestUrl", "httpRequest", "httpResponse", "statusCode", "responseBody")));
+
+    private static final String EXCEPTION_PACKAGE = "com.azure.core.exception";
+
+    private ProxyUtil() {
+    }
+
+    /**
+     * Whether the unexpected response exception types of the proxy methods are used.
+     * <p>
+     * Otherwise, as for a data-plane client without customized exceptions, every unexpected response is a
+     * HttpResponseException.
+     *
+     * @param settings the settings
+     * @return whether the unexpected response exception types of the proxy methods are used
+     */
+    public static boolean isUnexpectedResponseExceptionTypeUsed(JavaSettings settings) {
+        return !settings.isDataPlaneClient() || isExceptionCustomized(settings);
+    }
+
+    /**
+     * Gets the name of the generated implementation of the REST API interface.
+     *
+     * @param proxy the REST API interface
+     * @return the name of the generated implementation
+     */
+    public static String getImplementationName(Proxy proxy) {
+        return proxy.getName() + "Impl";
+    }
+
+    /**
+     * Whether the REST API interface is implemented by generated code, instead of by RestProxy.
+     * <p>
+     * The option "generate-rest-proxy-implementation" must be set, the proxy template must support it, which the
+     * Android one doesn't, and all the methods of the interface must be supported by the generated implementation, see
+     * {@link #getResponseBodyType(ProxyMethod)}.
+     *
+     * @param proxy the REST API interface
+     * @param settings the settings
+     * @return whether the REST API interface is implemented by generated code
+     */
+    public static boolean isImplementationGenerated(Proxy proxy, JavaSettings settings) {
+        return proxy != null && settings.isGenerateRestProxyImplementation()
+            && Templates.getProxyTemplate().isImplementationGenerationSupported() && !proxy.getMethods().isEmpty()
+            && proxy.getMethods().stream().allMatch(method -> isImplementationSupported(method, settings));
+    }
+
+    /**
+     * Gets the type of the response body of the proxy method, {@code T} of {@code Mono<Response<T>>} or
+     * {@code Response<T>}.
+     *
+     * @param proxyMethod the proxy method
+     * @return the type of the response body, or null if the return type is neither of the two
+     */
+    public static ClassType getResponseBodyType(ProxyMethod proxyMethod) {
+        IType returnType = proxyMethod.getReturnType().getClientType();
+        if (!proxyMethod.isSync()) {
+            if (!isGenericType(returnType, "reactor.core.publisher", "Mono")) {
+                return null;
+            }
+            returnType = ((GenericType) returnType).getTypeArguments()[0];
+        }
+        if (!isGenericType(returnType, "com.azure.core.http.rest", "Response")) {
+            return null;
+        }
+
+        IType bodyType = ((GenericType) returnType).getTypeArguments()[0];
+        return bodyType instanceof ClassType && bodyType.getClientType() == bodyType ? (ClassType) bodyType : null;
+    }
+
+    /**
+     * Gets the exception type of the unexpected responses of the proxy method, whose status code isn't in
+     * {@link #getUnexpectedResponseExceptionTypes(ProxyMethod, JavaSettings)}.
+     *
+     * @param proxyMethod the proxy method
+     * @param settings the settings
+     * @return the exception type of the unexpected responses
+     */
+    public static ClassType getUnexpectedResponseExceptionType(ProxyMethod proxyMethod, JavaSettings settings) {
+        return isUnexpectedResponseExceptionTypeUsed(settings) && proxyMethod.getUnexpectedResponseExceptionType() != null
+            ? proxyMethod.getUnexpectedResponseExceptionType()
+            : ClassType.HttpResponseException;
+    }
+
+    /**
+     * Gets the exception types of the unexpected responses of the proxy method, by their status codes.
+     *
+     * @param proxyMethod the proxy method
+     * @param settings the settings
+     * @return the exception types of the unexpected responses, by their status codes
+     */
+    public static Map<ClassType, List<Integer>> getUnexpectedResponseExceptionTypes(ProxyMethod proxyMethod,
+        JavaSettings settings) {
+        return isUnexpectedResponseExceptionTypeUsed(settings) && proxyMethod.getUnexpectedResponseExceptionTypes() != null
+            ? proxyMethod.getUnexpectedResponseExceptionTypes()
+            : Collections.emptyMap();
+    }
+
+    /**
+     * Whether the generated implementation escapes the value of the parameter.
+     *
+     * @param parameter the parameter of the proxy method
+     * @return whether the value of the parameter is escaped
+     */
+    public static boolean isEscaped(ProxyMethodParameter parameter) {
+        return (parameter.getRequestParameterLocation() == RequestParameterLocation.PATH
+            || parameter.getRequestParameterLocation() == RequestParameterLocation.QUERY)
+            && !parameter.getAlreadyEncoded();
+    }
+
+    /**
+     * Adds the imports of the generated implementation of the REST API interface.
+     *
+     * @param proxy the REST API interface
+     * @param imports the set of imports to add to
+     * @param settings the settings
+     */
+    public static void addImplementationImportsTo(Proxy proxy, Set<String> imports, JavaSettings settings) {
+        imports.add("com.azure.core.http.HttpMethod");
+        imports.add("com.azure.core.http.HttpPipeline");
+        imports.add("com.azure.core.http.HttpRequest");
+        imports.add("com.azure.core.http.HttpResponse");
+        imports.add("com.azure.core.http.rest.Response");
+        imports.add("com.azure.core.http.rest.SimpleResponse");
+        imports.add("com.azure.core.util.serializer.SerializerAdapter");
+        imports.add("com.azure.core.util.serializer.SerializerEncoding");
+        imports.add("java.io.IOException");
+
+        for (ProxyMethod proxyMethod : proxy.getMethods()) {
+            getUnexpectedResponseExceptionType(proxyMethod, settings).addImportsTo(imports, true);
+            getUnexpectedResponseExceptionTypes(proxyMethod, settings).keySet()
+                .forEach(type -> type.addImportsTo(imports, true));
+
+            if (proxyMethod.getParameters().stream().noneMatch(parameter -> parameter.getWireType() == ClassType.Context)) {
+                ClassType.Context.addImportsTo(imports, true);
+            }
+            if (proxyMethod.isSync()) {
+                ClassType.BinaryData.addImportsTo(imports, true);
+            } else {
+                imports.add("reactor.core.publisher.Mono");
+            }
+            if (getResponseBodyType(proxyMethod) != ClassType.Void || proxyMethod.getParameters().stream()
+                .anyMatch(parameter -> parameter.getRequestParameterLocation() == RequestParameterLocation.BODY)) {
+                imports.add("java.io.UncheckedIOException");
+            }
+            if (proxyMethod.getParameters().stream().anyMatch(ProxyUtil::isEscaped)) {
+                imports.add("java.nio.charset.StandardCharsets");
+            }
+        }
+    }
+
+    private static boolean isImplementationSupported(ProxyMethod proxyMethod, JavaSettings settings) {
+        if (proxyMethod.isResumable() || proxyMethod.getHttpMethod() == HttpMethod.HEAD
+            || proxyMethod.getReturnValueWireType() != null) {
+            return false;
+        }
+
+        ClassType responseBodyType = getResponseBodyType(proxyMethod);
+        if (responseBodyType == null || responseBodyType == ClassType.BinaryData
+            || responseBodyType == ClassType.InputStream) {
+            return false;
+        }
+
+        for (ProxyMethodParameter parameter : proxyMethod.getParameters()) {
+            if (!isImplementationSupported(proxyMethod, parameter)) {
+                return false;
+            }
+        }
+
+        if (isUnexpectedResponseExceptionTypeUsed(settings)) {
+            if (proxyMethod.getUnexpectedResponseExceptionType() != null
+                && !EXCEPTION_PACKAGE.equals(proxyMethod.getUnexpectedResponseExceptionType().getPackage())) {
+                return false;
+            }
+            // every azure-core exception has the constructor (String, HttpResponse, Object)
+            if (proxyMethod.getUnexpectedResponseExceptionTypes() != null
+                && !proxyMethod.getUnexpectedResponseExceptionTypes().keySet().stream()
+                .allMatch(type -> EXCEPTION_PACKAGE.equals(type.getPackage()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImplementationSupported(ProxyMethod proxyMethod, ProxyMethodParameter parameter) {
+        if (IMPLEMENTATION_LOCAL_VARIABLE_NAMES.contains(parameter.getName())) {
+            return false;
+        }
+
+        IType wireType = parameter.getWireType();
+        switch (parameter.getRequestParameterLocation()) {
+            case URI:
+            case PATH:
+            case HEADER:
+                return isStringValueSupported(wireType)
+                    && (parameter.getHeaderCollectionPrefix() == null || parameter.getHeaderCollectionPrefix().isEmpty());
+
+            case QUERY:
+                return isStringValueSupported(wireType) && !parameter.getExplode();
+
+            case BODY:
+                return proxyMethod.getRequestContentType().contains("json")
+                    && wireType != ClassType.BinaryData && wireType != ClassType.InputStream
+                    && !(wireType instanceof ArrayType)
+                    && !isGenericType(wireType, "reactor.core.publisher", "Flux");
+
+            case NONE:
+                return wireType == ClassType.Context;
+
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isStringValueSupported(IType wireType) {
+        return (wireType instanceof ClassType && wireType != ClassType.RequestOptions
+            && wireType != ClassType.BinaryData && wireType != ClassType.InputStream)
+            || (wireType instanceof PrimitiveType && wireType != PrimitiveType.Void);
+    }
+
+    private static boolean isGenericType(IType type, String packageName, String name) {
+        return type instanceof GenericType && packageName.equals(((GenericType) type).getPackage())
+            && name.equals(((GenericType) type).getName()) && ((GenericType) type).getTypeArguments().length == 1;
+    }
+
+    private static boolean isExceptionCustomized(JavaSettings settings) {
+        return settings.getDefaultHttpExceptionType() != null
+            || settings.isUseDefaultHttpStatusCodeToExceptionTypeMapping()
+            || settings.getHttpStatusCodeToExceptionTypeMapping() != null;
+    }
+}
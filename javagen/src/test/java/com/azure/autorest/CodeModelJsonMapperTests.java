@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest;
+
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
+import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
+import com.azure.autorest.extension.base.model.codemodel.Operation;
+import com.azure.autorest.extension.base.model.codemodel.OperationGroup;
+import com.azure.autorest.extension.base.model.codemodel.Parameter;
+import com.azure.autorest.extension.base.model.codemodel.Property;
+import com.azure.autorest.extension.base.model.codemodel.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CodeModelJsonMapperTests {
+
+    private static final String[] CODE_MODEL_FILES = {
+        "containerregistry-code-model-processed-no-tags.yaml",
+        "webpubsub-code-model-processed-no-tags.yaml"
+    };
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        MockUnitJavagen javagen = new MockUnitJavagen();
+        for (String fileName : CODE_MODEL_FILES) {
+            // the code model read from YAML by SnakeYAML, and the same code model passed through JSON
+            CodeModel yamlCodeModel = javagen.parseCodeModel(fileName);
+            String json = CodeModelJsonMapper.write(yamlCodeModel);
+            CodeModel jsonCodeModel = CodeModelJsonMapper.read(new StringReader(json));
+
+            // same content, same $id references and same @class
+            Assert.assertEquals(fileName, json, CodeModelJsonMapper.write(jsonCodeModel));
+
+            // the objects shared in YAML (anchors and aliases) are shared in JSON
+            Assert.assertEquals(fileName, getSharedSchemaIndexes(yamlCodeModel), getSharedSchemaIndexes(jsonCodeModel));
+            Assert.assertEquals(fileName, getSharedParameterIndexes(yamlCodeModel),
+                getSharedParameterIndexes(jsonCodeModel));
+
+            // properties declared as Schema are read as their subclass
+            Assert.assertEquals(fileName, getPropertySchemaClasses(yamlCodeModel),
+                getPropertySchemaClasses(jsonCodeModel));
+        }
+    }
+
+    @Test
+    public void testJsonDetected() throws IOException {
+        MockUnitJavagen javagen = new MockUnitJavagen();
+        CodeModel yamlCodeModel = javagen.parseCodeModel(CODE_MODEL_FILES[0]);
+
+        Assert.assertFalse(CodeModelJsonMapper.isJson(javagen.readFile(CODE_MODEL_FILES[0])));
+        Assert.assertTrue(CodeModelJsonMapper.isJson(" \n" + CodeModelJsonMapper.write(yamlCodeModel)));
+
+        // the reader is reset after the check
+        StringReader reader = new StringReader(CodeModelJsonMapper.write(yamlCodeModel));
+        Assert.assertTrue(CodeModelJsonMapper.isJson(reader));
+        Assert.assertEquals('{', reader.read());
+    }
+
+    /**
+     * For each property and each parent of an object schema, the index of its schema in the object schemas of the
+     * code model, or -1 if it is not one of them.
+     */
+    private static List<Integer> getSharedSchemaIndexes(CodeModel codeModel) {
+        Map<Schema, Integer> objectSchemas = new IdentityHashMap<>();
+        for (ObjectSchema objectSchema : codeModel.getSchemas().getObjects()) {
+            objectSchemas.put(objectSchema, objectSchemas.size());
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        for (ObjectSchema objectSchema : codeModel.getSchemas().getObjects()) {
+            if (objectSchema.getProperties() != null) {
+                for (Property property : objectSchema.getProperties()) {
+                    indexes.add(objectSchemas.getOrDefault(property.getSchema(), -1));
+                }
+            }
+            if (objectSchema.getParents() != null) {
+                for (Schema parent : objectSchema.getParents().getAll()) {
+                    indexes.add(objectSchemas.getOrDefault(parent, -1));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * For each parameter of an operation, the index of the parameter in the global parameters of the code model, or
+     * -1 if it is not one of them.
+     */
+    private static List<Integer> getSharedParameterIndexes(CodeModel codeModel) {
+        Map<Parameter, Integer> globalParameters = new IdentityHashMap<>();
+        for (Parameter parameter : codeModel.getGlobalParameters()) {
+            globalParameters.put(parameter, globalParameters.size());
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        for (OperationGroup operationGroup : codeModel.getOperationGroups()) {
+            for (Operation operation : operationGroup.getOperations()) {
+                for (Parameter parameter : operation.getParameters()) {
+                    indexes.add(globalParameters.getOrDefault(parameter, -1));
+                }
+            }
+        }
+        // the code model shares the global parameters with the operations
+        Assert.assertTrue(indexes.stream().anyMatch(index -> index >= 0));
+        return indexes;
+    }
+
+    private static List<Class<?>> getPropertySchemaClasses(CodeModel codeModel) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (ObjectSchema objectSchema : codeModel.getSchemas().getObjects()) {
+            if (objectSchema.getProperties() != null) {
+                for (Property property : objectSchema.getProperties()) {
+                    classes.add(property.getSchema().getClass());
+                }
+            }
+        }
+        Assert.assertTrue(classes.stream().anyMatch(clazz -> clazz != Schema.class));
+        return classes;
+    }
+}
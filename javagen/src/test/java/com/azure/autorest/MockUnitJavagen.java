@@ -5,11 +5,14 @@ package com.azure.autorest;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import org.junit.Assert;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -31,6 +34,7 @@ public class MockUnitJavagen extends Javagen {
 
     public MockUnitJavagen() {
         super(new MockConnection(), "dummy", "dummy");
+        SessionContext.current().setPlugin(Javagen.class, this);
         JavaSettingsAccessor.setHost(this);
     }
 
@@ -50,6 +54,11 @@ public class MockUnitJavagen extends Javagen {
         return sb.toString();
     }
 
+    @Override
+    public Reader readFileAsReader(String fileName) {
+        return new StringReader(readFile(fileName));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getValue(Type type, String key) {
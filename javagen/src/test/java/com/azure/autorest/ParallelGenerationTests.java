@@ -0,0 +1,177 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest;
+
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.model.MessageChannel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.mapper.Mappers;
+import com.azure.autorest.model.clientmodel.Client;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaPackage;
+import com.azure.autorest.util.GenerationCache;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests that the generated code does not depend on the parallelism of the generation, or on the generation cache.
+ */
+public class ParallelGenerationTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String[] CODE_MODEL_FILES = {
+        "containerregistry-code-model-processed-no-tags.yaml",
+        "webpubsub-code-model-processed-no-tags.yaml"
+    };
+
+    @Test
+    public void testMappingParallelism() {
+        for (String fileName : CODE_MODEL_FILES) {
+            Map<String, String> serialFiles = generate(fileName, 1, 1);
+            Assert.assertFalse(serialFiles.isEmpty());
+            // several runs, as the threads race differently on each
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(fileName, serialFiles, generate(fileName, 4, 1));
+            }
+        }
+    }
+
+    @Test
+    public void testRenderingParallelism() {
+        for (String fileName : CODE_MODEL_FILES) {
+            Map<String, String> serialFiles = generate(fileName, 1, 1);
+            for (int i = 0; i < 3; i++) {
+                // same paths in the same order, and same content
+                Map<String, String> parallelFiles = generate(fileName, 1, 4);
+                Assert.assertEquals(fileName, new ArrayList<>(serialFiles.keySet()),
+                    new ArrayList<>(parallelFiles.keySet()));
+                Assert.assertEquals(fileName, serialFiles, parallelFiles);
+            }
+        }
+    }
+
+    @Test
+    public void testGenerationCache() throws IOException {
+        for (String fileName : CODE_MODEL_FILES) {
+            String directory = folder.newFolder().getAbsolutePath();
+            Map<String, String> serialFiles = generate(fileName, 1, 1);
+
+            // the first run stores the files, the code model mapped again by a later run has the same keys
+            GeneratingJavagen firstRun = generate(fileName, 1, 4, directory);
+            Assert.assertEquals(fileName, serialFiles, firstRun.javaFiles);
+            Assert.assertEquals(fileName, 0, firstRun.generationCache.getHits());
+
+            GeneratingJavagen laterRun = generate(fileName, 4, 4, directory);
+            Assert.assertEquals(fileName, new ArrayList<>(serialFiles.keySet()),
+                new ArrayList<>(laterRun.javaFiles.keySet()));
+            Assert.assertEquals(fileName, serialFiles, laterRun.javaFiles);
+            Assert.assertEquals(fileName, 0, laterRun.generationCache.getMisses());
+            Assert.assertEquals(fileName, firstRun.generationCache.getMisses(), laterRun.generationCache.getHits());
+        }
+    }
+
+    /**
+     * Maps and renders the code model in a new session, with the given parallelism.
+     *
+     * @return the content of the Java files, by path, in the order of the files of the package
+     */
+    private static Map<String, String> generate(String fileName, int mappingParallelism, int renderingParallelism) {
+        return generate(fileName, mappingParallelism, renderingParallelism, null).javaFiles;
+    }
+
+    private static GeneratingJavagen generate(String fileName, int mappingParallelism, int renderingParallelism,
+        String generationCacheDirectory) {
+        GeneratingJavagen javagen = new GeneratingJavagen(fileName, mappingParallelism, renderingParallelism,
+            generationCacheDirectory);
+        boolean succeeded = javagen.process();
+        Assert.assertTrue(javagen.errors.toString(), succeeded);
+        return javagen;
+    }
+
+    private static final class GeneratingJavagen extends MockUnitJavagen {
+        private final String fileName;
+        private final int mappingParallelism;
+        private final int renderingParallelism;
+        private final String generationCacheDirectory;
+
+        private final Map<String, String> javaFiles = new LinkedHashMap<>();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private GenerationCache generationCache;
+
+        private GeneratingJavagen(String fileName, int mappingParallelism, int renderingParallelism,
+            String generationCacheDirectory) {
+            this.fileName = fileName;
+            this.mappingParallelism = mappingParallelism;
+            this.renderingParallelism = renderingParallelism;
+            this.generationCacheDirectory = generationCacheDirectory;
+        }
+
+        @Override
+        public boolean processInternal() {
+            try {
+                JavaSettings settings = JavaSettings.getInstance();
+                if (generationCacheDirectory != null) {
+                    generationCache = GenerationCache.create(generationCacheDirectory, settings, Javagen.class);
+                }
+
+                CodeModel codeModel = parseCodeModel(fileName);
+                Client client = Mappers.getClientMapper().map(codeModel);
+                JavaPackage javaPackage = writeToTemplates(codeModel, client, settings, false, generationCache);
+                for (JavaFile javaFile : javaPackage.getJavaFiles()) {
+                    String content = javaPackage.getCachedContent(javaFile);
+                    if (content == null) {
+                        content = javaFile.getContents().toString();
+                        String key = javaPackage.getGenerationCacheKey(javaFile);
+                        if (key != null) {
+                            generationCache.store(key, content);
+                        }
+                    }
+                    javaFiles.put(javaFile.getFilePath(), content);
+                }
+
+                if (generationCache != null) {
+                    generationCache.saveIndex();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public void prefetchValues(Map<String, Type> keys) {
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(Type type, String key) {
+            if ("mapping-parallelism".equals(key)) {
+                return (T) Integer.valueOf(mappingParallelism);
+            } else if ("rendering-parallelism".equals(key)) {
+                return (T) Integer.valueOf(renderingParallelism);
+            }
+            return super.getValue(type, key);
+        }
+
+        @Override
+        public void message(Message message) {
+            if (message.getChannel() == MessageChannel.FATAL || message.getChannel() == MessageChannel.ERROR) {
+                errors.add(message.getText());
+            }
+        }
+    }
+}
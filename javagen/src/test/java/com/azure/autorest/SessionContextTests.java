@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest;
+
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.model.MessageChannel;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.projectmodel.Project;
+import com.azure.autorest.template.SwaggerReadmeTemplate;
+import com.azure.autorest.util.ClientModelUtil;
+import com.azure.autorest.util.CodeNamer;
+import com.azure.autorest.util.ModelNamer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class SessionContextTests {
+
+    private static final ModelNamer SESSION_MODEL_NAMER = new ModelNamer();
+
+    @Test
+    public void testSequentialSessions() {
+        SessionJavagen sessionA = new SessionJavagen("a", null);
+        SessionJavagen sessionB = new SessionJavagen("b", null);
+
+        Assert.assertTrue(sessionA.process());
+        Assert.assertTrue(sessionB.process());
+
+        sessionA.assertIsolated();
+        sessionB.assertIsolated();
+    }
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        // both sessions have set their state before either checks it
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        SessionJavagen sessionA = new SessionJavagen("a", barrier);
+        SessionJavagen sessionB = new SessionJavagen("b", barrier);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> resultA = executor.submit(sessionA::process);
+            Future<Boolean> resultB = executor.submit(sessionB::process);
+            Assert.assertTrue(resultA.get(30, TimeUnit.SECONDS));
+            Assert.assertTrue(resultB.get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        sessionA.assertIsolated();
+        sessionB.assertIsolated();
+    }
+
+    /**
+     * A plugin that sets the state of its session, then records the state seen from the session.
+     */
+    private static final class SessionJavagen extends Javagen {
+        private final String name;
+        private final CyclicBarrier barrier;
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private Javagen plugin;
+        private String namespace;
+        private List<String> modelNames;
+        private ClientModel functionModel;
+        private ModelNamer modelNamer;
+        private String readme;
+
+        SessionJavagen(String name, CyclicBarrier barrier) {
+            super(new MockUnitJavagen.MockConnection(), "dummy", name);
+            this.name = name;
+            this.barrier = barrier;
+        }
+
+        @Override
+        public boolean processInternal() {
+            ClientModels.getInstance().addModel(new ClientModel.Builder()
+                .name("Model" + name)
+                .packageName("com.azure." + name + ".models")
+                .build());
+            if ("a".equals(name)) {
+                // only this session looks up the models through the function
+                ClientModelUtil.setGetClientModelFunction(modelName -> "Function".equals(modelName)
+                    ? new ClientModel.Builder().name("FunctionModel").packageName("com.azure.a.models").build()
+                    : ClientModels.getInstance().getModel(modelName));
+                // and only this session sets its namer, as FluentNamer does for track1-naming
+                CodeNamer.setFactory(() -> SESSION_MODEL_NAMER);
+            }
+
+            if (barrier != null) {
+                try {
+                    barrier.await(30, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            plugin = Javagen.getPluginInstance();
+            namespace = JavaSettings.getInstance().getPackage();
+            modelNames = ClientModels.getInstance().getModels().stream()
+                .map(ClientModel::getName)
+                .collect(Collectors.toList());
+            functionModel = ClientModelUtil.getClientModel("Function");
+            modelNamer = CodeNamer.getModelNamer();
+            readme = new SwaggerReadmeTemplate().write(new Project(null, "2023-01-01"));
+            return true;
+        }
+
+        void assertIsolated() {
+            Assert.assertEquals(Collections.emptyList(), errors);
+            Assert.assertSame(this, plugin);
+            Assert.assertEquals("com.azure." + name, namespace);
+            Assert.assertEquals(Collections.singletonList("Model" + name), modelNames);
+            if ("a".equals(name)) {
+                Assert.assertNotNull(functionModel);
+                Assert.assertSame(SESSION_MODEL_NAMER, modelNamer);
+            } else {
+                Assert.assertNull(functionModel);
+                Assert.assertNotSame(SESSION_MODEL_NAMER, modelNamer);
+            }
+            Assert.assertTrue(readme, readme.contains("title: Title" + name));
+            Assert.assertFalse(readme, readme.contains("title: Title" + ("a".equals(name) ? "b" : "a")));
+        }
+
+        @Override
+        public void prefetchValues(Map<String, Type> keys) {
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(Type type, String key) {
+            // called by the constructor of Javagen too, before the name is set
+            switch (key) {
+                case "namespace":
+                    return (T) ("com.azure." + name);
+                case "service-name":
+                    return (T) ("Service" + name);
+                case "title":
+                    return (T) ("Title" + name);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public void message(Message message) {
+            if (message.getChannel() == MessageChannel.FATAL || message.getChannel() == MessageChannel.ERROR) {
+                errors.add(message.getText());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.jsonrpc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class PeekingBinaryReaderTests {
+
+    @Test
+    public void testReadJsonMessage() throws IOException {
+        PeekingBinaryReader reader = reader("{\"a\":[1,{\"b\":\"}]\\\"\"}]}[2]");
+        Assert.assertEquals("{\"a\":[1,{\"b\":\"}]\\\"\"}]}", readJsonMessage(reader));
+        Assert.assertEquals("[2]", readJsonMessage(reader));
+        Assert.assertEquals(-1, reader.peekByte());
+    }
+
+    @Test
+    public void testReadJsonMessageAfterWhitespace() throws IOException {
+        // e.g. the line terminator after the previous message
+        PeekingBinaryReader reader = reader("\r\n {\"id\":1}\n\t[\"a\"]\n");
+        Assert.assertEquals("{\"id\":1}", readJsonMessage(reader));
+        Assert.assertEquals("[\"a\"]", readJsonMessage(reader));
+    }
+
+    @Test
+    public void testReadJsonMessageEndOfStream() throws IOException {
+        try {
+            readJsonMessage(reader("{\"a\":"));
+            Assert.fail();
+        } catch (EOFException e) {
+            // expected
+        }
+
+        try {
+            readJsonMessage(reader("\n"));
+            Assert.fail();
+        } catch (EOFException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadJsonMessageNotObject() {
+        try {
+            readJsonMessage(reader(" 1"));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertFalse(e instanceof EOFException);
+        }
+    }
+
+    private static PeekingBinaryReader reader(String input) {
+        // one byte per read, so that the message spans the refills of the buffer
+        return new PeekingBinaryReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        });
+    }
+
+    private static String readJsonMessage(PeekingBinaryReader reader) throws IOException {
+        int length = reader.readJsonMessage();
+        return new String(reader.getMessage(), 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FormatterCacheTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        String directory = folder.getRoot().getAbsolutePath();
+        CountingFormat format = new CountingFormat();
+
+        FormatterCache cache = new FormatterCache("formatter", FormatterCache.class, directory);
+        Assert.assertEquals("formatted class A {}", cache.format("class A {}", format));
+        Assert.assertEquals("formatted class A {}", cache.format("class A {}", format));
+        Assert.assertEquals(1, format.count.get());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+
+        // a later run reads the formatted source from disk
+        FormatterCache laterCache = new FormatterCache("formatter", FormatterCache.class, directory);
+        Assert.assertEquals("formatted class A {}", laterCache.format("class A {}", format));
+        Assert.assertEquals(1, format.count.get());
+        Assert.assertEquals(1, laterCache.getHits());
+    }
+
+    @Test
+    public void testChangedKey() throws Exception {
+        String directory = folder.getRoot().getAbsolutePath();
+        CountingFormat format = new CountingFormat();
+
+        FormatterCache cache = new FormatterCache("formatter", FormatterCache.class, directory);
+        cache.format("class A {}", "", format);
+        // changed source
+        cache.format("class B {}", "", format);
+        // changed options
+        cache.format("class A {}", "option", format);
+        // changed formatter
+        new FormatterCache("other-formatter", FormatterCache.class, directory).format("class A {}", "", format);
+
+        Assert.assertEquals(4, format.count.get());
+    }
+
+    @Test
+    public void testCorruptedDiskEntry() throws Exception {
+        String directory = folder.getRoot().getAbsolutePath();
+        CountingFormat format = new CountingFormat();
+
+        new FormatterCache("formatter", FormatterCache.class, directory).format("class A {}", format);
+        File[] entries = folder.getRoot().listFiles();
+        Assert.assertNotNull(entries);
+        Assert.assertEquals(1, entries.length);
+        Files.write(entries[0].toPath(), "corrupted".getBytes(StandardCharsets.UTF_8));
+
+        // the corrupted entry is a miss, and is replaced
+        FormatterCache cache = new FormatterCache("formatter", FormatterCache.class, directory);
+        Assert.assertEquals("formatted class A {}", cache.format("class A {}", format));
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals("formatted class A {}",
+            new FormatterCache("formatter", FormatterCache.class, directory).format("class A {}", format));
+        Assert.assertEquals(2, format.count.get());
+    }
+
+    @Test
+    public void testFailedFormatNotCached() throws Exception {
+        String directory = folder.getRoot().getAbsolutePath();
+        FormatterCache cache = new FormatterCache("formatter", FormatterCache.class, directory, 1);
+
+        try {
+            cache.format("class Failed {", source -> {
+                throw new IllegalArgumentException("invalid source");
+            });
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        CountingFormat format = new CountingFormat();
+        Assert.assertEquals("formatted class Failed {", cache.format("class Failed {", format));
+        Assert.assertEquals(1, format.count.get());
+        Assert.assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testMemoryCache() throws Exception {
+        CountingFormat format = new CountingFormat();
+
+        // without the directory, the source is only found in the in-memory cache if it is enabled
+        new FormatterCache("formatter", FormatterCache.class, null, 0).format("class Memory {}", format);
+        new FormatterCache("formatter", FormatterCache.class, null, 0).format("class Memory {}", format);
+        Assert.assertEquals(2, format.count.get());
+
+        new FormatterCache("formatter", FormatterCache.class, null, 1).format("class Memory {}", format);
+        FormatterCache cache = new FormatterCache("formatter", FormatterCache.class, null, 1);
+        cache.format("class Memory {}", format);
+        Assert.assertEquals(3, format.count.get());
+        Assert.assertEquals(1, cache.getHits());
+
+        // a source larger than the cache is not kept
+        String largeSource = new String(new char[2 * 1024 * 1024]).replace('\0', ' ');
+        new FormatterCache("formatter", FormatterCache.class, null, 1).format(largeSource, format);
+        new FormatterCache("formatter", FormatterCache.class, null, 1).format(largeSource, format);
+        Assert.assertEquals(5, format.count.get());
+    }
+
+    private static final class CountingFormat implements FormatterCache.Format {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String format(String source) throws IOException {
+            count.incrementAndGet();
+            return "formatted " + source;
+        }
+    }
+}
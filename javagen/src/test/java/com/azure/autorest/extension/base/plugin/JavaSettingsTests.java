@@ -0,0 +1,53 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.MockUnitJavagen;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class JavaSettingsTests {
+
+    @Test
+    public void testPrefetchedSettings() {
+        RecordingJavagen javagen = new RecordingJavagen();
+        Assert.assertTrue(javagen.process());
+
+        // each setting read by JavaSettings and PluginLogger is prefetched, with the same type, and nothing else is
+        Assert.assertFalse(javagen.reads.isEmpty());
+        Assert.assertEquals(javagen.reads, javagen.prefetchedKeys);
+    }
+
+    /**
+     * A plugin that records the settings prefetched, and the settings read when the session is processed.
+     */
+    private static final class RecordingJavagen extends MockUnitJavagen {
+        private final Map<String, Type> prefetchedKeys = new TreeMap<>();
+        private final Map<String, Type> reads = new TreeMap<>();
+
+        @Override
+        public boolean processInternal() {
+            JavaSettings.getInstance();
+            return true;
+        }
+
+        @Override
+        public void prefetchValues(Map<String, Type> keys) {
+            prefetchedKeys.putAll(keys);
+        }
+
+        @Override
+        public <T> T getValue(Type type, String key) {
+            // also called by the constructor of Javagen, before the session is processed
+            if (reads != null) {
+                reads.put(key, type);
+            }
+            return super.getValue(type, key);
+        }
+    }
+}
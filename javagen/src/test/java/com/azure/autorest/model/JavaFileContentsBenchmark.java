@@ -0,0 +1,170 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.model;
+
+import com.azure.autorest.model.javamodel.JavaFileContents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the rendering of a model file by {@link JavaFileContents} with the implementation it replaced, which split
+ * every text into a list of lines and checked the line prefix of every line by trimming it.
+ * <p>
+ * Not run as a unit test. Run it with the main method from the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaFileContentsBenchmark {
+
+    @Param({"10", "100"})
+    public int propertyCount;
+
+    @Benchmark
+    public String javaFileContents() {
+        JavaFileContents contents = new JavaFileContents();
+        render(new Appender() {
+            @Override
+            public void line(String text) {
+                contents.line(text);
+            }
+
+            @Override
+            public void increaseIndent() {
+                contents.increaseIndent();
+            }
+
+            @Override
+            public void decreaseIndent() {
+                contents.decreaseIndent();
+            }
+        });
+        return contents.toString();
+    }
+
+    @Benchmark
+    public String previousImplementation() {
+        PreviousJavaFileContents contents = new PreviousJavaFileContents();
+        render(contents);
+        return contents.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JavaFileContentsBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    // renders a file of the shape of a model class, a field, a getter and a setter per property
+    private void render(Appender appender) {
+        appender.line("package com.azure.benchmark.models;");
+        appender.line("");
+        appender.line("import com.azure.core.annotation.Fluent;");
+        appender.line("");
+        appender.line("/** The Widget model. */");
+        appender.line("@Fluent");
+        appender.line("public final class Widget {");
+        appender.increaseIndent();
+        for (int i = 0; i < propertyCount; i++) {
+            appender.line("/*");
+            appender.line(" * The property" + i + " property.");
+            appender.line(" */");
+            appender.line("private String property" + i + ";");
+            appender.line("");
+        }
+        for (int i = 0; i < propertyCount; i++) {
+            appender.line("/**");
+            appender.line(" * Get the property" + i + " property: The property" + i + " property.");
+            appender.line(" *");
+            appender.line(" * @return the property" + i + " value.");
+            appender.line(" */");
+            appender.line("public String getProperty" + i + "() {");
+            appender.increaseIndent();
+            appender.line("return this.property" + i + ";");
+            appender.decreaseIndent();
+            appender.line("}");
+            appender.line("");
+            appender.line("public Widget setProperty" + i + "(String property" + i + ") {");
+            appender.increaseIndent();
+            appender.line("this.property" + i + " = property" + i + ";\nreturn this;");
+            appender.decreaseIndent();
+            appender.line("}");
+            appender.line("");
+        }
+        appender.decreaseIndent();
+        appender.line("}");
+    }
+
+    private interface Appender {
+        void line(String text);
+
+        void increaseIndent();
+
+        void decreaseIndent();
+    }
+
+    // the text and line methods of JavaFileContents before the allocation free path, with no word wrap
+    private static final class PreviousJavaFileContents implements Appender {
+        private final StringBuilder contents = new StringBuilder();
+        private final StringBuilder linePrefix = new StringBuilder();
+
+        @Override
+        public void line(String text) {
+            text(String.format("%s%s", text, System.lineSeparator()));
+        }
+
+        @Override
+        public void increaseIndent() {
+            linePrefix.append("    ");
+        }
+
+        @Override
+        public void decreaseIndent() {
+            linePrefix.setLength(Math.max(0, linePrefix.length() - 4));
+        }
+
+        private void text(String text) {
+            List<String> lines = new ArrayList<>();
+            int lineStartIndex = 0;
+            int textLength = text.length();
+            while (lineStartIndex < textLength) {
+                int newLineCharacterIndex = text.indexOf('\n', lineStartIndex);
+                int nextLineStartIndex = newLineCharacterIndex == -1 ? textLength : newLineCharacterIndex + 1;
+                List<String> wrappedLines = new ArrayList<>();
+                wrappedLines.add(text.substring(lineStartIndex, nextLineStartIndex));
+                lines.addAll(wrappedLines);
+                lineStartIndex = nextLineStartIndex;
+            }
+
+            String prefix = linePrefix.toString();
+            for (String line : lines) {
+                if (!prefix.trim().isEmpty() || (!prefix.isEmpty() && !line.trim().isEmpty())) {
+                    contents.append(prefix);
+                }
+                contents.append(line);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return contents.toString();
+        }
+    }
+}
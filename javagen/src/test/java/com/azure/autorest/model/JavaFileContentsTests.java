@@ -37,4 +37,52 @@ public class JavaFileContentsTests {
                         .allMatch(line -> Pattern.matches("^ *\\* *[^ ]+$", line))
         );
     }
+
+    @Test
+    public void canAddLinePrefix() {
+        final String newLine = System.lineSeparator();
+
+        JavaFileContents javaFileContents = new JavaFileContents();
+        javaFileContents.line("class Widget {");
+        javaFileContents.indent(() -> {
+            javaFileContents.line("int a;");
+            javaFileContents.line();
+            javaFileContents.line("int b;\nint c;");
+            javaFileContents.lineComment(comment -> {
+                comment.line("comment");
+                comment.line("");
+            });
+        });
+        javaFileContents.line("}");
+
+        // indentation is not added to empty lines, while the prefix of a comment is
+        Assert.assertEquals("class Widget {" + newLine
+                + "    int a;" + newLine
+                + newLine
+                + "    int b;\n    int c;" + newLine
+                + "    // comment" + newLine
+                + "    // " + newLine
+                + "}" + newLine,
+            javaFileContents.toString());
+    }
+
+    @Test
+    public void canOrderImportsAsFormatter() {
+        final String newLine = System.lineSeparator();
+
+        JavaFileContents javaFileContents = new JavaFileContents();
+        javaFileContents.declareImport("java.util.List", "com.azure.core.util.logging.ClientLogger",
+            "static org.junit.Assert.assertEquals", "com.azure.core.util.CoreUtils", "com.azure.core.util.IterableStream",
+            "com.azure.core.util.ETag");
+
+        Assert.assertEquals("import static org.junit.Assert.assertEquals;" + newLine
+                + newLine
+                + "import com.azure.core.util.CoreUtils;" + newLine
+                + "import com.azure.core.util.ETag;" + newLine
+                + "import com.azure.core.util.IterableStream;" + newLine
+                + "import com.azure.core.util.logging.ClientLogger;" + newLine
+                + "import java.util.List;" + newLine
+                + newLine,
+            javaFileContents.toString());
+    }
 }
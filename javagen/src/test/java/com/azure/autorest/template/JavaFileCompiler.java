@@ -0,0 +1,122 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.model.javamodel.JavaFile;
+import org.junit.Assert;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles generated Java files in memory, against the libraries of the test classpath, and loads their classes.
+ */
+final class JavaFileCompiler {
+
+    private JavaFileCompiler() {
+    }
+
+    /**
+     * Compiles the Java files, failing the test on any compilation error.
+     *
+     * @param javaFiles the Java files.
+     * @param classpathClasses classes from the libraries the Java files use.
+     * @return the class loader of the compiled classes.
+     */
+    static ClassLoader compile(Collection<JavaFile> javaFiles, Class<?>... classpathClasses) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertNotNull("the tests need a JDK", compiler);
+
+        List<JavaFileObject> sources = javaFiles.stream()
+            .map(javaFile -> new SourceFile(javaFile.getFilePath(), javaFile.getContents().toString()))
+            .collect(Collectors.toList());
+
+        // surefire doesn't put the libraries on java.class.path, so locate them from their classes
+        Set<String> classpath = new LinkedHashSet<>();
+        for (Class<?> clazz : classpathClasses) {
+            try {
+                classpath.add(Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        ClassFileManager fileManager = new ClassFileManager(standardFileManager);
+        List<String> options = Arrays.asList("-classpath", String.join(File.pathSeparator, classpath),
+            "-proc:none", "-Xlint:none");
+        boolean succeeded = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+        Assert.assertTrue(diagnostics.getDiagnostics().toString(), succeeded);
+
+        return new ClassLoader(JavaFileCompiler.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                ByteArrayOutputStream classFile = fileManager.classFiles.get(name);
+                if (classFile == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] bytes = classFile.toByteArray();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String contents;
+
+        private SourceFile(String path, String contents) {
+            super(URI.create("string:///" + path.replace('\\', '/')), Kind.SOURCE);
+            this.contents = contents;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return contents;
+        }
+    }
+
+    private static final class ClassFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> classFiles = new HashMap<>();
+
+        private ClassFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+            FileObject sibling) {
+            ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+            classFiles.put(className, classFile);
+            return new SimpleJavaFileObject(URI.create("class:///" + className.replace('.', '/') + kind.extension),
+                kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return classFile;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,379 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.MockUnitJavagen;
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.GenericType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.clientmodel.Proxy;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ProxyMethodParameter;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.RestProxy;
+import com.azure.core.util.Context;
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.serializer.JacksonAdapter;
+import com.azure.core.util.serializer.SerializerAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tests the code of {@link ProxyImplementationTemplate}, by compiling the generated implementation and sending the
+ * same calls to it and to RestProxy.
+ */
+public class ProxyImplementationTemplateTests {
+
+    private static final String PACKAGE_NAME = "com.azure.mock";
+
+    private static final String PET = "{\"name\":\"Rex\",\"tags\":[\"a\",\"b\"]}";
+
+    @Test
+    public void testImplementationAsRestProxy() throws Exception {
+        JavaFile javaFile = generate(petsProxy());
+        String contents = javaFile.getContents().toString();
+        Assert.assertTrue(contents.contains("private static final class PetsServiceImpl implements PetsService"));
+        Assert.assertFalse(contents.contains("URLEncoder"));
+        ClassLoader classLoader = JavaFileCompiler.compile(Collections.singletonList(javaFile), HttpPipeline.class,
+            Mono.class, Publisher.class);
+
+        FakeHttpClient httpClient = new FakeHttpClient();
+        HttpPipeline httpPipeline = new HttpPipelineBuilder().httpClient(httpClient).build();
+        SerializerAdapter serializer = JacksonAdapter.createDefaultSerializerAdapter();
+        Class<?> serviceInterface = classLoader.loadClass(PACKAGE_NAME + ".PetsClient$PetsService");
+        Object restProxy = RestProxy.create(serviceInterface, httpPipeline, serializer);
+        Constructor<?> implementationConstructor = classLoader.loadClass(PACKAGE_NAME + ".PetsClient$PetsServiceImpl")
+            .getDeclaredConstructor(HttpPipeline.class, SerializerAdapter.class);
+        implementationConstructor.setAccessible(true);
+        Object implementation = implementationConstructor.newInstance(httpPipeline, serializer);
+
+        // the path and query values are escaped as RestProxy does, the already encoded value is kept
+        Object[] getArguments = { "https://pets.example.com/", "Rex /é?#:@+", "name eq 'a&b=c/d?é'", 5, "a%20b",
+            "request-id", Context.NONE };
+        // the null query and header values are omitted
+        Object[] getNullArguments = { "https://pets.example.com", "Rex", null, 0, null, null, Context.NONE };
+        Object[] putArguments = { "https://pets.example.com", "Rex", Collections.singletonMap("name", "Rex \"2\"") };
+        Object[] putNullArguments = { "https://pets.example.com", "Rex", null };
+
+        for (String methodName : Arrays.asList("getPet", "getPetSync")) {
+            assertSameCall(httpClient, restProxy, implementation, methodName, getArguments, 200, PET);
+            assertSameCall(httpClient, restProxy, implementation, methodName, getNullArguments, 200, PET);
+            // no body
+            assertSameCall(httpClient, restProxy, implementation, methodName, getArguments, 200, null);
+            // the exception type of the status code, and the default exception type
+            assertSameCall(httpClient, restProxy, implementation, methodName, getArguments, 404,
+                "{\"error\":\"not found\"}");
+            assertSameCall(httpClient, restProxy, implementation, methodName, getArguments, 500, "not JSON");
+            assertSameCall(httpClient, restProxy, implementation, methodName, getArguments, 503, null);
+        }
+        for (String methodName : Arrays.asList("putPet", "putPetSync")) {
+            assertSameCall(httpClient, restProxy, implementation, methodName, putArguments, 201, null);
+            assertSameCall(httpClient, restProxy, implementation, methodName, putNullArguments, 200, PET);
+            assertSameCall(httpClient, restProxy, implementation, methodName, putArguments, 400, PET);
+        }
+    }
+
+    @Test
+    public void testAndroidNotSupported() {
+        Assert.assertTrue(ProxyTemplate.getInstance().isImplementationGenerationSupported());
+
+        ProxyTemplate androidProxyTemplate = new ProxyTemplate() {
+            @Override
+            public boolean isImplementationGenerationSupported() {
+                return false;
+            }
+        };
+        ProxyJavagen javagen = new ProxyJavagen(petsProxy()) {
+            @Override
+            public boolean processInternal() {
+                Templates.setFactory(new DefaultTemplateFactory() {
+                    @Override
+                    public ProxyTemplate getProxyTemplate() {
+                        return androidProxyTemplate;
+                    }
+                });
+                try {
+                    return super.processInternal();
+                } finally {
+                    Templates.setFactory(new DefaultTemplateFactory());
+                }
+            }
+        };
+        Assert.assertTrue(javagen.process());
+        String contents = javagen.javaFile.getContents().toString();
+        Assert.assertTrue(contents.contains("interface PetsService"));
+        Assert.assertFalse(contents.contains("PetsServiceImpl"));
+        Assert.assertFalse(contents.contains("SimpleResponse"));
+    }
+
+    /*
+     * Calls the method of RestProxy and of the implementation, with the same arguments and the same response, and
+     * asserts that they send the same request and return the same response, or throw the same exception.
+     */
+    private static void assertSameCall(FakeHttpClient httpClient, Object restProxy, Object implementation,
+        String methodName, Object[] arguments, int statusCode, String responseBody) throws Exception {
+        httpClient.statusCode = statusCode;
+        httpClient.responseBody = responseBody;
+        String message = methodName + " " + statusCode + " " + responseBody;
+
+        Object expected = call(restProxy, methodName, arguments);
+        String expectedRequest = httpClient.request;
+        Object actual = call(implementation, methodName, arguments);
+        Assert.assertEquals(message, expectedRequest, httpClient.request);
+
+        if (expected instanceof HttpResponseException) {
+            Assert.assertEquals(message, expected.getClass(), actual.getClass());
+            HttpResponseException expectedException = (HttpResponseException) expected;
+            HttpResponseException actualException = (HttpResponseException) actual;
+            Assert.assertEquals(message, expectedException.getMessage(), actualException.getMessage());
+            Assert.assertEquals(message, expectedException.getValue(), actualException.getValue());
+            Assert.assertEquals(message, statusCode, actualException.getResponse().getStatusCode());
+        } else {
+            Assert.assertTrue(message + ": " + actual, actual instanceof Response);
+            Response<?> expectedResponse = (Response<?>) expected;
+            Response<?> actualResponse = (Response<?>) actual;
+            Assert.assertEquals(message, statusCode, actualResponse.getStatusCode());
+            Assert.assertEquals(message, expectedResponse.getStatusCode(), actualResponse.getStatusCode());
+            Assert.assertEquals(message, expectedResponse.getValue(), actualResponse.getValue());
+            Assert.assertEquals(message, expectedResponse.getHeaders().toMap(), actualResponse.getHeaders().toMap());
+        }
+    }
+
+    /*
+     * Calls the method of the service, returning its response, or the exception it throws.
+     */
+    private static Object call(Object service, String methodName, Object[] arguments) throws Exception {
+        Method method = Arrays.stream(service.getClass().getInterfaces()[0].getMethods())
+            .filter(interfaceMethod -> interfaceMethod.getName().equals(methodName))
+            .findFirst()
+            .get();
+        method.setAccessible(true);
+        try {
+            Object result = method.invoke(service, arguments);
+            return result instanceof Mono ? ((Mono<?>) result).block() : result;
+        } catch (InvocationTargetException e) {
+            return e.getCause();
+        } catch (HttpResponseException e) {
+            // thrown by block()
+            return e;
+        }
+    }
+
+    /*
+     * The REST API of the pets, with each kind of parameter, and the sync and async methods with and without a
+     * response body.
+     */
+    private static Proxy petsProxy() {
+        ProxyMethodParameter endpoint = parameter("endpoint", "endpoint", RequestParameterLocation.URI,
+            ClassType.String, false);
+        ProxyMethodParameter petId = parameter("petId", "petId", RequestParameterLocation.PATH, ClassType.String,
+            false);
+        ProxyMethodParameter filter = parameter("filter", "$filter", RequestParameterLocation.QUERY, ClassType.String,
+            false);
+        ProxyMethodParameter count = parameter("count", "count", RequestParameterLocation.QUERY, PrimitiveType.Int,
+            false);
+        ProxyMethodParameter skipToken = parameter("skipToken", "$skipToken", RequestParameterLocation.QUERY,
+            ClassType.String, true);
+        ProxyMethodParameter requestId = parameter("requestId", "x-ms-client-request-id",
+            RequestParameterLocation.HEADER, ClassType.String, false);
+        ProxyMethodParameter context = parameter("context", "context", RequestParameterLocation.NONE,
+            ClassType.Context, false);
+        ProxyMethodParameter pet = parameter("pet", "pet", RequestParameterLocation.BODY, ClassType.Object, false);
+
+        List<ProxyMethodParameter> getParameters = Arrays.asList(endpoint, petId, filter, count, skipToken,
+            requestId, context);
+        List<ProxyMethodParameter> putParameters = Arrays.asList(endpoint, petId, pet);
+        return new Proxy.Builder()
+            .name("PetsService")
+            .clientTypeName("PetsClient")
+            .baseURL("{endpoint}")
+            .methods(Arrays.asList(
+                proxyMethod("getPet", HttpMethod.GET, GenericType.Mono(GenericType.Response(ClassType.Object)),
+                    false, Collections.singletonList(200), getParameters),
+                proxyMethod("getPetSync", HttpMethod.GET, GenericType.Response(ClassType.Object), true,
+                    Collections.singletonList(200), getParameters),
+                proxyMethod("putPet", HttpMethod.PUT, GenericType.Mono(GenericType.Response(ClassType.Void)), false,
+                    Arrays.asList(200, 201), putParameters),
+                proxyMethod("putPetSync", HttpMethod.PUT, GenericType.Response(ClassType.Void), true,
+                    Arrays.asList(200, 201), putParameters)))
+            .build();
+    }
+
+    private static ProxyMethod proxyMethod(String name, HttpMethod httpMethod, IType returnType, boolean isSync,
+        List<Integer> expectedStatusCodes, List<ProxyMethodParameter> parameters) {
+        return new ProxyMethod.Builder()
+            .name(name)
+            .httpMethod(httpMethod)
+            .urlPath("/pets/{petId}")
+            .requestContentType("application/json")
+            .returnType(returnType)
+            .isSync(isSync)
+            .responseExpectedStatusCodes(expectedStatusCodes)
+            .unexpectedResponseExceptionType(ClassType.HttpResponseException)
+            .unexpectedResponseExceptionTypes(Collections.singletonMap(ClassType.ResourceNotFoundException,
+                Collections.singletonList(404)))
+            .parameters(parameters)
+            .build();
+    }
+
+    private static ProxyMethodParameter parameter(String name, String requestParameterName,
+        RequestParameterLocation location, IType type, boolean alreadyEncoded) {
+        return new ProxyMethodParameter.Builder()
+            .name(name)
+            .requestParameterName(requestParameterName)
+            .requestParameterLocation(location)
+            .wireType(type)
+            .clientType(type)
+            .alreadyEncoded(alreadyEncoded)
+            .build();
+    }
+
+    /**
+     * Generates the client class of the REST API with the generated implementation, in a new session.
+     *
+     * @return the Java file of the client class.
+     */
+    private static JavaFile generate(Proxy proxy) {
+        ProxyJavagen javagen = new ProxyJavagen(proxy);
+        Assert.assertTrue(javagen.process());
+        return javagen.javaFile;
+    }
+
+    private static class ProxyJavagen extends MockUnitJavagen {
+        private final Proxy proxy;
+
+        private JavaFile javaFile;
+
+        private ProxyJavagen(Proxy proxy) {
+            this.proxy = proxy;
+        }
+
+        @Override
+        public boolean processInternal() {
+            JavaSettings settings = JavaSettings.getInstance();
+            javaFile = new JavaFile(PACKAGE_NAME.replace('.', '/') + "/PetsClient.java");
+            javaFile.declarePackage(PACKAGE_NAME);
+            Set<String> imports = new HashSet<>();
+            proxy.addImportsTo(imports, true, settings);
+            javaFile.declareImport(imports);
+            javaFile.publicFinalClass("PetsClient", classBlock ->
+                Templates.getProxyTemplate().write(proxy, classBlock));
+            return true;
+        }
+
+        @Override
+        public void prefetchValues(Map<String, Type> keys) {
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(Type type, String key) {
+            if ("generate-rest-proxy-implementation".equals(key)) {
+                return (T) Boolean.TRUE;
+            }
+            return super.getValue(type, key);
+        }
+    }
+
+    /**
+     * Records the request, and responds with the given status code and JSON body.
+     */
+    private static final class FakeHttpClient implements HttpClient {
+        private int statusCode;
+        private String responseBody;
+
+        private String request;
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest httpRequest) {
+            String requestBody = httpRequest.getBody() == null ? null
+                : new String(FluxUtil.collectBytesInByteBufferStream(httpRequest.getBody()).block(),
+                StandardCharsets.UTF_8);
+            request = httpRequest.getHttpMethod() + " " + httpRequest.getUrl() + " "
+                + new TreeMap<>(httpRequest.getHeaders().toMap()) + " " + requestBody;
+            return Mono.just(new FakeHttpResponse(httpRequest, statusCode, responseBody));
+        }
+    }
+
+    private static final class FakeHttpResponse extends HttpResponse {
+        private final int statusCode;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        private FakeHttpResponse(HttpRequest request, int statusCode, String body) {
+            super(request);
+            this.statusCode = statusCode;
+            this.body = body == null ? null : body.getBytes(StandardCharsets.UTF_8);
+            if (body != null) {
+                headers.set("Content-Type", "application/json");
+                headers.set("Content-Length", String.valueOf(this.body.length));
+            }
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return body == null ? Flux.empty() : Flux.just(ByteBuffer.wrap(body));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return body == null ? Mono.empty() : Mono.just(body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return body == null ? Mono.empty() : Mono.just(new String(body, charset));
+        }
+    }
+}
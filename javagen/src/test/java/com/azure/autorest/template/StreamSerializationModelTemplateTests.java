@@ -0,0 +1,438 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.MockUnitJavagen;
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.model.MessageChannel;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MapType;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaPackage;
+import com.azure.core.annotation.Fluent;
+import com.azure.json.JsonProviders;
+import com.azure.json.JsonReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the code of {@link StreamSerializationModelTemplate}, by compiling the generated models and deserializing JSON
+ * with them.
+ */
+public class StreamSerializationModelTemplateTests {
+
+    private static final String PACKAGE_NAME = "com.azure.mock.models";
+
+    @Test
+    public void testDeferredPolymorphicFields() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-defer-polymorphic-fields", true);
+        Map<String, JavaFile> javaFiles = generate(settings, fishModels());
+        Assert.assertTrue(javaFiles.get("Fish").getContents().toString().contains("deferredFieldsReader.close();"));
+        ClassLoader classLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        // the discriminator after numeric, nested and array fields
+        Object salmon = fromJson(classLoader, "Fish", "{\"age\":3,\"weight\":0.1,"
+            + "\"location\":{\"latitude\":47.61,\"name\":\"Lake \\\"Union\\\"\"},\"tags\":[\"a\",\"b\"],"
+            + "\"kind\":\"salmon\",\"river\":\"Columbia\"}");
+        Assert.assertEquals("Salmon", salmon.getClass().getSimpleName());
+        assertFish(salmon);
+        Assert.assertEquals("Columbia", get(salmon, "getRiver"));
+
+        // the discriminator first
+        Object firstSalmon = fromJson(classLoader, "Fish", "{\"kind\":\"salmon\",\"age\":3,\"weight\":0.1,"
+            + "\"location\":{\"latitude\":47.61,\"name\":\"Lake \\\"Union\\\"\"},\"tags\":[\"a\",\"b\"],"
+            + "\"river\":\"Columbia\"}");
+        Assert.assertEquals("Salmon", firstSalmon.getClass().getSimpleName());
+        assertFish(firstSalmon);
+        Assert.assertEquals("Columbia", get(firstSalmon, "getRiver"));
+
+        // no discriminator, all the fields are deferred
+        Object fish = fromJson(classLoader, "Fish", "{\"age\":3,\"weight\":0.1,"
+            + "\"location\":{\"latitude\":47.61,\"name\":\"Lake \\\"Union\\\"\"},\"tags\":[\"a\",\"b\"]}");
+        Assert.assertEquals("Fish", fish.getClass().getSimpleName());
+        assertFish(fish);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLazyArrayProperties() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-lazy-array-properties", "Pond.tags,Pond.locations");
+        Map<String, JavaFile> javaFiles = generate(settings, pondModels());
+        String pondContents = javaFiles.get("Pond").getContents().toString();
+        // the list is shared by the models, not nested in each
+        Assert.assertFalse(pondContents.contains("static final class"));
+        Assert.assertTrue(pondContents.contains("JsonSerializationUtils.readLazyArray("));
+        Assert.assertTrue(pondContents.contains("The list deserialized by fromJson is read-only"));
+        ClassLoader classLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        Object pond = fromJson(classLoader, "Pond", "{\"tags\":[\"a\",\"x\\\"y\"],"
+            + "\"locations\":[{\"latitude\":1.5,\"name\":\"A\"},{\"latitude\":2.5,\"name\":\"B\"}]}");
+        Assert.assertEquals(Arrays.asList("a", "x\"y"), get(pond, "getTags"));
+
+        List<Object> locations = (List<Object>) get(pond, "getLocations");
+        Iterator<Object> iterator = locations.iterator();
+        Object first = iterator.next();
+        Assert.assertEquals(1.5, get(first, "getLatitude"));
+        // the elements are deserialized once, every access gets the same instances
+        Assert.assertSame(first, locations.iterator().next());
+        Assert.assertSame(first, locations.get(0));
+        Assert.assertEquals(2, locations.size());
+        Object second = iterator.next();
+        Assert.assertEquals("B", get(second, "getName"));
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertSame(second, locations.stream().skip(1).findFirst().get());
+
+        // read-only
+        try {
+            locations.add(first);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        Object emptyPond = fromJson(classLoader, "Pond", "{\"tags\":[],\"locations\":null}");
+        Assert.assertTrue(((List<Object>) get(emptyPond, "getTags")).isEmpty());
+        Assert.assertFalse(((List<Object>) get(emptyPond, "getTags")).iterator().hasNext());
+        Assert.assertNull(get(emptyPond, "getLocations"));
+
+        // only the elements accessed are deserialized
+        Object invalidPond = fromJson(classLoader, "Pond",
+            "{\"locations\":[{\"latitude\":1.5},{\"latitude\":\"invalid\"}]}");
+        List<Object> invalidLocations = (List<Object>) get(invalidPond, "getLocations");
+        Assert.assertEquals(1.5, get(invalidLocations.iterator().next(), "getLatitude"));
+        Assert.assertFalse(invalidLocations.isEmpty());
+        try {
+            invalidLocations.get(1);
+            Assert.fail();
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSwitchThreshold() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-switch-threshold", 3);
+        Map<String, JavaFile> javaFiles = generate(settings, lakeModels());
+        String lakeContents = javaFiles.get("Lake").getContents().toString();
+        Assert.assertTrue(lakeContents.contains("switch (fieldName)"));
+        Assert.assertTrue(lakeContents.contains("case \"name\":"));
+        Assert.assertTrue(lakeContents.contains("case \"depth\":"));
+        Assert.assertTrue(lakeContents.contains("case \"properties\":"));
+        Assert.assertTrue(lakeContents.contains("default:"));
+        Assert.assertFalse(lakeContents.contains("\"name\".equals(fieldName)"));
+        ClassLoader switchClassLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        // below the threshold, the if-else chain
+        settings.put("stream-style-switch-threshold", 4);
+        javaFiles = generate(settings, lakeModels());
+        lakeContents = javaFiles.get("Lake").getContents().toString();
+        Assert.assertFalse(lakeContents.contains("switch ("));
+        Assert.assertTrue(lakeContents.contains("\"name\".equals(fieldName)"));
+        ClassLoader chainClassLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        // the switch deserializes as the if-else chain, unknown fields fall through to the additional properties
+        String json = "{\"name\":\"Erie\",\"unknown\":{\"a\":[1,2]},\"properties\":{\"area\":25.7,\"extra\":true},"
+            + "\"depth\":64.0,\"size\":\"large\"}";
+        Object lake = fromJson(switchClassLoader, "Lake", json);
+        Assert.assertEquals("Erie", get(lake, "getName"));
+        Assert.assertEquals(64.0, get(lake, "getDepth"));
+        Assert.assertEquals(25.7, get(lake, "getArea"));
+        Map<?, ?> additionalProperties = (Map<?, ?>) get(lake, "getAdditionalProperties");
+        Assert.assertEquals("large", additionalProperties.get("size"));
+        Assert.assertTrue(additionalProperties.containsKey("unknown"));
+        assertSameLake(fromJson(chainClassLoader, "Lake", json), lake);
+
+        // a flattened field that isn't an object falls through to the additional properties too
+        json = "{\"name\":\"Erie\",\"properties\":\"none\"}";
+        lake = fromJson(switchClassLoader, "Lake", json);
+        Assert.assertNull(get(lake, "getArea"));
+        Assert.assertEquals("none", ((Map<?, ?>) get(lake, "getAdditionalProperties")).get("properties"));
+        assertSameLake(fromJson(chainClassLoader, "Lake", json), lake);
+    }
+
+    @Test
+    public void testSwitchThresholdPolymorphic() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-switch-threshold", 1);
+        Map<String, JavaFile> javaFiles = generate(settings, fishModels());
+        // the discriminator and the properties of the super type are cases of the subtype
+        String salmonContents = javaFiles.get("Salmon").getContents().toString();
+        Assert.assertTrue(salmonContents.contains("case \"kind\":"));
+        Assert.assertTrue(salmonContents.contains("case \"age\":"));
+        Assert.assertTrue(salmonContents.contains("case \"river\":"));
+        ClassLoader classLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        // unknown fields are skipped
+        Object salmon = fromJson(classLoader, "Fish", "{\"kind\":\"salmon\",\"age\":3,\"unknown\":[{\"age\":4}],"
+            + "\"weight\":0.1,\"location\":{\"latitude\":47.61,\"name\":\"Lake \\\"Union\\\"\",\"depth\":64.0},"
+            + "\"tags\":[\"a\",\"b\"],\"river\":\"Columbia\"}");
+        Assert.assertEquals("Salmon", salmon.getClass().getSimpleName());
+        assertFish(salmon);
+        Assert.assertEquals("Columbia", get(salmon, "getRiver"));
+
+        // the switch reads the fields deferred before the discriminator, then the remaining fields
+        settings.put("stream-style-defer-polymorphic-fields", true);
+        javaFiles = generate(settings, fishModels());
+        Assert.assertTrue(javaFiles.get("Salmon").getContents().toString().contains("switch (fieldName)"));
+        classLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+        salmon = fromJson(classLoader, "Fish", "{\"age\":3,\"unknown\":[{\"age\":4}],\"weight\":0.1,"
+            + "\"location\":{\"latitude\":47.61,\"name\":\"Lake \\\"Union\\\"\",\"depth\":64.0},"
+            + "\"tags\":[\"a\",\"b\"],\"kind\":\"salmon\",\"river\":\"Columbia\"}");
+        Assert.assertEquals("Salmon", salmon.getClass().getSimpleName());
+        assertFish(salmon);
+        Assert.assertEquals("Columbia", get(salmon, "getRiver"));
+    }
+
+    @Test
+    public void testSwitchThresholdNameCollision() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-switch-threshold", 1);
+        Map<String, JavaFile> javaFiles = generate(settings, reservoirModels());
+        // the field "properties" is both a property and the object of a flattened property, as two case labels
+        // wouldn't compile, the if-else chain is used
+        String reservoirContents = javaFiles.get("Reservoir").getContents().toString();
+        Assert.assertFalse(reservoirContents.contains("switch ("));
+        ClassLoader classLoader = JavaFileCompiler.compile(javaFiles.values(), JsonReader.class, Fluent.class);
+
+        Object reservoir = fromJson(classLoader, "Reservoir", "{\"name\":\"Mead\",\"properties\":\"dam\"}");
+        Assert.assertEquals("Mead", get(reservoir, "getName"));
+        Assert.assertEquals("dam", get(reservoir, "getProperties"));
+    }
+
+    private static void assertSameLake(Object expected, Object actual) throws Exception {
+        for (String getterName : Arrays.asList("getName", "getDepth", "getArea", "getAdditionalProperties")) {
+            Assert.assertEquals(getterName, String.valueOf(get(expected, getterName)),
+                String.valueOf(get(actual, getterName)));
+        }
+    }
+
+    private static void assertFish(Object fish) throws Exception {
+        Assert.assertEquals(3, get(fish, "getAge"));
+        Assert.assertEquals(0.1, get(fish, "getWeight"));
+        Object location = get(fish, "getLocation");
+        Assert.assertEquals(47.61, get(location, "getLatitude"));
+        Assert.assertEquals("Lake \"Union\"", get(location, "getName"));
+        Assert.assertEquals(Arrays.asList("a", "b"), get(fish, "getTags"));
+    }
+
+    /*
+     * Fish, with the numeric, nested and array fields, and its subtype Salmon.
+     */
+    private static List<ClientModel> fishModels() {
+        ClassType locationType = modelType("Location");
+        ClientModel location = model("Location", locationType, null, null, null, Collections.emptyList(), Arrays.asList(
+            property("latitude", ClassType.Double),
+            property("name", ClassType.String)));
+
+        ClientModel salmon = model("Salmon", modelType("Salmon"), "Fish", "salmon", "kind", Collections.emptyList(),
+            Arrays.asList(
+                discriminator("salmon"),
+                property("river", ClassType.String)));
+
+        ClientModel fish = model("Fish", modelType("Fish"), null, "fish", "kind", Collections.singletonList(salmon),
+            Arrays.asList(
+                discriminator("fish"),
+                property("age", ClassType.Integer),
+                property("weight", ClassType.Double),
+                property("location", locationType),
+                property("tags", new ListType(ClassType.String))));
+
+        return Arrays.asList(location, fish, salmon);
+    }
+
+    /*
+     * Pond, with the array properties of strings and of models.
+     */
+    private static List<ClientModel> pondModels() {
+        ClassType locationType = modelType("Location");
+        ClientModel location = model("Location", locationType, null, null, null, Collections.emptyList(), Arrays.asList(
+            property("latitude", ClassType.Double),
+            property("name", ClassType.String)));
+
+        ClientModel pond = model("Pond", modelType("Pond"), null, null, null, Collections.emptyList(), Arrays.asList(
+            property("tags", new ListType(ClassType.String)),
+            property("locations", new ListType(locationType))));
+
+        return Arrays.asList(location, pond);
+    }
+
+    /*
+     * Lake, with a flattened property and additional properties.
+     */
+    private static List<ClientModel> lakeModels() {
+        return Collections.singletonList(model("Lake", modelType("Lake"), null, null, null, Collections.emptyList(),
+            Arrays.asList(
+                property("name", ClassType.String),
+                property("depth", ClassType.Double),
+                flattenedProperty("area", "properties.area", ClassType.Double),
+                new ClientModelProperty.Builder()
+                    .name("additionalProperties")
+                    .description("The additionalProperties property.")
+                    .serializedName("")
+                    .wireType(new MapType(ClassType.Object))
+                    .clientType(new MapType(ClassType.Object))
+                    .additionalProperties(true)
+                    .build())));
+    }
+
+    /*
+     * Reservoir, whose property "properties" has the name of the object of its flattened property.
+     */
+    private static List<ClientModel> reservoirModels() {
+        return Collections.singletonList(model("Reservoir", modelType("Reservoir"), null, null, null,
+            Collections.emptyList(), Arrays.asList(
+                property("name", ClassType.String),
+                property("properties", ClassType.String),
+                flattenedProperty("capacity", "properties.capacity", ClassType.Double))));
+    }
+
+    private static ClassType modelType(String name) {
+        return new ClassType.Builder().packageName(PACKAGE_NAME).name(name).build();
+    }
+
+    private static ClientModel model(String name, ClassType type, String parentModelName, String serializedName,
+        String polymorphicDiscriminator, List<ClientModel> derivedModels, List<ClientModelProperty> properties) {
+        return new ClientModel.Builder()
+            .name(name)
+            .packageName(PACKAGE_NAME)
+            .type(type)
+            .description("The " + name + " model.")
+            .polymorphic(polymorphicDiscriminator != null)
+            .polymorphicDiscriminator(polymorphicDiscriminator)
+            .serializedName(serializedName)
+            .parentModelName(parentModelName)
+            .derivedModels(derivedModels)
+            .imports(new ArrayList<>())
+            .properties(properties)
+            .build();
+    }
+
+    private static ClientModelProperty property(String name, IType type) {
+        return new ClientModelProperty.Builder()
+            .name(name)
+            .description("The " + name + " property.")
+            .serializedName(name)
+            .wireType(type)
+            .clientType(type)
+            .build();
+    }
+
+    private static ClientModelProperty flattenedProperty(String name, String serializedName, IType type) {
+        return new ClientModelProperty.Builder()
+            .name(name)
+            .description("The " + name + " property.")
+            .serializedName(serializedName)
+            .wireType(type)
+            .clientType(type)
+            .needsFlatten(true)
+            .build();
+    }
+
+    private static ClientModelProperty discriminator(String value) {
+        return new ClientModelProperty.Builder()
+            .name("kind")
+            .description("The kind property.")
+            .serializedName("kind")
+            .wireType(ClassType.String)
+            .clientType(ClassType.String)
+            .defaultValue("\"" + value + "\"")
+            .readOnly(true)
+            .polymorphicDiscriminator(true)
+            .build();
+    }
+
+    private static Object fromJson(ClassLoader classLoader, String modelName, String json) throws Exception {
+        Class<?> modelClass = classLoader.loadClass(PACKAGE_NAME + "." + modelName);
+        try (JsonReader jsonReader = JsonProviders.createReader(json)) {
+            return modelClass.getMethod("fromJson", JsonReader.class).invoke(null, jsonReader);
+        }
+    }
+
+    private static Object get(Object bean, String getterName) throws Exception {
+        Method getter = bean.getClass().getMethod(getterName);
+        getter.setAccessible(true);
+        return getter.invoke(bean);
+    }
+
+    /**
+     * Generates the models with stream-style serialization and the given settings, in a new session.
+     *
+     * @return the Java files of the models, by model name.
+     */
+    private static Map<String, JavaFile> generate(Map<String, Object> settings, List<ClientModel> models) {
+        ModelJavagen javagen = new ModelJavagen(settings, models);
+        boolean succeeded = javagen.process();
+        Assert.assertTrue(javagen.errors.toString(), succeeded);
+        return javagen.javaFiles;
+    }
+
+    private static final class ModelJavagen extends MockUnitJavagen {
+        private final Map<String, Object> settings;
+        private final List<ClientModel> models;
+
+        private final Map<String, JavaFile> javaFiles = new LinkedHashMap<>();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private ModelJavagen(Map<String, Object> settings, List<ClientModel> models) {
+            this.settings = settings;
+            this.models = models;
+        }
+
+        @Override
+        public boolean processInternal() {
+            models.forEach(ClientModels.getInstance()::addModel);
+            JavaPackage javaPackage = new JavaPackage(this);
+            for (ClientModel model : models) {
+                javaPackage.addModel(model.getPackage(), model.getName(), model);
+            }
+            for (JavaFile javaFile : javaPackage.getJavaFiles()) {
+                String fileName = javaFile.getFilePath().substring(javaFile.getFilePath().lastIndexOf('/') + 1);
+                javaFiles.put(fileName.substring(0, fileName.length() - ".java".length()), javaFile);
+            }
+            return true;
+        }
+
+        @Override
+        public void prefetchValues(Map<String, Type> keys) {
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(Type type, String key) {
+            if ("stream-style-serialization".equals(key)) {
+                return (T) Boolean.TRUE;
+            } else if (settings != null && settings.containsKey(key)) {
+                return (T) settings.get(key);
+            }
+            return super.getValue(type, key);
+        }
+
+        @Override
+        public void message(Message message) {
+            if (message.getChannel() == MessageChannel.FATAL || message.getChannel() == MessageChannel.ERROR) {
+                errors.add(message.getText());
+            }
+        }
+    }
+}
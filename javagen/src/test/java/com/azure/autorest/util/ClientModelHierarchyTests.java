@@ -0,0 +1,138 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.MockUnitJavagen;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ClientModelHierarchyTests {
+
+    @Before
+    public void setup() {
+        new MockUnitJavagen();
+        ClientModels.getInstance().clear();
+    }
+
+    @After
+    public void cleanup() {
+        ClientModels.getInstance().clear();
+    }
+
+    @Test
+    public void testMultiLevelHierarchy() {
+        // Pet <- Dog <- Corgi, Pet <- Cat
+        ClientModel pet = addModel("Pet", null,
+            property("kind", true, false, false),
+            property("name", true, false, false),
+            property("id", true, true, false));
+        ClientModel dog = addModel("Dog", "Pet",
+            property("breed", true, false, false),
+            property("type", true, false, true));
+        ClientModel corgi = addModel("Corgi", "Dog",
+            property("tail", true, false, false));
+        ClientModel cat = addModel("Cat", "Pet",
+            property("lives", false, false, false));
+
+        ClientModelHierarchy hierarchy = ClientModelHierarchy.getInstance();
+
+        Assert.assertEquals(Collections.emptyList(), hierarchy.getParentModels(pet));
+        Assert.assertEquals(Collections.singletonList(pet), hierarchy.getParentModels(dog));
+        Assert.assertEquals(Arrays.asList(dog, pet), hierarchy.getParentModels(corgi));
+        Assert.assertEquals(Collections.singletonList(pet), hierarchy.getParentModels(cat));
+
+        // the properties of the root model first
+        Assert.assertEquals(Collections.emptyList(), names(hierarchy.getParentProperties(pet)));
+        Assert.assertEquals(Arrays.asList("kind", "name", "id", "breed", "type"),
+            names(hierarchy.getParentProperties(corgi)));
+        Assert.assertEquals(Arrays.asList("kind", "name", "id"), names(hierarchy.getParentProperties(cat)));
+
+        // neither the read-only nor the constant properties
+        Assert.assertEquals(Arrays.asList("kind", "name", "breed"),
+            names(hierarchy.getRequiredWritableParentProperties(corgi)));
+        Assert.assertEquals(Arrays.asList("kind", "name"), names(hierarchy.getRequiredWritableParentProperties(cat)));
+    }
+
+    @Test
+    public void testInvalidatedByAddModel() {
+        ClientModel pet = addModel("Pet", null, property("name", true, false, false));
+        ClientModel dog = addModel("Dog", "Pet", property("breed", true, false, false));
+        // its parent is added after the hierarchy is built
+        ClientModel corgi = addModel("Corgi", "Puppy", property("tail", true, false, false));
+
+        ClientModelHierarchy hierarchy = ClientModelHierarchy.getInstance();
+        Assert.assertSame(hierarchy, ClientModelHierarchy.getInstance());
+        Assert.assertEquals(Collections.emptyList(), hierarchy.getParentModels(corgi));
+
+        ClientModel puppy = addModel("Puppy", "Dog", property("age", true, false, false));
+        ClientModelHierarchy rebuiltHierarchy = ClientModelHierarchy.getInstance();
+        Assert.assertNotSame(hierarchy, rebuiltHierarchy);
+        Assert.assertEquals(Arrays.asList(puppy, dog, pet), rebuiltHierarchy.getParentModels(corgi));
+        Assert.assertEquals(Arrays.asList("name", "breed", "age"), names(rebuiltHierarchy.getParentProperties(corgi)));
+
+        // a model of the same name is not added, so the hierarchy is kept
+        ClientModels.getInstance().addModel(new ClientModel.Builder()
+            .name("Puppy")
+            .packageName("com.azure.mock.models")
+            .properties(Collections.emptyList())
+            .build());
+        Assert.assertSame(rebuiltHierarchy, ClientModelHierarchy.getInstance());
+
+        // cleared with the models
+        ClientModels.getInstance().clear();
+        Assert.assertEquals(Collections.emptyList(), ClientModelHierarchy.getInstance().getParentModels(corgi));
+    }
+
+    @Test
+    public void testModelNotInClientModels() {
+        ClientModel pet = addModel("Pet", null, property("name", true, false, false));
+        addModel("Dog", "Pet", property("breed", true, false, false));
+
+        // a model of the same name as an indexed model, but another instance, is resolved on demand
+        ClientModel otherDog = new ClientModel.Builder()
+            .name("Dog")
+            .packageName("com.azure.mock.other")
+            .parentModelName("Pet")
+            .properties(Collections.emptyList())
+            .build();
+        Assert.assertEquals(Collections.singletonList(pet),
+            ClientModelHierarchy.getInstance().getParentModels(otherDog));
+    }
+
+    private static ClientModel addModel(String name, String parentModelName, ClientModelProperty... properties) {
+        return ClientModels.getInstance().addModel(new ClientModel.Builder()
+            .name(name)
+            .packageName("com.azure.mock.models")
+            .parentModelName(parentModelName)
+            .properties(Arrays.asList(properties))
+            .build());
+    }
+
+    private static ClientModelProperty property(String name, boolean required, boolean readOnly, boolean constant) {
+        return new ClientModelProperty.Builder()
+            .name(name)
+            .serializedName(name)
+            .clientType(ClassType.String)
+            .wireType(ClassType.String)
+            .required(required)
+            .readOnly(readOnly)
+            .constant(constant)
+            .build();
+    }
+
+    private static List<String> names(List<ClientModelProperty> properties) {
+        return properties.stream().map(ClientModelProperty::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.Javagen;
+import com.azure.autorest.MockUnitJavagen;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+public class GenerationCacheTests {
+
+    private static final String TEMPLATE = "ModelTemplate";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        new MockUnitJavagen();
+        ClientModels.getInstance().clear();
+        JavaSettings settings = JavaSettings.getInstance();
+        String directory = folder.getRoot().getAbsolutePath();
+
+        ClientModel model = model("Model", null, "The model.");
+        GenerationCache cache = GenerationCache.create(directory, settings, Javagen.class);
+        String key = cache.getKey(TEMPLATE, "Model.java", model);
+        Assert.assertNull(cache.load(key));
+        cache.store(key, "public class Model {}");
+        cache.saveIndex();
+
+        // same input, settings and template
+        GenerationCache laterCache = GenerationCache.create(directory, settings, Javagen.class);
+        Assert.assertEquals(key, laterCache.getKey(TEMPLATE, "Model.java", model("Model", null, "The model.")));
+        Assert.assertEquals("public class Model {}", laterCache.load(key));
+        Assert.assertEquals(1, laterCache.getHits());
+
+        // changed input, template or file
+        Assert.assertNotEquals(key, laterCache.getKey(TEMPLATE, "Model.java", model("Model", null, "Changed.")));
+        Assert.assertNotEquals(key, laterCache.getKey("EnumTemplate", "Model.java", model));
+        Assert.assertNotEquals(key, laterCache.getKey(TEMPLATE, "Other.java", model));
+    }
+
+    @Test
+    public void testReferencedModels() throws IOException {
+        new MockUnitJavagen();
+        ClientModels.getInstance().clear();
+        String directory = folder.getRoot().getAbsolutePath();
+
+        ClientModel child = ClientModels.getInstance().addModel(model("Child", "Parent", "The child."));
+        ClientModel other = ClientModels.getInstance().addModel(model("Other", null, "The other."));
+        ClientModels.getInstance().addModel(model("Parent", "GrandParent", "The parent."));
+        ClientModels.getInstance().addModel(model("GrandParent", null, "The grand parent."));
+        GenerationCache cache = GenerationCache.create(directory, JavaSettings.getInstance(), Javagen.class);
+        String childKey = cache.getKey(TEMPLATE, "Child.java", child);
+        String otherKey = cache.getKey(TEMPLATE, "Other.java", other);
+
+        // the grand parent changed, which the child refers to through its parent
+        ClientModels.getInstance().clear();
+        ClientModels.getInstance().addModel(child);
+        ClientModels.getInstance().addModel(other);
+        ClientModels.getInstance().addModel(model("Parent", "GrandParent", "The parent."));
+        ClientModels.getInstance().addModel(model("GrandParent", null, "Changed."));
+        GenerationCache laterCache = GenerationCache.create(directory, JavaSettings.getInstance(), Javagen.class);
+        Assert.assertNotEquals(childKey, laterCache.getKey(TEMPLATE, "Child.java", child));
+        Assert.assertEquals(otherKey, laterCache.getKey(TEMPLATE, "Other.java", other));
+    }
+
+    @Test
+    public void testPruneContents() throws IOException {
+        new MockUnitJavagen();
+        ClientModels.getInstance().clear();
+        JavaSettings settings = JavaSettings.getInstance();
+        String directory = folder.getRoot().getAbsolutePath();
+
+        GenerationCache cache = GenerationCache.create(directory, settings, Javagen.class);
+        String keyA = cache.getKey(TEMPLATE, "A.java", model("A", null, "A."));
+        String keyB = cache.getKey(TEMPLATE, "B.java", model("B", null, "B."));
+        cache.store(keyA, "class A {}");
+        cache.store(keyB, "class B {}");
+        cache.saveIndex();
+        Assert.assertEquals(2, contents().length);
+
+        // the later run no longer generates B, so its content is removed
+        GenerationCache laterCache = GenerationCache.create(directory, settings, Javagen.class);
+        Assert.assertEquals("class A {}", laterCache.load(keyA));
+        String keyC = laterCache.getKey(TEMPLATE, "C.java", model("C", null, "C."));
+        laterCache.store(keyC, "class C {}");
+        laterCache.saveIndex();
+        Assert.assertEquals(2, contents().length);
+
+        GenerationCache lastCache = GenerationCache.create(directory, settings, Javagen.class);
+        Assert.assertEquals("class A {}", lastCache.load(keyA));
+        Assert.assertNull(lastCache.load(keyB));
+        Assert.assertEquals("class C {}", lastCache.load(keyC));
+    }
+
+    private File[] contents() {
+        File[] contents = new File(folder.getRoot(), "contents").listFiles();
+        Assert.assertNotNull(contents);
+        return contents;
+    }
+
+    private static ClientModel model(String name, String parentModelName, String description) {
+        return new ClientModel.Builder()
+            .name(name)
+            .packageName("com.azure.mock.models")
+            .parentModelName(parentModelName)
+            .description(description)
+            .build();
+    }
+}
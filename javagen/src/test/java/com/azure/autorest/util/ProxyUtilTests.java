@@ -0,0 +1,60 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.GenericType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ProxyMethodParameter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProxyUtilTests {
+
+    @Test
+    public void testGetResponseBodyType() {
+        Assert.assertEquals(ClassType.String,
+            ProxyUtil.getResponseBodyType(proxyMethod(GenericType.Mono(GenericType.Response(ClassType.String)), false)));
+        Assert.assertEquals(ClassType.Void,
+            ProxyUtil.getResponseBodyType(proxyMethod(GenericType.Response(ClassType.Void), true)));
+
+        // not Mono<Response<T>> or Response<T>
+        Assert.assertNull(ProxyUtil.getResponseBodyType(proxyMethod(GenericType.Mono(ClassType.String), false)));
+        Assert.assertNull(ProxyUtil.getResponseBodyType(proxyMethod(GenericType.Response(ClassType.String), false)));
+        Assert.assertNull(ProxyUtil.getResponseBodyType(
+            proxyMethod(GenericType.Mono(GenericType.Response(new ListType(ClassType.String))), false)));
+    }
+
+    @Test
+    public void testIsEscaped() {
+        Assert.assertTrue(ProxyUtil.isEscaped(parameter(RequestParameterLocation.PATH, false)));
+        Assert.assertTrue(ProxyUtil.isEscaped(parameter(RequestParameterLocation.QUERY, false)));
+
+        Assert.assertFalse(ProxyUtil.isEscaped(parameter(RequestParameterLocation.PATH, true)));
+        Assert.assertFalse(ProxyUtil.isEscaped(parameter(RequestParameterLocation.HEADER, false)));
+        Assert.assertFalse(ProxyUtil.isEscaped(parameter(RequestParameterLocation.URI, false)));
+    }
+
+    private static ProxyMethod proxyMethod(IType returnType, boolean isSync) {
+        return new ProxyMethod.Builder()
+            .name("get")
+            .returnType(returnType)
+            .isSync(isSync)
+            .build();
+    }
+
+    private static ProxyMethodParameter parameter(RequestParameterLocation location, boolean alreadyEncoded) {
+        return new ProxyMethodParameter.Builder()
+            .name("value")
+            .wireType(ClassType.String)
+            .clientType(ClassType.String)
+            .requestParameterLocation(location)
+            .requestParameterName("value")
+            .alreadyEncoded(alreadyEncoded)
+            .build();
+    }
+}
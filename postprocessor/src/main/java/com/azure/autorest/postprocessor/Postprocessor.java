@@ -8,8 +8,12 @@ import com.azure.autorest.customization.Editor;
 import com.azure.autorest.customization.implementation.Utils;
 import com.azure.autorest.customization.implementation.ls.BuildWorkspaceStatus;
 import com.azure.autorest.customization.implementation.ls.EclipseLanguageClient;
+import com.azure.autorest.customization.implementation.ls.EclipseLanguageServerPool;
 import com.azure.autorest.customization.implementation.ls.models.SymbolInformation;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
+import com.azure.autorest.extension.base.plugin.FileEmitter;
+import com.azure.autorest.extension.base.plugin.FormatterCache;
+import com.azure.autorest.extension.base.plugin.FormattingVerifier;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
@@ -29,11 +33,11 @@ import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -124,7 +128,10 @@ public class Postprocessor extends NewPlugin {
             try {
                 Customization customization = customizationClass.getConstructor().newInstance();
                 logger.info("Running customization, this may take a while...");
-                fileContents = customization.run(fileContents, logger);
+                fileContents = customization.run(fileContents, logger,
+                    JavaSettings.getInstance().isInProcessCustomization(),
+                    Duration.ofSeconds(JavaSettings.getInstance().getCustomizationStartupTimeout()),
+                    JavaSettings.getInstance().isReuseCustomizationLanguageServer());
             } catch (Exception e) {
                 logger.error("Unable to complete customization", e);
                 return false;
@@ -146,31 +153,43 @@ public class Postprocessor extends NewPlugin {
         }
 
         //Step 4: Print to files
-        Map<String, String> formattedFiles = new ConcurrentHashMap<>();
         Formatter formatter = new Formatter();
+        FormatterCache formatterCache = new FormatterCache("google-java-format", Formatter.class,
+            settings.getFormatterCacheDirectory(), settings.getFormatterMemoryCacheSize());
+        FormattingVerifier formattingVerifier = settings.isVerifyFormatting() ? new FormattingVerifier(logger) : null;
 
         // Formatting Java source files can be expensive but can be run in parallel.
-        // Submit each file for formatting as a task on the common ForkJoinPool and then wait until all tasks
-        // complete.
-        fileContents.entrySet().parallelStream().forEach(javaFile -> {
-            String formattedSource = javaFile.getValue();
-            if (javaFile.getKey().endsWith(".java")) {
-                if (!settings.isSkipFormatting()) {
-                    try {
-                        formattedSource = formatter.formatSourceAndFixImports(formattedSource);
-                    } catch (Exception e) {
-                        logger.error("Unable to format output file " + javaFile.getKey(), e);
-                        throw new CompletionException(e);
+        // Submit each file for formatting as a task on the common ForkJoinPool. Each formatted file is handed to the
+        // FileEmitter, which writes the files from a single thread while the rest are still being formatted.
+        try (FileEmitter fileEmitter = new FileEmitter(this)) {
+            fileContents.entrySet().parallelStream().forEach(javaFile -> {
+                String formattedSource = javaFile.getValue();
+                if (javaFile.getKey().endsWith(".java")) {
+                    if (!settings.isSkipFormatting()) {
+                        try {
+                            formattedSource = formatterCache.format(formattedSource,
+                                formatter::formatSourceAndFixImports);
+                            if (formattingVerifier != null) {
+                                formattingVerifier.verify(javaFile.getKey(), javaFile.getValue(), formattedSource);
+                            }
+                        } catch (Exception e) {
+                            logger.error("Unable to format output file " + javaFile.getKey(), e);
+                            // do not write the unformatted file, nor the files formatted after it
+                            fileEmitter.cancel();
+                            throw new CompletionException(e);
+                        }
                     }
                 }
-            }
 
-            formattedFiles.put(javaFile.getKey(), formattedSource);
-        });
-
-        // Then for each formatted file write the file. This is done synchronously as there is potential race
-        // conditions that can lead to deadlocking.
-        formattedFiles.forEach((filePath, formattedSource) -> writeFile(filePath, formattedSource, null));
+                fileEmitter.submit(javaFile.getKey(), formattedSource);
+            });
+        }
+        if (!settings.isSkipFormatting()) {
+            logger.info("Formatter cache: {} hits, {} misses", formatterCache.getHits(), formatterCache.getMisses());
+            if (formattingVerifier != null) {
+                formattingVerifier.logSummary();
+            }
+        }
     }
 
     private String getReadme() {
@@ -241,9 +260,11 @@ public class Postprocessor extends NewPlugin {
             throw new RuntimeException(e);
         }
 
-        // Start language client
-        try (EclipseLanguageClient languageClient = new EclipseLanguageClient(tempDirWithPrefix.toString())) {
-            languageClient.initialize();
+        // Start language client, if reused, the language server is then reused by the next build of a customization
+        try (EclipseLanguageClient languageClient = EclipseLanguageServerPool.acquire(null,
+            tempDirWithPrefix.toString(),
+            Duration.ofSeconds(JavaSettings.getInstance().getCustomizationStartupTimeout()), logger,
+            JavaSettings.getInstance().isReuseCustomizationLanguageServer())) {
             SymbolInformation classSymbol = languageClient.findWorkspaceSymbol(className)
                 .stream().filter(si -> si.getLocation().getUri().toString().endsWith(className + ".java"))
                 .findFirst().get();
@@ -6,6 +6,7 @@ package com.azure.autorest.preprocessor;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.ChoiceValue;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonMapper;
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
@@ -13,6 +14,7 @@ import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.preprocessor.tranformer.Transformer;
 import org.slf4j.Logger;
 import org.yaml.snakeyaml.DumperOptions;
@@ -26,6 +28,10 @@ import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,15 +43,14 @@ import java.util.stream.Collectors;
 
 public class Preprocessor extends NewPlugin {
   private final Logger logger = new PluginLogger(this, Preprocessor.class);
-  protected static Preprocessor instance;
 
   public Preprocessor(Connection connection, String plugin, String sessionId) {
     super(connection, plugin, sessionId);
-    instance = this;
   }
 
   public static Preprocessor getPluginInstance() {
-    return instance;
+    // the plugin of the session processed on this thread, as the process may serve several sessions concurrently
+    return SessionContext.current().getPlugin(Preprocessor.class);
   }
 
   @Override
@@ -57,25 +62,9 @@ public class Preprocessor extends NewPlugin {
     if (files.size() != 1) {
       throw new RuntimeException(String.format("Generator received incorrect number of inputs: %s : %s}", files.size(), String.join(", ", files)));
     }
-    String file = readFile(files.get(0));
-    try {
-      File tempFile = new File("code-model.yaml");
-      if (!tempFile.exists()) {
-        tempFile.createNewFile();
-      }
-      new FileOutputStream(tempFile).write(file.getBytes(StandardCharsets.UTF_8));
-    } catch (Exception e) {
-      //
-    }
-
     CodeModel codeModel;
     try {
-      if (!file.startsWith("{")) {
-        // YAML
-        codeModel = yamlMapper.loadAs(file, CodeModel.class);
-      } else {
-        codeModel = jsonMapper.readValue(file, CodeModel.class);
-      }
+      codeModel = loadCodeModel(files.get(0));
     } catch (Exception e) {
       System.err.println("Got an error " + e.getMessage());
       connection.sendError(1, 500, "Cannot parse input into code model: " + e.getMessage());
@@ -103,13 +92,13 @@ public class Preprocessor extends NewPlugin {
     loaderOptions.setCodePointLimit(50 * 1024 * 1024);
     loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
     Yaml newYaml = new Yaml(new Constructor(loaderOptions), representer, new DumperOptions(), loaderOptions);
-    String output = newYaml.dump(codeModel);
     try {
+      // JSON is also valid YAML, so the file name is kept for the generator to find its input
+      String output = JavaSettings.getInstance().isPassCodeModelAsJson()
+          ? CodeModelJsonMapper.write(codeModel)
+          : newYaml.dump(codeModel);
       File tempFile = new File("code-model-processed-no-tags.yaml");
-      if (!tempFile.exists()) {
-        tempFile.createNewFile();
-      }
-      new FileOutputStream(tempFile).write(output.getBytes(StandardCharsets.UTF_8));
+      writeLocalFile(tempFile, output);
       writeFile(tempFile.getName(), output, null);
     } catch (Exception e) {
       logger.error("Failed to pre-process the code model.", e);
@@ -118,6 +107,38 @@ public class Preprocessor extends NewPlugin {
     return true;
   }
 
+  /**
+   * Reads and parses the input code model.
+   * <p>
+   * The raw content is only referenced within this method, so it can be collected while the code model is transformed
+   * and serialized again.
+   */
+  private CodeModel loadCodeModel(String fileName) throws IOException {
+    String file = readFile(fileName);
+    try {
+      writeLocalFile(new File("code-model.yaml"), file);
+    } catch (Exception e) {
+      //
+    }
+
+    if (!file.startsWith("{")) {
+      // YAML
+      return yamlMapper.loadAs(new StringReader(file), CodeModel.class);
+    } else {
+      return jsonMapper.readValue(new StringReader(file), CodeModel.class);
+    }
+  }
+
+  private static void writeLocalFile(File file, String content) throws IOException {
+    if (!file.exists()) {
+      file.createNewFile();
+    }
+    // encode while writing, instead of copying the whole content into a byte array first
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+      writer.write(content);
+    }
+  }
+
   private CodeModel performPosttransformUpdates(CodeModel codeModel) {
     if (JavaSettings.getInstance().isOptionalConstantAsEnum()) {
       return convertOptionalConstantsToEnum(codeModel);
@@ -7,6 +7,7 @@ import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.Message;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.preprocessor.Preprocessor;
 import com.azure.autorest.preprocessor.tranformer.Transformer;
 import org.yaml.snakeyaml.DumperOptions;
@@ -42,6 +43,7 @@ public class MockPreprocessor extends Preprocessor {
 
     public MockPreprocessor() {
         super(new MockConnection(), "dummy", "dummy");
+        SessionContext.current().setPlugin(Preprocessor.class, this);
 
         JavaSettingsAccessor.setHost(this);
     }